@@ -0,0 +1,69 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.util.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.element.*;
+
+import com.fasterxml.jackson.annotation.AnnotationBundle;
+import com.fasterxml.jackson.annotation.AnnotationIndex;
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+
+/**
+ * Annotation processor that flattens annotation bundles (annotation types marked with
+ * {@link JacksonAnnotationsInside}) into their effective set of Jackson annotations,
+ * expanding nested bundles (including ones from dependencies), and writes results
+ * as resources read by {@link AnnotationBundle}.
+ *<p>
+ * Precedence rules are the same as with runtime flattening done by {@link AnnotationBundle}.
+ *
+ * @since 2.21
+ */
+@SupportedAnnotationTypes("com.fasterxml.jackson.annotation.JacksonAnnotationsInside")
+public class AnnotationBundleProcessor extends AnnotationProcessorBase
+{
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        for (Element elem : roundEnv.getElementsAnnotatedWith(JacksonAnnotationsInside.class)) {
+            if (!_isBundle(elem)) {
+                continue;
+            }
+            TypeElement bundleType = (TypeElement) elem;
+            final String name = _binaryName(bundleType);
+            Map<String, AnnotationIndex.AnnotationInfo> result = new LinkedHashMap<>();
+            Set<String> seen = new HashSet<>();
+            seen.add(name);
+            _flatten(bundleType, result, seen);
+
+            AnnotationIndex.ElementInfo typeInfo = new AnnotationIndex.ElementInfo(
+                    AnnotationIndex.ElementKind.TYPE, name, null, -1,
+                    new ArrayList<>(result.values()));
+            _writeIndex(bundleType, AnnotationBundle.resourceName(name),
+                    new AnnotationIndex(name, Collections.singletonList(typeInfo)));
+        }
+        return false;
+    }
+
+    protected void _flatten(TypeElement bundleType,
+            Map<String, AnnotationIndex.AnnotationInfo> result, Set<String> seen)
+    {
+        for (AnnotationMirror ann : bundleType.getAnnotationMirrors()) {
+            final TypeElement annType = (TypeElement) ann.getAnnotationType().asElement();
+            final String annName = _binaryName(annType);
+            if (annName.equals(JacksonAnnotationsInside.class.getName())) {
+                continue;
+            }
+            if (_isBundle(annType)) {
+                if (seen.add(annName)) {
+                    _flatten(annType, result, seen);
+                }
+            } else if (annType.getAnnotation(JacksonAnnotation.class) != null) {
+                // last one wins; and is ordered by its own position
+                result.remove(annName);
+                result.put(annName, _annotationInfo(ann));
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.util.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.element.*;
+
+import com.fasterxml.jackson.annotation.AnnotationIndex;
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+
+/**
+ * Annotation processor that writes an {@link AnnotationIndex} resource for every
+ * compiled class that has Jackson annotations (ones marked with {@link JacksonAnnotation},
+ * as well as bundles marked with {@link JacksonAnnotationsInside}) on the class
+ * itself or on its fields, methods, constructors or their parameters.
+ *<p>
+ * Annotations of nested classes are written in separate resources, since they are
+ * separate classes at runtime.
+ *
+ * @since 2.21
+ */
+@SupportedAnnotationTypes("*")
+public class AnnotationIndexProcessor extends AnnotationProcessorBase
+{
+    protected final static String CONSTRUCTOR_NAME = "<init>";
+
+    /**
+     * Names of all classes for which index has been written, to avoid
+     * duplicate attempts
+     */
+    protected final Set<String> _written = new HashSet<>();
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        for (Element root : roundEnv.getRootElements()) {
+            if (root instanceof TypeElement) {
+                _process((TypeElement) root);
+            }
+        }
+        // never claim annotations: other processors may well be interested
+        return false;
+    }
+
+    protected void _process(TypeElement type)
+    {
+        final String className = _binaryName(type);
+        List<AnnotationIndex.ElementInfo> elements = new ArrayList<>();
+        _addElement(elements, type, AnnotationIndex.ElementKind.TYPE, className, null, -1);
+
+        for (Element member : type.getEnclosedElements()) {
+            switch (member.getKind()) {
+            case FIELD:
+            case ENUM_CONSTANT:
+                _addElement(elements, member, AnnotationIndex.ElementKind.FIELD,
+                        member.getSimpleName().toString(), null, -1);
+                break;
+            case METHOD:
+            case CONSTRUCTOR:
+                _addExecutable(elements, (ExecutableElement) member);
+                break;
+            case CLASS:
+            case INTERFACE:
+            case ENUM:
+            case ANNOTATION_TYPE:
+                _process((TypeElement) member);
+                break;
+            default:
+                // records, record components are covered by fields and accessors
+                if (member instanceof TypeElement) {
+                    _process((TypeElement) member);
+                }
+            }
+        }
+        if (!elements.isEmpty() && _written.add(className)) {
+            _writeIndex(type, AnnotationIndex.resourceName(className),
+                    new AnnotationIndex(className, elements));
+        }
+    }
+
+    protected void _addExecutable(List<AnnotationIndex.ElementInfo> elements, ExecutableElement method)
+    {
+        final boolean ctor = (method.getKind() == ElementKind.CONSTRUCTOR);
+        final String name = ctor ? CONSTRUCTOR_NAME : method.getSimpleName().toString();
+        List<? extends VariableElement> params = method.getParameters();
+        String[] paramTypes = new String[params.size()];
+        for (int i = 0; i < paramTypes.length; ++i) {
+            paramTypes[i] = _binaryName(params.get(i).asType());
+        }
+        _addElement(elements, method,
+                ctor ? AnnotationIndex.ElementKind.CONSTRUCTOR : AnnotationIndex.ElementKind.METHOD,
+                name, paramTypes, -1);
+        for (int i = 0; i < paramTypes.length; ++i) {
+            _addElement(elements, params.get(i), AnnotationIndex.ElementKind.PARAMETER,
+                    name, paramTypes, i);
+        }
+    }
+
+    protected void _addElement(List<AnnotationIndex.ElementInfo> elements, Element elem,
+            AnnotationIndex.ElementKind kind, String name, String[] paramTypes, int paramIndex)
+    {
+        List<AnnotationIndex.AnnotationInfo> anns = new ArrayList<>();
+        for (AnnotationMirror ann : elem.getAnnotationMirrors()) {
+            if (_isJacksonAnnotation(ann)) {
+                anns.add(_annotationInfo(ann));
+            }
+        }
+        if (!anns.isEmpty()) {
+            elements.add(new AnnotationIndex.ElementInfo(kind, name, paramTypes, paramIndex, anns));
+        }
+    }
+}
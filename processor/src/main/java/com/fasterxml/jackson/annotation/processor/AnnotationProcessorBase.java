@@ -0,0 +1,172 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+import com.fasterxml.jackson.annotation.AnnotationIndex;
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+
+/**
+ * Shared base class for processors that convert Jackson annotations into
+ * {@link AnnotationIndex} representation.
+ *
+ * @since 2.21
+ */
+public abstract class AnnotationProcessorBase extends AbstractProcessor
+{
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /*
+    /**********************************************************************
+    /* Annotation introspection
+    /**********************************************************************
+     */
+
+    /**
+     * @return True if given annotation is either marked with {@link JacksonAnnotation},
+     *    or is an annotation bundle (see {@link #_isBundle})
+     */
+    protected boolean _isJacksonAnnotation(AnnotationMirror ann)
+    {
+        Element annType = ann.getAnnotationType().asElement();
+        return (annType.getAnnotation(JacksonAnnotation.class) != null)
+                || _isBundle(annType);
+    }
+
+    /**
+     * @return True if given element is an annotation type marked with
+     *    {@link JacksonAnnotationsInside}
+     */
+    protected boolean _isBundle(Element annType) {
+        return (annType.getKind() == ElementKind.ANNOTATION_TYPE)
+                && (annType.getAnnotation(JacksonAnnotationsInside.class) != null);
+    }
+
+    protected AnnotationIndex.AnnotationInfo _annotationInfo(AnnotationMirror ann)
+    {
+        Map<String, Object> members = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(ann).entrySet()) {
+            members.put(entry.getKey().getSimpleName().toString(),
+                    entry.getValue().accept(_valueConverter, null));
+        }
+        return new AnnotationIndex.AnnotationInfo(
+                _binaryName((TypeElement) ann.getAnnotationType().asElement()), members);
+    }
+
+    /**
+     * Converter from annotation member values into representation used by
+     * {@link AnnotationIndex}
+     */
+    protected final AnnotationValueVisitor<Object, Void> _valueConverter
+        = new SimpleAnnotationValueVisitor8<Object, Void>() {
+        @Override
+        protected Object defaultAction(Object value, Void p) {
+            // Strings and wrapped primitives
+            return value;
+        }
+
+        @Override
+        public Object visitType(TypeMirror t, Void p) {
+            return _binaryName(t);
+        }
+
+        @Override
+        public Object visitEnumConstant(VariableElement c, Void p) {
+            return c.getSimpleName().toString();
+        }
+
+        @Override
+        public Object visitAnnotation(AnnotationMirror a, Void p) {
+            return _annotationInfo(a);
+        }
+
+        @Override
+        public Object visitArray(List<? extends AnnotationValue> vals, Void p) {
+            Object[] result = new Object[vals.size()];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = vals.get(i).accept(this, null);
+            }
+            return result;
+        }
+    };
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    protected void _writeIndex(TypeElement type, String resource, AnnotationIndex index)
+    {
+        try (OutputStream out = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", resource, type)
+                .openOutputStream()) {
+            index.write(out);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write "+resource+": "+e.getMessage(), type);
+        }
+    }
+
+    protected String _binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    /**
+     * Helper method for getting name of (erased) type as returned by
+     * {@link Class#getName()}
+     */
+    protected String _binaryName(TypeMirror type)
+    {
+        type = processingEnv.getTypeUtils().erasure(type);
+        switch (type.getKind()) {
+        case DECLARED:
+            return _binaryName((TypeElement) ((DeclaredType) type).asElement());
+        case ARRAY:
+            {
+                TypeMirror comp = ((ArrayType) type).getComponentType();
+                String compName = _binaryName(comp);
+                if (comp.getKind() == TypeKind.ARRAY) {
+                    return "[" + compName;
+                }
+                if (comp.getKind().isPrimitive()) {
+                    return "[" + _primitiveDescriptor(comp.getKind());
+                }
+                return "[L" + compName + ";";
+            }
+        default:
+            // primitives, `void`
+            return type.toString();
+        }
+    }
+
+    protected static char _primitiveDescriptor(TypeKind kind)
+    {
+        switch (kind) {
+        case BOOLEAN: return 'Z';
+        case BYTE: return 'B';
+        case CHAR: return 'C';
+        case SHORT: return 'S';
+        case INT: return 'I';
+        case LONG: return 'J';
+        case FLOAT: return 'F';
+        case DOUBLE: return 'D';
+        default:
+            throw new IllegalArgumentException("Not a primitive type: "+kind);
+        }
+    }
+}
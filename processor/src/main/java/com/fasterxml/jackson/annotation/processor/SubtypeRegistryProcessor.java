@@ -0,0 +1,333 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.SubtypeRegistry;
+
+/**
+ * Annotation processor that generates {@link SubtypeRegistry.Provider}
+ * implementations from {@link JsonSubTypes} (and {@link JsonTypeName})
+ * annotations on classes, so that subtypes can be resolved using
+ * {@link SubtypeRegistry#getDefault()} without reflection.
+ *<p>
+ * One provider class is generated per compilation unit (top-level class) that
+ * declares annotated base types, named {@code <TopLevelClass>_SubtypeRegistry}
+ * (see {@link #REGISTRY_CLASS_SUFFIX}) and located in the same package: since a class
+ * can only be defined by a single jar, names do not collide even if multiple jars
+ * contribute providers to the same package. All generated providers are registered in
+ * {@code META-INF/services}. Type ids are determined the same way as with
+ * {@link com.fasterxml.jackson.annotation.JsonTypeInfo.Id#NAME}: explicit {@link JsonSubTypes.Type#name()}
+ * and {@link JsonSubTypes.Type#names()} first; then {@link JsonTypeName} of the
+ * subtype; and finally unqualified class name.
+ *<p>
+ * Limitations: only class-level {@link JsonSubTypes} annotations are processed
+ * (property-level ones do not define a base type); and subtypes not accessible
+ * from the package of their base type (private classes, non-public classes in
+ * other packages) are skipped with a warning.
+ *
+ * @since 2.21
+ */
+@SupportedAnnotationTypes("com.fasterxml.jackson.annotation.JsonSubTypes")
+public class SubtypeRegistryProcessor extends AbstractProcessor
+{
+    /**
+     * Suffix appended (after an underscore) to the simple name of top-level class to
+     * form name of the generated provider class.
+     */
+    public final static String REGISTRY_CLASS_SUFFIX = "SubtypeRegistry";
+
+    protected final static String SERVICE_FILE = "META-INF/services/"
+            + SubtypeRegistry.Provider.class.getName();
+
+    /**
+     * Names of all provider classes generated so far, across rounds
+     */
+    protected final Set<String> _generated = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        if (roundEnv.processingOver()) {
+            _writeServiceFile();
+            return false;
+        }
+        // Subtype registrations by top-level type, in declaration order
+        Map<TypeElement, List<String>> registrations = new TreeMap<>(new Comparator<TypeElement>() {
+            @Override
+            public int compare(TypeElement a, TypeElement b) {
+                return a.getQualifiedName().toString().compareTo(b.getQualifiedName().toString());
+            }
+        });
+        for (Element elem : roundEnv.getElementsAnnotatedWith(JsonSubTypes.class)) {
+            if (!elem.getKind().isClass() && !elem.getKind().isInterface()) {
+                continue;
+            }
+            TypeElement baseType = (TypeElement) elem;
+            TypeElement topLevel = _topLevelOf(baseType);
+            List<String> lines = registrations.get(topLevel);
+            if (lines == null) {
+                lines = new ArrayList<>();
+                registrations.put(topLevel, lines);
+            }
+            _collect(baseType, _packageOf(baseType), lines);
+        }
+        for (Map.Entry<TypeElement, List<String>> entry : registrations.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                _writeProvider(entry.getKey(), entry.getValue());
+            }
+        }
+        return false;
+    }
+
+    /*
+    /**********************************************************************
+    /* Annotation introspection
+    /**********************************************************************
+     */
+
+    protected void _collect(TypeElement baseType, String pkg, List<String> lines)
+    {
+        if (!_isAccessible(baseType, pkg)) {
+            _warn(baseType, "base type not accessible from generated code, skipped");
+            return;
+        }
+        final String baseName = baseType.getQualifiedName().toString();
+
+        // Base type itself may have explicit name as well
+        JsonTypeName baseTypeName = baseType.getAnnotation(JsonTypeName.class);
+        if ((baseTypeName != null) && !baseTypeName.value().isEmpty()
+                && !baseType.getModifiers().contains(Modifier.ABSTRACT)) {
+            lines.add(_registration(baseName, baseName,
+                    Collections.singletonList(baseTypeName.value())));
+        }
+
+        AnnotationMirror subTypesAnn = _findAnnotation(baseType, JsonSubTypes.class);
+        if (subTypesAnn == null) { // should not occur
+            return;
+        }
+        boolean failOnRepeated = Boolean.TRUE.equals(_value(subTypesAnn, "failOnRepeatedNames"));
+        Set<String> seenIds = new HashSet<>();
+        for (AnnotationValue av : _values(subTypesAnn, "value")) {
+            AnnotationMirror typeAnn = (AnnotationMirror) av.getValue();
+            TypeMirror typeMirror = (TypeMirror) _value(typeAnn, "value");
+            if (!(typeMirror instanceof DeclaredType)) {
+                continue;
+            }
+            TypeElement subtype = (TypeElement) ((DeclaredType) typeMirror).asElement();
+            List<String> ids = _typeIds(typeAnn, subtype);
+            for (String id : ids) {
+                if (!seenIds.add(id) && failOnRepeated) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Duplicate type id '"+id+"' in @JsonSubTypes", baseType, subTypesAnn);
+                }
+            }
+            if (!_isAccessible(subtype, pkg)) {
+                _warn(baseType, "subtype "+subtype.getQualifiedName()
+                        +" not accessible from generated code, skipped");
+                continue;
+            }
+            lines.add(_registration(baseName, subtype.getQualifiedName().toString(), ids));
+        }
+    }
+
+    protected List<String> _typeIds(AnnotationMirror typeAnn, TypeElement subtype)
+    {
+        List<String> ids = new ArrayList<>();
+        Object name = _value(typeAnn, "name");
+        if ((name != null) && !name.toString().isEmpty()) {
+            ids.add(name.toString());
+        }
+        for (AnnotationValue av : _values(typeAnn, "names")) {
+            String str = String.valueOf(av.getValue());
+            if (!str.isEmpty() && !ids.contains(str)) {
+                ids.add(str);
+            }
+        }
+        if (ids.isEmpty()) {
+            JsonTypeName typeName = subtype.getAnnotation(JsonTypeName.class);
+            if ((typeName != null) && !typeName.value().isEmpty()) {
+                ids.add(typeName.value());
+            } else {
+                // same as default for `JsonTypeInfo.Id.NAME`: binary name without package
+                String binary = processingEnv.getElementUtils().getBinaryName(subtype).toString();
+                ids.add(binary.substring(binary.lastIndexOf('.') + 1));
+            }
+        }
+        return ids;
+    }
+
+    protected AnnotationMirror _findAnnotation(Element elem, Class<?> annType)
+    {
+        final String name = annType.getName();
+        for (AnnotationMirror ann : elem.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) ann.getAnnotationType().asElement();
+            if (processingEnv.getElementUtils().getBinaryName(type).contentEquals(name)) {
+                return ann;
+            }
+        }
+        return null;
+    }
+
+    protected Object _value(AnnotationMirror ann, String name)
+    {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(ann).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<? extends AnnotationValue> _values(AnnotationMirror ann, String name)
+    {
+        Object v = _value(ann, name);
+        if (v instanceof List<?>) {
+            return (List<? extends AnnotationValue>) v;
+        }
+        return Collections.emptyList();
+    }
+
+    /*
+    /**********************************************************************
+    /* Code generation
+    /**********************************************************************
+     */
+
+    protected String _registration(String baseName, String subtypeName, List<String> ids)
+    {
+        StringBuilder sb = new StringBuilder(100);
+        sb.append("        builder.addSubtype(").append(baseName).append(".class, ")
+            .append(subtypeName).append(".class");
+        for (String id : ids) {
+            sb.append(", \"");
+            _appendEscaped(sb, id);
+            sb.append('"');
+        }
+        return sb.append(");").toString();
+    }
+
+    protected void _writeProvider(TypeElement topLevel, List<String> lines)
+    {
+        final String pkg = _packageOf(topLevel);
+        final String simpleName = topLevel.getSimpleName() + "_" + REGISTRY_CLASS_SUFFIX;
+        final String fullName = _qualify(pkg, simpleName);
+        try (Writer w = processingEnv.getFiler().createSourceFile(fullName, topLevel).openWriter()) {
+            if (!pkg.isEmpty()) {
+                w.write("package "+pkg+";\n\n");
+            }
+            w.write("/**\n * Generated by {@code "+getClass().getName()+"}: do not edit.\n */\n");
+            w.write("public final class "+simpleName
+                    +" implements "+SubtypeRegistry.Provider.class.getCanonicalName()+"\n{\n");
+            w.write("    @Override\n    public void registerSubtypes("
+                    +SubtypeRegistry.Builder.class.getCanonicalName()+" builder)\n    {\n");
+            for (String line : lines) {
+                w.write(line);
+                w.write('\n');
+            }
+            w.write("    }\n}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write "+fullName+": "+e.getMessage());
+            return;
+        }
+        _generated.add(fullName);
+    }
+
+    protected void _writeServiceFile()
+    {
+        if (_generated.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                    "", SERVICE_FILE);
+            try (Writer w = file.openWriter()) {
+                for (String name : _generated) {
+                    w.write(name);
+                    w.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write "+SERVICE_FILE+": "+e.getMessage());
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    protected TypeElement _topLevelOf(TypeElement type) {
+        while (type.getEnclosingElement() instanceof TypeElement) {
+            type = (TypeElement) type.getEnclosingElement();
+        }
+        return type;
+    }
+
+    protected String _packageOf(Element elem) {
+        return processingEnv.getElementUtils().getPackageOf(elem).getQualifiedName().toString();
+    }
+
+    /**
+     * Helper method for checking whether given type can be referenced
+     * (as class literal) from code in given package.
+     */
+    protected boolean _isAccessible(TypeElement type, String pkg)
+    {
+        final boolean samePackage = _packageOf(type).equals(pkg);
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            Set<Modifier> mods = e.getModifiers();
+            if (mods.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!samePackage && !mods.contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected void _warn(Element elem, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, msg, elem);
+    }
+
+    protected static String _qualify(String pkg, String simpleName) {
+        return pkg.isEmpty() ? simpleName : (pkg + "." + simpleName);
+    }
+
+    protected static void _appendEscaped(StringBuilder sb, String str)
+    {
+        for (int i = 0, end = str.length(); i < end; ++i) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7E) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.lang.annotation.Annotation;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationBundleProcessorTest
+    extends ProcessorTestUtil
+{
+    private final static String INNER_SRC = "package test.bundle;\n"
+            + "import java.lang.annotation.*;\n"
+            + "import com.fasterxml.jackson.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME)\n"
+            + "@JacksonAnnotationsInside\n"
+            + "@JsonInclude(JsonInclude.Include.NON_EMPTY)\n"
+            + "@JsonFormat(pattern = \"yyyy\")\n"
+            + "public @interface Inner { }\n";
+
+    private final static String OUTER_SRC = "package test.bundle;\n"
+            + "import java.lang.annotation.*;\n"
+            + "import com.fasterxml.jackson.annotation.*;\n"
+            + "@Retention(RetentionPolicy.RUNTIME)\n"
+            + "@JacksonAnnotationsInside\n"
+            + "@JsonFormat(shape = JsonFormat.Shape.NUMBER)\n"
+            + "@Inner\n"
+            + "@JsonInclude(JsonInclude.Include.NON_NULL)\n"
+            + "@JsonSetter(nulls = Nulls.FAIL)\n"
+            + "@Deprecated\n"
+            + "public @interface Outer { }\n";
+
+    @Test
+    public void testBundleFlattening() throws Exception
+    {
+        Compilation c = compile(new AnnotationBundleProcessor(), true,
+                "test.bundle.Inner", INNER_SRC, "test.bundle.Outer", OUTER_SRC);
+        assertTrue(c.hasOutput(AnnotationBundle.resourceName("test.bundle.Inner")));
+        assertTrue(c.hasOutput(AnnotationBundle.resourceName("test.bundle.Outer")));
+
+        Class<? extends Annotation> outer = c.classLoader().loadClass("test.bundle.Outer")
+                .asSubclass(Annotation.class);
+        AnnotationBundle bundle = AnnotationBundle.find(outer);
+        assertNotNull(bundle);
+        assertEquals(3, bundle.getAnnotations().size());
+        // last annotation of a type wins (same as runtime flattening, databind)
+        assertEquals(JsonFormat.Value.forPattern("yyyy"),
+                bundle.findValue(JsonFormat.class, JsonFormat.Value.class));
+        assertEquals(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL,
+                JsonInclude.Include.ALWAYS),
+                bundle.findValue(JsonInclude.class, JsonInclude.Value.class));
+        assertEquals(JsonSetter.Value.forValueNulls(Nulls.FAIL),
+                bundle.findValue(JsonSetter.class, JsonSetter.Value.class));
+    }
+
+    @Test
+    public void testConflictingNestedBundles() throws Exception
+    {
+        final String header = "package test.bundle;\n"
+                + "import java.lang.annotation.*;\n"
+                + "import com.fasterxml.jackson.annotation.*;\n"
+                + "@Retention(RetentionPolicy.RUNTIME)\n"
+                + "@JacksonAnnotationsInside\n";
+        Compilation c = compile(new AnnotationBundleProcessor(), true,
+                "test.bundle.First", header + "@JsonFormat(pattern = \"first\")\n@JsonIgnore\n"
+                        + "public @interface First { }\n",
+                "test.bundle.Second", header + "@JsonFormat(pattern = \"second\")\n"
+                        + "public @interface Second { }\n",
+                "test.bundle.Both", header + "@First\n@Second\npublic @interface Both { }\n");
+        Class<? extends Annotation> both = c.classLoader().loadClass("test.bundle.Both")
+                .asSubclass(Annotation.class);
+        AnnotationBundle bundle = AnnotationBundle.find(both);
+        assertEquals(2, bundle.getAnnotations().size());
+        assertEquals(JsonIgnore.class.getName(), bundle.getAnnotations().get(0).getType());
+        assertEquals("second", bundle.findAnnotation(JsonFormat.class).getString("pattern"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationIndexProcessorTest
+    extends ProcessorTestUtil
+{
+    private final static String POJO_SRC = "package test.index;\n"
+            + "import com.fasterxml.jackson.annotation.*;\n"
+            + "@JsonIgnoreProperties(value = { \"a\", \"b\" }, ignoreUnknown = true)\n"
+            + "@JsonInclude(value = JsonInclude.Include.NON_NULL, content = JsonInclude.Include.NON_EMPTY)\n"
+            + "@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = \"@type\", defaultImpl = Pojo.class)\n"
+            + "@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)\n"
+            + "public class Pojo {\n"
+            + "  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = \"yyyy-MM-dd\", locale = \"fi\",\n"
+            + "     timezone = \"UTC\", with = JsonFormat.Feature.WRITE_DATES_WITH_ZONE_ID,\n"
+            + "     lenient = OptBoolean.FALSE, radix = 16)\n"
+            + "  public java.util.Date date;\n"
+            + "  @Deprecated public int notIndexed;\n"
+            + "  @JsonCreator public Pojo(@JsonProperty(\"x\") @JacksonInject(\"id\") int[] x,\n"
+            + "      String[][] y) { }\n"
+            + "  @JsonSetter(nulls = Nulls.SKIP) public void setValue(java.util.List<String> v) { }\n"
+            + "  public static class Nested {\n"
+            + "    @JsonIncludeProperties({ \"x\" }) public Object value;\n"
+            + "  }\n"
+            + "  public static class Plain { }\n"
+            + "}\n";
+
+    @Test
+    public void testIndexGeneration() throws Exception
+    {
+        Compilation c = compile(new AnnotationIndexProcessor(), true, "test.index.Pojo", POJO_SRC);
+        assertTrue(c.hasOutput(AnnotationIndex.resourceName("test.index.Pojo")));
+        assertTrue(c.hasOutput(AnnotationIndex.resourceName("test.index.Pojo$Nested")));
+        assertFalse(c.hasOutput(AnnotationIndex.resourceName("test.index.Pojo$Plain")));
+
+        ClassLoader loader = c.classLoader();
+        Class<?> pojo = loader.loadClass("test.index.Pojo");
+        AnnotationIndex index = AnnotationIndex.find(pojo);
+        assertNotNull(index);
+        assertEquals("test.index.Pojo", index.getClassName());
+
+        // Class annotations
+        AnnotationIndex.ElementInfo typeInfo = index.forType();
+        assertEquals(4, typeInfo.getAnnotations().size());
+        _verifyValue(JsonIgnoreProperties.Value.from(pojo.getAnnotation(JsonIgnoreProperties.class)),
+                typeInfo, JsonIgnoreProperties.class, loader);
+        _verifyValue(JsonInclude.Value.from(pojo.getAnnotation(JsonInclude.class)),
+                typeInfo, JsonInclude.class, loader);
+        _verifyValue(JsonTypeInfo.Value.from(pojo.getAnnotation(JsonTypeInfo.class)),
+                typeInfo, JsonTypeInfo.class, loader);
+        _verifyValue(JsonAutoDetect.Value.from(pojo.getAnnotation(JsonAutoDetect.class)),
+                typeInfo, JsonAutoDetect.class, loader);
+
+        // Fields
+        _verifyValue(JsonFormat.Value.from(pojo.getField("date").getAnnotation(JsonFormat.class)),
+                index.findField("date"), JsonFormat.class, loader);
+        assertNull(index.findField("notIndexed"));
+
+        // Constructor and parameters
+        assertNotNull(index.findConstructor("[I", "[[Ljava.lang.String;")
+                .findAnnotation(JsonCreator.class));
+        AnnotationIndex.ElementInfo param = index.findParameter("<init>",
+                new String[] { "[I", "[[Ljava.lang.String;" }, 0);
+        assertEquals("x", param.findAnnotation(JsonProperty.class).getString("value"));
+        _verifyValue(JacksonInject.Value.forId("id"), param, JacksonInject.class, loader);
+        assertNull(index.findParameter("<init>", new String[] { "[I", "[[Ljava.lang.String;" }, 1));
+
+        // Methods
+        Method m = pojo.getMethod("setValue", java.util.List.class);
+        _verifyValue(JsonSetter.Value.from(m.getAnnotation(JsonSetter.class)),
+                index.findMethod("setValue", "java.util.List"), JsonSetter.class, loader);
+
+        // Nested classes
+        Class<?> nested = loader.loadClass("test.index.Pojo$Nested");
+        _verifyValue(JsonIncludeProperties.Value.from(nested.getField("value")
+                .getAnnotation(JsonIncludeProperties.class)),
+                AnnotationIndex.find(nested).findField("value"), JsonIncludeProperties.class, loader);
+    }
+
+    // Members written by processor must match ones read reflectively by
+    // `AnnotationIndex.AnnotationInfo.from()`, so that values constructed from
+    // index are same as ones constructed from annotations
+    @Test
+    public void testMatchesReflection() throws Exception
+    {
+        Compilation c = compile(new AnnotationIndexProcessor(), true, "test.index.Pojo", POJO_SRC);
+        ClassLoader loader = c.classLoader();
+        Class<?> pojo = loader.loadClass("test.index.Pojo");
+        AnnotationIndex index = AnnotationIndex.find(pojo);
+
+        _verifyInfos(pojo.getAnnotations(), index.forType());
+        _verifyInfos(pojo.getField("date").getAnnotations(), index.findField("date"));
+        _verifyInfos(pojo.getMethod("setValue", java.util.List.class).getAnnotations(),
+                index.findMethod("setValue", "java.util.List"));
+        final String[] ctorParams = new String[] { "[I", "[[Ljava.lang.String;" };
+        Constructor<?> ctor = pojo.getConstructor(int[].class, String[][].class);
+        _verifyInfos(ctor.getAnnotations(), index.findConstructor(ctorParams));
+        _verifyInfos(ctor.getParameterAnnotations()[0], index.findParameter("<init>", ctorParams, 0));
+        Class<?> nested = loader.loadClass("test.index.Pojo$Nested");
+        _verifyInfos(nested.getField("value").getAnnotations(),
+                AnnotationIndex.find(nested).findField("value"));
+    }
+
+    private void _verifyInfos(Annotation[] anns, AnnotationIndex.ElementInfo elem)
+    {
+        int count = 0;
+        for (Annotation ann : anns) {
+            if (ann.annotationType().getAnnotation(JacksonAnnotation.class) == null) {
+                continue;
+            }
+            ++count;
+            AnnotationIndex.AnnotationInfo act = elem.findAnnotation(ann.annotationType());
+            assertNotNull(act, "No @"+ann.annotationType().getSimpleName()+" for "+elem);
+            _verifyInfo(AnnotationIndex.AnnotationInfo.from(ann), act);
+        }
+        assertEquals(count, elem.getAnnotations().size());
+    }
+
+    private void _verifyInfo(AnnotationIndex.AnnotationInfo exp, AnnotationIndex.AnnotationInfo act)
+    {
+        assertEquals(exp.getType(), act.getType());
+        assertEquals(exp.getMembers().keySet(), act.getMembers().keySet(), exp.getType());
+        for (Map.Entry<String, Object> entry : exp.getMembers().entrySet()) {
+            _verifyMember(exp.getType()+"."+entry.getKey(), entry.getValue(), act.get(entry.getKey()));
+        }
+    }
+
+    private void _verifyMember(String desc, Object exp, Object act)
+    {
+        if (exp instanceof AnnotationIndex.AnnotationInfo) {
+            assertTrue(act instanceof AnnotationIndex.AnnotationInfo, desc);
+            _verifyInfo((AnnotationIndex.AnnotationInfo) exp, (AnnotationIndex.AnnotationInfo) act);
+        } else if (exp instanceof Object[]) {
+            assertTrue(act instanceof Object[], desc);
+            Object[] expArr = (Object[]) exp, actArr = (Object[]) act;
+            assertEquals(expArr.length, actArr.length, desc);
+            for (int i = 0; i < expArr.length; ++i) {
+                _verifyMember(desc+"["+i+"]", expArr[i], actArr[i]);
+            }
+        } else {
+            assertEquals(exp, act, desc);
+        }
+    }
+
+    private void _verifyValue(Object exp, AnnotationIndex.ElementInfo elem, Class<?> annType,
+            ClassLoader loader)
+    {
+        assertNotNull(elem);
+        AnnotationIndex.AnnotationInfo ann = elem.findAnnotation(annType);
+        assertNotNull(ann, "No @"+annType.getSimpleName()+" for "+elem);
+        Object act = ann.toValue(loader);
+        assertEquals(exp, act);
+        // also should have same String representation, for JsonFormat.Value in particular
+        assertEquals(String.valueOf(exp), String.valueOf(act));
+    }
+}
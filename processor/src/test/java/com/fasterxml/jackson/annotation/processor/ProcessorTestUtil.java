@@ -0,0 +1,119 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import javax.annotation.processing.Processor;
+import javax.tools.*;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+abstract class ProcessorTestUtil
+{
+    /**
+     * Simple container for results of compiling test sources with a processor
+     */
+    protected static class Compilation
+    {
+        public final Path outputDir;
+        public final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+        Compilation(Path outputDir, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+            this.outputDir = outputDir;
+            this.diagnostics = diagnostics;
+        }
+
+        public ClassLoader classLoader() {
+            try {
+                return new URLClassLoader(new URL[] { outputDir.toUri().toURL() },
+                        ProcessorTestUtil.class.getClassLoader());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public String readOutput(String path) {
+            try {
+                return new String(Files.readAllBytes(outputDir.resolve(path)),
+                        StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public boolean hasOutput(String path) {
+            return Files.exists(outputDir.resolve(path));
+        }
+
+        public List<String> messages(Diagnostic.Kind kind) {
+            List<String> result = new ArrayList<>();
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics) {
+                if (d.getKind() == kind) {
+                    result.add(d.getMessage(Locale.ROOT));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Helper method for compiling given sources (alternating fully-qualified class
+     * names and source code) using specified processor
+     */
+    protected static Compilation compile(Processor processor, boolean expectSuccess,
+            String... namesAndSources)
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            fail("No system Java compiler available");
+        }
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (int i = 0; i < namesAndSources.length; i += 2) {
+            final String code = namesAndSources[i+1];
+            sources.add(new SimpleJavaFileObject(
+                    java.net.URI.create("string:///"+namesAndSources[i].replace('.', '/')+".java"),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return code;
+                }
+            });
+        }
+        DiagnosticCollector<JavaFileObject> diags = new DiagnosticCollector<>();
+        try {
+            Path outputDir = Files.createTempDirectory("jackson-processor-test");
+            outputDir.toFile().deleteOnExit();
+            StandardJavaFileManager fm = compiler.getStandardFileManager(diags, Locale.ROOT,
+                    StandardCharsets.UTF_8);
+            fm.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDir.toFile()));
+            fm.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(outputDir.toFile()));
+            List<File> cp = new ArrayList<>();
+            for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                cp.add(new File(entry));
+            }
+            fm.setLocation(StandardLocation.CLASS_PATH, cp);
+            StringWriter out = new StringWriter();
+            JavaCompiler.CompilationTask task = compiler.getTask(out, fm, diags,
+                    Collections.<String>emptyList(), null, sources);
+            task.setProcessors(Collections.singletonList(processor));
+            boolean ok = task.call();
+            fm.close();
+            if (ok != expectSuccess) {
+                fail("Compilation "+(ok ? "succeeded" : "failed")+" unexpectedly: "+diags.getDiagnostics()
+                        +"; output: "+out);
+            }
+            return new Compilation(outputDir, diags.getDiagnostics());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.fasterxml.jackson.annotation.processor;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.SubtypeRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubtypeRegistryProcessorTest
+    extends ProcessorTestUtil
+{
+    private final static String ANIMAL = "test.animals.Animal";
+    private final static String ANIMAL_SRC = "package test.animals;\n"
+            + "import com.fasterxml.jackson.annotation.*;\n"
+            + "@JsonTypeInfo(use = JsonTypeInfo.Id.NAME)\n"
+            + "@JsonSubTypes({\n"
+            + "  @JsonSubTypes.Type(value = Dog.class, name = \"dog\"),\n"
+            + "  @JsonSubTypes.Type(value = Cat.class, names = { \"cat\", \"kitty\" }),\n"
+            + "  @JsonSubTypes.Type(Bird.class),\n"
+            + "  @JsonSubTypes.Type(Animal.Fish.class)\n"
+            + "})\n"
+            + "public abstract class Animal {\n"
+            + "  public static class Fish extends Animal { }\n"
+            + "  @JsonSubTypes(@JsonSubTypes.Type(value = Hidden.class, name = \"hidden\"))\n"
+            + "  private static class Secret extends Animal { }\n"
+            + "  private static class Hidden extends Secret { }\n"
+            + "}\n";
+    private final static String DOG_SRC = "package test.animals;\n"
+            + "import com.fasterxml.jackson.annotation.*;\n"
+            + "@JsonSubTypes(@JsonSubTypes.Type(value = Puppy.class, name = \"puppy\"))\n"
+            + "public class Dog extends Animal { }\n"
+            + "class Puppy extends Dog { }\n";
+    private final static String CAT_SRC = "package test.animals;\n"
+            + "class Cat extends Animal { }\n";
+    private final static String BIRD_SRC = "package test.animals;\n"
+            + "@com.fasterxml.jackson.annotation.JsonTypeName(\"birdie\")\n"
+            + "class Bird extends Animal { }\n";
+
+    @Test
+    public void testRegistryGeneration() throws Exception
+    {
+        Compilation c = compile(new SubtypeRegistryProcessor(), true,
+                ANIMAL, ANIMAL_SRC,
+                "test.animals.Dog", DOG_SRC,
+                "test.animals.Cat", CAT_SRC,
+                "test.animals.Bird", BIRD_SRC);
+        // one provider per compilation unit with annotated base types
+        assertEquals("test.animals.Animal_SubtypeRegistry\ntest.animals.Dog_SubtypeRegistry\n",
+                c.readOutput("META-INF/services/"+SubtypeRegistry.Provider.class.getName()));
+        // private nested types can not be referenced
+        assertEquals(1, c.messages(javax.tools.Diagnostic.Kind.WARNING).size());
+
+        ClassLoader loader = c.classLoader();
+        SubtypeRegistry reg = SubtypeRegistry.load(loader);
+        Class<?> animal = loader.loadClass(ANIMAL);
+        Class<?> dog = loader.loadClass("test.animals.Dog");
+
+        assertEquals(2, reg.getBaseTypes().size());
+        Map<String, Class<?>> subtypes = reg.findSubtypes(animal);
+        assertEquals(6, subtypes.size());
+        assertSame(dog, reg.findSubtype(animal, "dog"));
+        assertSame(loader.loadClass("test.animals.Cat"), reg.findSubtype(animal, "cat"));
+        assertSame(loader.loadClass("test.animals.Cat"), reg.findSubtype(animal, "kitty"));
+        assertSame(loader.loadClass("test.animals.Bird"), reg.findSubtype(animal, "birdie"));
+        assertSame(loader.loadClass("test.animals.Animal$Fish"), reg.findSubtype(animal, "Animal$Fish"));
+        // transitive
+        assertSame(loader.loadClass("test.animals.Puppy"), reg.findSubtype(animal, "puppy"));
+        assertSame(loader.loadClass("test.animals.Puppy"), reg.findSubtype(dog, "puppy"));
+        assertNull(reg.findSubtype(dog, "cat"));
+        assertNull(reg.findSubtype(animal, "hidden"));
+    }
+
+    // Providers for the same package generated separately (as for different jars)
+    // must not have the same name
+    @Test
+    public void testSamePackageSeparateCompilations() throws Exception
+    {
+        Compilation first = compile(new SubtypeRegistryProcessor(), true,
+                ANIMAL, ANIMAL_SRC,
+                "test.animals.Dog", DOG_SRC,
+                "test.animals.Cat", CAT_SRC,
+                "test.animals.Bird", BIRD_SRC);
+        Compilation second = compile(new SubtypeRegistryProcessor(), true,
+                "test.animals.Plant", "package test.animals;\n"
+                + "import com.fasterxml.jackson.annotation.*;\n"
+                + "@JsonSubTypes(@JsonSubTypes.Type(value = Plant.Tree.class, name = \"tree\"))\n"
+                + "public class Plant {\n"
+                + "  public static class Tree extends Plant { }\n"
+                + "}\n");
+        final String services = "META-INF/services/"+SubtypeRegistry.Provider.class.getName();
+        assertEquals("test.animals.Plant_SubtypeRegistry\n", second.readOutput(services));
+        for (String name : first.readOutput(services).split("\n")) {
+            assertFalse(second.hasOutput(name.replace('.', '/')+".class"), name);
+        }
+        assertTrue(second.hasOutput("test/animals/Plant_SubtypeRegistry.class"));
+    }
+
+    @Test
+    public void testFailOnRepeatedNames() throws Exception
+    {
+        Compilation c = compile(new SubtypeRegistryProcessor(), false,
+                "test.dups.Base", "package test.dups;\n"
+                + "import com.fasterxml.jackson.annotation.*;\n"
+                + "@JsonSubTypes(value = {\n"
+                + "  @JsonSubTypes.Type(value = Base.A.class, name = \"x\"),\n"
+                + "  @JsonSubTypes.Type(value = Base.B.class, names = { \"y\", \"x\" })\n"
+                + "}, failOnRepeatedNames = true)\n"
+                + "public class Base {\n"
+                + "  public static class A extends Base { }\n"
+                + "  public static class B extends Base { }\n"
+                + "}\n");
+        assertEquals(1, c.messages(javax.tools.Diagnostic.Kind.ERROR).size());
+    }
+}
@@ -26,6 +26,36 @@ NOTE: Jackson 3.x components rely on 2.x annotations; there are no separate
  (contributed by @tiger9800)
 #324: Add `@JsonSerializeAs`
 #326: Add `JsonTypeInfo.As.NOTHING` value
+- Avoid allocation when merging `JsonIncludeProperties.Value`s with `withOverrides()`
+- Canonicalize `JacksonInject.Value` and `JsonTypeInfo.Value` instances;
+  calculate `JsonTypeInfo.Value` hash code lazily
+- Add `SubtypeRegistry` and `jackson-annotations-processor` for generating it
+  from `@JsonSubTypes` at compile time
+- Add `TypeIdTable` for constant-time type id lookups
+- Add `AnnotationIndex` (generated by `jackson-annotations-processor`) for
+  accessing Jackson annotations without reflection
+- Add `AnnotationBundle` for accessing flattened contents of `@JacksonAnnotationsInside`
+  bundles (pre-computed by `jackson-annotations-processor`)
+- Cache `Value.from(annotation)` results by annotation instance
+- Add `ClassFileAnnotationReader` for reading Jackson annotations from class files
+  without reflection
+- Add GraalVM native-image metadata (reflection, proxy and resource configuration;
+  build-time initialization of enum and annotation value types)
+- Use compact JDK serialization form for annotation `Value` types
+- Add shared `TimeZone`/`ZoneId` cache for `JsonFormat.Value`, `JsonFormat.Value.getZoneId()`
+- Share `Locale` instances constructed by `JsonFormat.Value` from locale Strings
+- Add `JsonFormat.Value.getDateTimeFormatter()` backed by shared cache of compiled formatters
+- Add `JsonFormat.PatternInfo` for cached classification of date/time patterns
+- Add `RadixCodec` for allocation-free encoding and decoding of numbers using `JsonFormat` radix
+- Add `JsonFormat.ResolvedFeatures` for resolving `JsonFormat.Features` against defaults into a bit set
+- Add category bit masks for `JsonFormat.Shape`
+- Add `@JsonExpectedSize` for indicating expected sizes of property values
+- Add `@JsonIntern` for canonicalizing repeated `String` values on deserialization
+- Add `@JsonLazy` for indicating deferred binding of property values
+- Add `@JsonImmutable` for allowing memoization of serialized form of immutable types
+- Add `@JsonStreamable` for incremental serialization of large sequences
+- Add `@JsonNumberEncoding` for indicating physical encoding of integral numbers in binary formats
+- Add `@JsonColumnar` for column-wise (struct-of-arrays) serialization of POJO sequences
 - Fix SBOM generation, publishing
 
 2.20 (28-Aug-2025)
@@ -0,0 +1,187 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Flattened contents of an annotation bundle: annotation type marked with
+ * {@link JacksonAnnotationsInside}. Contains the effective set of Jackson annotations
+ * of the bundle, with nested bundles expanded, so that use of a bundle only requires
+ * a single lookup instead of recursive introspection of annotations of annotations.
+ *<p>
+ * Precedence follows the rules used by databind when introspecting bundles: annotations
+ * are collected depth-first, in declaration order, with nested bundles expanded at the point
+ * where they are declared; and the last annotation of a given type overrides earlier ones.
+ * Annotations of the bundle are expected to have lower precedence than annotations
+ * directly on the annotated element, but combining those is left to the caller.
+ *<p>
+ * Flattening is done at compile time by {@code jackson-annotations-processor},
+ * if available (see {@link #resourceName}); otherwise reflectively on first access.
+ * In both cases results are cached per bundle type.
+ *
+ * @since 2.21
+ */
+public final class AnnotationBundle
+{
+    public final static String RESOURCE_PREFIX = "META-INF/jackson/bundles/";
+
+    private final static ClassValue<AnnotationBundle> BUNDLES = new ClassValue<AnnotationBundle>() {
+        @Override
+        protected AnnotationBundle computeValue(Class<?> type) {
+            if (!isBundle(type)) {
+                return null;
+            }
+            return _construct(type.asSubclass(Annotation.class));
+        }
+    };
+
+    private final Class<? extends Annotation> _bundleType;
+
+    private final List<AnnotationIndex.AnnotationInfo> _annotations;
+
+    /**
+     * {@link JacksonAnnotationValue}s for annotations that have one, by
+     * annotation type name
+     */
+    private final Map<String, JacksonAnnotationValue<?>> _values;
+
+    private AnnotationBundle(Class<? extends Annotation> bundleType,
+            List<AnnotationIndex.AnnotationInfo> annotations)
+    {
+        _bundleType = bundleType;
+        _annotations = Collections.unmodifiableList(annotations);
+        final ClassLoader loader = _loaderFor(bundleType);
+        Map<String, JacksonAnnotationValue<?>> values = new HashMap<>();
+        for (AnnotationIndex.AnnotationInfo ann : annotations) {
+            JacksonAnnotationValue<?> value = ann.toValue(loader);
+            if (value != null) {
+                values.put(ann.getType(), value);
+            }
+        }
+        _values = values;
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return Name of the class path resource used for pre-flattened contents
+     *   of the bundle with given binary name
+     */
+    public static String resourceName(String bundleTypeName) {
+        return RESOURCE_PREFIX + bundleTypeName + AnnotationIndex.RESOURCE_SUFFIX;
+    }
+
+    /**
+     * @return True if given type is an annotation type marked with {@link JacksonAnnotationsInside}
+     */
+    public static boolean isBundle(Class<?> type) {
+        return type.isAnnotation() && type.isAnnotationPresent(JacksonAnnotationsInside.class);
+    }
+
+    /**
+     * Method for finding flattened contents of given annotation type, if it is a bundle.
+     *
+     * @return Flattened bundle, if given type is a bundle; {@code null} if not
+     */
+    public static AnnotationBundle find(Class<? extends Annotation> annotationType) {
+        return BUNDLES.get(annotationType);
+    }
+
+    private static AnnotationBundle _construct(Class<? extends Annotation> bundleType)
+    {
+        AnnotationIndex index = AnnotationIndex._find(_loaderFor(bundleType),
+                resourceName(bundleType.getName()));
+        List<AnnotationIndex.AnnotationInfo> anns;
+        if ((index != null) && (index.forType() != null)) {
+            anns = new ArrayList<>(index.forType().getAnnotations());
+        } else {
+            Map<String, AnnotationIndex.AnnotationInfo> result = new LinkedHashMap<>();
+            Set<Class<?>> seen = new HashSet<>();
+            seen.add(bundleType);
+            _flatten(bundleType, result, seen);
+            anns = new ArrayList<>(result.values());
+        }
+        return new AnnotationBundle(bundleType, anns);
+    }
+
+    private static void _flatten(Class<? extends Annotation> bundleType,
+            Map<String, AnnotationIndex.AnnotationInfo> result, Set<Class<?>> seen)
+    {
+        for (Annotation ann : bundleType.getDeclaredAnnotations()) {
+            final Class<? extends Annotation> annType = ann.annotationType();
+            if (annType == JacksonAnnotationsInside.class) {
+                continue;
+            }
+            if (isBundle(annType)) {
+                if (seen.add(annType)) {
+                    _flatten(annType, result, seen);
+                }
+            } else if (annType.isAnnotationPresent(JacksonAnnotation.class)) {
+                // last one wins; and is ordered by its own position
+                result.remove(annType.getName());
+                result.put(annType.getName(), AnnotationIndex.AnnotationInfo.from(ann));
+            }
+        }
+    }
+
+    private static ClassLoader _loaderFor(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return (loader == null) ? ClassLoader.getSystemClassLoader() : loader;
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public Class<? extends Annotation> getBundleType() {
+        return _bundleType;
+    }
+
+    /**
+     * @return Effective Jackson annotations of the bundle (one per annotation type),
+     *   in depth-first declaration order; does not include nested bundles themselves
+     *   (only their contents)
+     */
+    public List<AnnotationIndex.AnnotationInfo> getAnnotations() {
+        return _annotations;
+    }
+
+    public boolean hasAnnotation(Class<? extends Annotation> annotationType) {
+        return findAnnotation(annotationType) != null;
+    }
+
+    public AnnotationIndex.AnnotationInfo findAnnotation(Class<? extends Annotation> annotationType)
+    {
+        final String name = annotationType.getName();
+        for (AnnotationIndex.AnnotationInfo ann : _annotations) {
+            if (ann.getType().equals(name)) {
+                return ann;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method for accessing pre-constructed {@link JacksonAnnotationValue} for annotation
+     * of given type (like {@link JsonFormat.Value} for {@link JsonFormat}) in the bundle.
+     *
+     * @return Value for annotation, if bundle has one and annotation has a value type;
+     *    {@code null} otherwise
+     */
+    public <V extends JacksonAnnotationValue<?>> V findValue(Class<? extends Annotation> annotationType,
+            Class<V> valueType)
+    {
+        return valueType.cast(_values.get(annotationType.getName()));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnnotationBundle(@%s: %s)", _bundleType.getName(), _annotations);
+    }
+}
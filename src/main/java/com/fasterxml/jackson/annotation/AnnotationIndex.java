@@ -0,0 +1,795 @@
+package com.fasterxml.jackson.annotation;
+
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Pre-computed index of Jackson annotations (ones marked with {@link JacksonAnnotation})
+ * of a single class and its members, usually generated at compile time
+ * by {@code jackson-annotations-processor} and stored as a class path resource
+ * (see {@link #resourceName}). Allows access to annotation member values, and
+ * construction of {@link JacksonAnnotationValue}s (see {@link AnnotationInfo#toValue}),
+ * without reflective access to annotations (and creation of annotation proxies).
+ *<p>
+ * Member values are stored as follows:
+ *<ul>
+ * <li>Primitives as their wrapper types ({@link Boolean}, {@link Integer} and so on)
+ *  </li>
+ * <li>{@code String}s as is
+ *  </li>
+ * <li>{@code Enum}s as names of constants ({@code String})
+ *  </li>
+ * <li>{@code Class}es as binary class names ({@code String})
+ *  </li>
+ * <li>Annotations as {@link AnnotationInfo}s
+ *  </li>
+ * <li>Arrays as {@code Object[]}
+ *  </li>
+ *</ul>
+ * All member values are included, including defaults.
+ *
+ * @since 2.21
+ */
+public final class AnnotationIndex
+{
+    public final static String RESOURCE_PREFIX = "META-INF/jackson/annotations/";
+
+    public final static String RESOURCE_SUFFIX = ".bin";
+
+    // "JAIX"
+    private final static int MAGIC = 0x4A414958;
+
+    private final static int FORMAT_VERSION = 1;
+
+    // Tags used for member values
+    // (also used for enum constant names, class names)
+    private final static int TAG_STRING = 's';
+    private final static int TAG_BOOLEAN = 'Z';
+    private final static int TAG_BYTE = 'B';
+    private final static int TAG_CHAR = 'C';
+    private final static int TAG_SHORT = 'S';
+    private final static int TAG_INT = 'I';
+    private final static int TAG_LONG = 'J';
+    private final static int TAG_FLOAT = 'F';
+    private final static int TAG_DOUBLE = 'D';
+    private final static int TAG_ANNOTATION = '@';
+    private final static int TAG_ARRAY = '[';
+
+    // Limits of counts and indexes, written as unsigned bytes or shorts
+    private final static int MAX_BYTE = 0xFF;
+    private final static int MAX_SHORT = 0xFFFF;
+
+    /**
+     * Kinds of annotated elements included in the index
+     */
+    public enum ElementKind {
+        TYPE, FIELD, METHOD, CONSTRUCTOR, PARAMETER;
+    }
+
+    private final String _className;
+
+    private final List<ElementInfo> _elements;
+
+    public AnnotationIndex(String className, List<ElementInfo> elements) {
+        _className = className;
+        _elements = Collections.unmodifiableList(new ArrayList<>(elements));
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return Name of the class path resource used for index of the class
+     *   with given binary name
+     */
+    public static String resourceName(String className) {
+        return RESOURCE_PREFIX + className + RESOURCE_SUFFIX;
+    }
+
+    /**
+     * Method for locating and reading the index for given class, if one exists.
+     *
+     * @return Index for the class, if one exists; {@code null} if not
+     *
+     * @throws UncheckedIOException If index exists but can not be read
+     */
+    public static AnnotationIndex find(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            loader = ClassLoader.getSystemClassLoader();
+        }
+        return find(loader, type.getName());
+    }
+
+    public static AnnotationIndex find(ClassLoader loader, String className) {
+        return _find(loader, resourceName(className));
+    }
+
+    static AnnotationIndex _find(ClassLoader loader, String resource)
+    {
+        InputStream in = loader.getResourceAsStream(resource);
+        if (in == null) {
+            return null;
+        }
+        try {
+            try {
+                return read(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read annotation index "+resource, e);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public String getClassName() {
+        return _className;
+    }
+
+    public List<ElementInfo> getElements() {
+        return _elements;
+    }
+
+    /**
+     * @return Information on annotations of the class itself, if any; {@code null} if none
+     */
+    public ElementInfo forType() {
+        return _find(ElementKind.TYPE, null, null, -1);
+    }
+
+    public ElementInfo findField(String name) {
+        return _find(ElementKind.FIELD, name, null, -1);
+    }
+
+    /**
+     * @param paramTypes Binary names of (erased) parameter types
+     */
+    public ElementInfo findMethod(String name, String... paramTypes) {
+        return _find(ElementKind.METHOD, name, paramTypes, -1);
+    }
+
+    /**
+     * @param paramTypes Binary names of (erased) parameter types
+     */
+    public ElementInfo findConstructor(String... paramTypes) {
+        return _find(ElementKind.CONSTRUCTOR, "<init>", paramTypes, -1);
+    }
+
+    /**
+     * @param name Name of the method, or {@code "<init>"} for constructors
+     * @param paramTypes Binary names of (erased) parameter types of the method
+     * @param index Index of the parameter
+     */
+    public ElementInfo findParameter(String name, String[] paramTypes, int index) {
+        return _find(ElementKind.PARAMETER, name, paramTypes, index);
+    }
+
+    private ElementInfo _find(ElementKind kind, String name, String[] paramTypes, int index)
+    {
+        for (ElementInfo elem : _elements) {
+            if ((elem._kind == kind)
+                    && ((name == null) || name.equals(elem._name))
+                    && ((paramTypes == null) || Arrays.equals(paramTypes, elem._parameterTypes))
+                    && (elem._parameterIndex == index)) {
+                return elem;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnnotationIndex(%s: %d elements)", _className, _elements.size());
+    }
+
+    /*
+    /**********************************************************************
+    /* Reading, writing
+    /**********************************************************************
+     */
+
+    public static AnnotationIndex read(InputStream in) throws IOException
+    {
+        DataInputStream din = new DataInputStream(new BufferedInputStream(in));
+        if (din.readInt() != MAGIC) {
+            throw new IOException("Invalid annotation index: wrong magic number");
+        }
+        int version = din.readUnsignedShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported annotation index version: "+version);
+        }
+        final String[] strings = new String[din.readUnsignedShort()];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = din.readUTF();
+        }
+        final String className = strings[din.readUnsignedShort()];
+        final ElementKind[] kinds = ElementKind.values();
+        final int elemCount = din.readUnsignedShort();
+        List<ElementInfo> elements = new ArrayList<>(elemCount);
+        for (int i = 0; i < elemCount; ++i) {
+            ElementKind kind = kinds[din.readUnsignedByte()];
+            String name = strings[din.readUnsignedShort()];
+            String[] paramTypes = null;
+            int paramIndex = -1;
+            if (kind != ElementKind.TYPE && kind != ElementKind.FIELD) {
+                paramTypes = new String[din.readUnsignedByte()];
+                for (int j = 0; j < paramTypes.length; ++j) {
+                    paramTypes[j] = strings[din.readUnsignedShort()];
+                }
+                if (kind == ElementKind.PARAMETER) {
+                    paramIndex = din.readUnsignedByte();
+                }
+            }
+            int annCount = din.readUnsignedByte();
+            List<AnnotationInfo> anns = new ArrayList<>(annCount);
+            for (int j = 0; j < annCount; ++j) {
+                anns.add(_readAnnotation(din, strings));
+            }
+            elements.add(new ElementInfo(kind, name, paramTypes, paramIndex, anns));
+        }
+        return new AnnotationIndex(className, elements);
+    }
+
+    private static AnnotationInfo _readAnnotation(DataInputStream din, String[] strings)
+        throws IOException
+    {
+        String type = strings[din.readUnsignedShort()];
+        int count = din.readUnsignedByte();
+        Map<String, Object> members = new LinkedHashMap<>();
+        for (int i = 0; i < count; ++i) {
+            String name = strings[din.readUnsignedShort()];
+            members.put(name, _readValue(din, strings));
+        }
+        return new AnnotationInfo(type, members);
+    }
+
+    private static Object _readValue(DataInputStream din, String[] strings) throws IOException
+    {
+        final int tag = din.readUnsignedByte();
+        switch (tag) {
+        case TAG_STRING:
+            return strings[din.readUnsignedShort()];
+        case TAG_BOOLEAN:
+            return din.readBoolean();
+        case TAG_BYTE:
+            return din.readByte();
+        case TAG_CHAR:
+            return din.readChar();
+        case TAG_SHORT:
+            return din.readShort();
+        case TAG_INT:
+            return din.readInt();
+        case TAG_LONG:
+            return din.readLong();
+        case TAG_FLOAT:
+            return din.readFloat();
+        case TAG_DOUBLE:
+            return din.readDouble();
+        case TAG_ANNOTATION:
+            return _readAnnotation(din, strings);
+        case TAG_ARRAY:
+            {
+                Object[] result = new Object[din.readUnsignedShort()];
+                for (int i = 0; i < result.length; ++i) {
+                    result[i] = _readValue(din, strings);
+                }
+                return result;
+            }
+        }
+        throw new IOException("Invalid annotation index: unknown value tag 0x"+Integer.toHexString(tag));
+    }
+
+    /**
+     * Method for writing this index in binary format understood by {@link #read}.
+     */
+    public void write(OutputStream out) throws IOException
+    {
+        // First, gather Strings into table
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        _intern(strings, _className);
+        for (ElementInfo elem : _elements) {
+            _intern(strings, elem._name);
+            if (elem._parameterTypes != null) {
+                for (String str : elem._parameterTypes) {
+                    _intern(strings, str);
+                }
+            }
+            for (AnnotationInfo ann : elem._annotations) {
+                _internAll(strings, ann);
+            }
+        }
+        DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(out));
+        dout.writeInt(MAGIC);
+        dout.writeShort(FORMAT_VERSION);
+        _writeCount(dout, strings.size(), MAX_SHORT, "distinct Strings");
+        for (String str : strings.keySet()) {
+            dout.writeUTF(str);
+        }
+        dout.writeShort(strings.get(_className));
+        _writeCount(dout, _elements.size(), MAX_SHORT, "annotated elements");
+        for (ElementInfo elem : _elements) {
+            dout.writeByte(elem._kind.ordinal());
+            dout.writeShort(strings.get(elem._name));
+            if (elem._kind != ElementKind.TYPE && elem._kind != ElementKind.FIELD) {
+                String[] paramTypes = (elem._parameterTypes == null)
+                        ? new String[0] : elem._parameterTypes;
+                _writeCount(dout, paramTypes.length, MAX_BYTE, "parameters");
+                for (String str : paramTypes) {
+                    dout.writeShort(strings.get(str));
+                }
+                if (elem._kind == ElementKind.PARAMETER) {
+                    _writeCount(dout, elem._parameterIndex, MAX_BYTE, "parameter index");
+                }
+            }
+            _writeCount(dout, elem._annotations.size(), MAX_BYTE, "annotations per element");
+            for (AnnotationInfo ann : elem._annotations) {
+                _writeAnnotation(dout, ann, strings);
+            }
+        }
+        dout.flush();
+    }
+
+    private static void _writeAnnotation(DataOutputStream dout, AnnotationInfo ann,
+            Map<String, Integer> strings)
+        throws IOException
+    {
+        dout.writeShort(strings.get(ann._type));
+        _writeCount(dout, ann._members.size(), MAX_BYTE, "annotation members");
+        for (Map.Entry<String, Object> entry : ann._members.entrySet()) {
+            dout.writeShort(strings.get(entry.getKey()));
+            _writeValue(dout, entry.getValue(), strings);
+        }
+    }
+
+    private static void _writeValue(DataOutputStream dout, Object value,
+            Map<String, Integer> strings)
+        throws IOException
+    {
+        if (value instanceof String) {
+            dout.writeByte(TAG_STRING);
+            dout.writeShort(strings.get(value));
+        } else if (value instanceof Boolean) {
+            dout.writeByte(TAG_BOOLEAN);
+            dout.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            dout.writeByte(TAG_BYTE);
+            dout.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            dout.writeByte(TAG_CHAR);
+            dout.writeChar((Character) value);
+        } else if (value instanceof Short) {
+            dout.writeByte(TAG_SHORT);
+            dout.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            dout.writeByte(TAG_INT);
+            dout.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            dout.writeByte(TAG_LONG);
+            dout.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            dout.writeByte(TAG_FLOAT);
+            dout.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            dout.writeByte(TAG_DOUBLE);
+            dout.writeDouble((Double) value);
+        } else if (value instanceof AnnotationInfo) {
+            dout.writeByte(TAG_ANNOTATION);
+            _writeAnnotation(dout, (AnnotationInfo) value, strings);
+        } else if (value instanceof Object[]) {
+            Object[] arr = (Object[]) value;
+            dout.writeByte(TAG_ARRAY);
+            _writeCount(dout, arr.length, MAX_SHORT, "array elements");
+            for (Object elem : arr) {
+                _writeValue(dout, elem, strings);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported annotation member value type: "
+                    +((value == null) ? "null" : value.getClass().getName()));
+        }
+    }
+
+    /**
+     * Helper method for writing a count (or index) as unsigned byte (if {@code max}
+     * is {@link #MAX_BYTE}) or short, failing if value is out of range, instead
+     * of silently truncating it (which would corrupt the index).
+     */
+    private static void _writeCount(DataOutputStream dout, int count, int max, String desc)
+        throws IOException
+    {
+        if ((count < 0) || (count > max)) {
+            throw new IOException("Can not write annotation index: too many "+desc
+                    +" ("+count+"; maximum "+max+")");
+        }
+        if (max == MAX_BYTE) {
+            dout.writeByte(count);
+        } else {
+            dout.writeShort(count);
+        }
+    }
+
+    private static void _internAll(Map<String, Integer> strings, AnnotationInfo ann)
+    {
+        _intern(strings, ann._type);
+        for (Map.Entry<String, Object> entry : ann._members.entrySet()) {
+            _intern(strings, entry.getKey());
+            _internValue(strings, entry.getValue());
+        }
+    }
+
+    private static void _internValue(Map<String, Integer> strings, Object value)
+    {
+        if (value instanceof String) {
+            _intern(strings, (String) value);
+        } else if (value instanceof AnnotationInfo) {
+            _internAll(strings, (AnnotationInfo) value);
+        } else if (value instanceof Object[]) {
+            for (Object elem : (Object[]) value) {
+                _internValue(strings, elem);
+            }
+        }
+    }
+
+    private static void _intern(Map<String, Integer> strings, String str) {
+        if (!strings.containsKey(str)) {
+            strings.put(str, strings.size());
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper types
+    /**********************************************************************
+     */
+
+    /**
+     * Information on Jackson annotations of a single annotated element.
+     */
+    public final static class ElementInfo
+    {
+        private final ElementKind _kind;
+        private final String _name;
+        private final String[] _parameterTypes;
+        private final int _parameterIndex;
+        private final List<AnnotationInfo> _annotations;
+
+        /**
+         * @param kind Kind of element
+         * @param name Name of element: binary class name for types, field or method
+         *    name, {@code "<init>"} for constructors; and for parameters, name of
+         *    the method or constructor
+         * @param parameterTypes Binary names of (erased) parameter types for methods,
+         *    constructors and parameters; {@code null} for others
+         * @param parameterIndex Index of parameter for parameters; -1 for others
+         */
+        public ElementInfo(ElementKind kind, String name, String[] parameterTypes,
+                int parameterIndex, List<AnnotationInfo> annotations)
+        {
+            _kind = kind;
+            _name = name;
+            _parameterTypes = parameterTypes;
+            _parameterIndex = parameterIndex;
+            _annotations = Collections.unmodifiableList(new ArrayList<>(annotations));
+        }
+
+        public ElementKind getKind() { return _kind; }
+        public String getName() { return _name; }
+        public int getParameterIndex() { return _parameterIndex; }
+        public List<AnnotationInfo> getAnnotations() { return _annotations; }
+
+        public String[] getParameterTypes() {
+            return (_parameterTypes == null) ? null : _parameterTypes.clone();
+        }
+
+        public AnnotationInfo findAnnotation(Class<?> annotationType) {
+            return findAnnotation(annotationType.getName());
+        }
+
+        public AnnotationInfo findAnnotation(String annotationType) {
+            for (AnnotationInfo ann : _annotations) {
+                if (ann._type.equals(annotationType)) {
+                    return ann;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Convenience method for finding annotation of given type and converting it
+         * into matching {@link JacksonAnnotationValue}.
+         *
+         * @return Value for annotation, if annotated and annotation has a value type;
+         *    {@code null} otherwise
+         */
+        public <V extends JacksonAnnotationValue<?>> V findValue(Class<?> annotationType,
+                Class<V> valueType, ClassLoader loader)
+        {
+            AnnotationInfo ann = findAnnotation(annotationType);
+            return (ann == null) ? null : valueType.cast(ann.toValue(loader));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s%s: %s", _kind, _name,
+                    (_parameterTypes == null) ? "" : Arrays.toString(_parameterTypes),
+                    _annotations);
+        }
+    }
+
+    /**
+     * Information on a single annotation: type and (all) member values.
+     */
+    public final static class AnnotationInfo
+    {
+        private final String _type;
+        private final Map<String, Object> _members;
+
+        public AnnotationInfo(String type, Map<String, Object> members) {
+            _type = type;
+            _members = Collections.unmodifiableMap(new LinkedHashMap<>(members));
+        }
+
+        /**
+         * Factory method for constructing instance from an actual annotation instance,
+         * using reflection to access member values.
+         *
+         * @throws IllegalArgumentException If member values can not be accessed
+         */
+        public static AnnotationInfo from(Annotation ann)
+        {
+            final Class<? extends Annotation> annType = ann.annotationType();
+            Map<String, Object> members = new LinkedHashMap<>();
+            for (Method m : annType.getDeclaredMethods()) {
+                if (m.getParameterCount() != 0 || m.isSynthetic()
+                        || Modifier.isStatic(m.getModifiers())) {
+                    continue;
+                }
+                Object value;
+                try {
+                    if (!Modifier.isPublic(annType.getModifiers())) {
+                        m.setAccessible(true);
+                    }
+                    value = m.invoke(ann);
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("Failed to access member '"+m.getName()
+                            +"' of "+annType.getName()+": "+e.getMessage(), e);
+                }
+                members.put(m.getName(), _memberValue(value));
+            }
+            return new AnnotationInfo(annType.getName(), members);
+        }
+
+        private static Object _memberValue(Object value)
+        {
+            if (value instanceof Enum<?>) {
+                return ((Enum<?>) value).name();
+            }
+            if (value instanceof Class<?>) {
+                return ((Class<?>) value).getName();
+            }
+            if (value instanceof Annotation) {
+                return from((Annotation) value);
+            }
+            if (value.getClass().isArray()) {
+                Object[] result = new Object[Array.getLength(value)];
+                for (int i = 0; i < result.length; ++i) {
+                    result[i] = _memberValue(Array.get(value, i));
+                }
+                return result;
+            }
+            // Strings and wrapped primitives
+            return value;
+        }
+
+        /**
+         * @return Binary name of the annotation type
+         */
+        public String getType() { return _type; }
+
+        public Map<String, Object> getMembers() { return _members; }
+
+        public Object get(String member) {
+            return _members.get(member);
+        }
+
+        public String getString(String member) {
+            return (String) _members.get(member);
+        }
+
+        public boolean getBoolean(String member) {
+            return Boolean.TRUE.equals(_members.get(member));
+        }
+
+        public int getInt(String member) {
+            return ((Number) _members.get(member)).intValue();
+        }
+
+        public <E extends Enum<E>> E getEnum(String member, Class<E> enumType) {
+            String name = (String) _members.get(member);
+            return (name == null) ? null : Enum.valueOf(enumType, name);
+        }
+
+        public String[] getStringArray(String member) {
+            Object[] arr = (Object[]) _members.get(member);
+            if (arr == null) {
+                return null;
+            }
+            String[] result = new String[arr.length];
+            for (int i = 0; i < arr.length; ++i) {
+                result[i] = (String) arr[i];
+            }
+            return result;
+        }
+
+        public <E extends Enum<E>> E[] getEnumArray(String member, Class<E> enumType, E[] empty)
+        {
+            Object[] arr = (Object[]) _members.get(member);
+            if (arr == null || arr.length == 0) {
+                return empty;
+            }
+            E[] result = Arrays.copyOf(empty, arr.length);
+            for (int i = 0; i < arr.length; ++i) {
+                result[i] = Enum.valueOf(enumType, (String) arr[i]);
+            }
+            return result;
+        }
+
+        /**
+         * @return Class referenced by given member, loaded (but not initialized)
+         *    using given class loader; or {@code null} if member not defined
+         *
+         * @throws IllegalArgumentException if class can not be loaded
+         */
+        public Class<?> getClass(String member, ClassLoader loader) {
+            String name = (String) _members.get(member);
+            if (name == null) {
+                return null;
+            }
+            // primitive types (including `void`) can not be loaded by name
+            Class<?> primitive = _primitiveType(name);
+            if (primitive != null) {
+                return primitive;
+            }
+            try {
+                return Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Class '"+name+"' (referenced by member '"
+                        +member+"' of "+_type+") not found", e);
+            }
+        }
+
+        /**
+         * Method for constructing {@link JacksonAnnotationValue} that matches this annotation,
+         * for annotation types that have one (like {@link JsonFormat.Value} for
+         * {@link JsonFormat}).
+         *
+         * @param loader Class loader to use for resolving class-valued members
+         *
+         * @return Value instance, if annotation type has one; {@code null} if not
+         */
+        public JacksonAnnotationValue<?> toValue(ClassLoader loader)
+        {
+            switch (_type) {
+            case "com.fasterxml.jackson.annotation.JsonFormat":
+                return new JsonFormat.Value(getString("pattern"),
+                        getEnum("shape", JsonFormat.Shape.class),
+                        getString("locale"), getString("timezone"),
+                        JsonFormat.Features.construct(
+                                getEnumArray("with", JsonFormat.Feature.class, new JsonFormat.Feature[0]),
+                                getEnumArray("without", JsonFormat.Feature.class, new JsonFormat.Feature[0])),
+                        getEnum("lenient", OptBoolean.class).asBoolean(),
+                        getInt("radix"));
+            case "com.fasterxml.jackson.annotation.JsonInclude":
+                return JsonInclude.Value.construct(getEnum("value", JsonInclude.Include.class),
+                        getEnum("content", JsonInclude.Include.class),
+                        getClass("valueFilter", loader), getClass("contentFilter", loader));
+            case "com.fasterxml.jackson.annotation.JsonIgnoreProperties":
+                return JsonIgnoreProperties.Value.construct(_asSet(getStringArray("value")),
+                        getBoolean("ignoreUnknown"), getBoolean("allowGetters"),
+                        getBoolean("allowSetters"), false);
+            case "com.fasterxml.jackson.annotation.JsonIncludeProperties":
+                return new JsonIncludeProperties.Value(_asSet(getStringArray("value")));
+            case "com.fasterxml.jackson.annotation.JsonSetter":
+                return JsonSetter.Value.construct(getEnum("nulls", Nulls.class),
+                        getEnum("contentNulls", Nulls.class));
+            case "com.fasterxml.jackson.annotation.JsonAutoDetect":
+                return JsonAutoDetect.Value.construct(
+                        getEnum("fieldVisibility", JsonAutoDetect.Visibility.class),
+                        getEnum("getterVisibility", JsonAutoDetect.Visibility.class),
+                        getEnum("isGetterVisibility", JsonAutoDetect.Visibility.class),
+                        getEnum("setterVisibility", JsonAutoDetect.Visibility.class),
+                        getEnum("creatorVisibility", JsonAutoDetect.Visibility.class),
+                        getEnum("scalarConstructorVisibility", JsonAutoDetect.Visibility.class));
+            case "com.fasterxml.jackson.annotation.JacksonInject":
+                return JacksonInject.Value.construct(getString("value"),
+                        getEnum("useInput", OptBoolean.class).asBoolean(),
+                        getEnum("optional", OptBoolean.class).asBoolean());
+            case "com.fasterxml.jackson.annotation.JsonTypeInfo":
+                return JsonTypeInfo.Value.construct(getEnum("use", JsonTypeInfo.Id.class),
+                        getEnum("include", JsonTypeInfo.As.class),
+                        getString("property"), getClass("defaultImpl", loader),
+                        getBoolean("visible"),
+                        getEnum("requireTypeIdForSubtypes", OptBoolean.class).asBoolean());
+            case "com.fasterxml.jackson.annotation.JsonExpectedSize":
+                return JsonExpectedSize.Value.construct(getInt("value"), getInt("content"),
+                        getInt("key"));
+            case "com.fasterxml.jackson.annotation.JsonIntern":
+                {
+                    // presence of annotation enables canonicalization, even if scope missing
+                    JsonIntern.Scope scope = getEnum("value", JsonIntern.Scope.class);
+                    return JsonIntern.Value.construct((scope == null) ? JsonIntern.Scope.DEFAULT : scope,
+                            getInt("maxEntries"), getInt("maxLength"));
+                }
+            case "com.fasterxml.jackson.annotation.JsonLazy":
+                return JsonLazy.Value.construct(getEnum("value", OptBoolean.class).asBoolean(),
+                        getInt("maxBufferSize"));
+            case "com.fasterxml.jackson.annotation.JsonImmutable":
+                return JsonImmutable.Value.construct(getEnum("value", OptBoolean.class).asBoolean(),
+                        getInt("cacheSize"), getEnum("keyStrategy", JsonImmutable.KeyStrategy.class));
+            case "com.fasterxml.jackson.annotation.JsonStreamable":
+                return JsonStreamable.Value.construct(getEnum("value", OptBoolean.class).asBoolean(),
+                        getInt("chunkSize"), getEnum("flushPerChunk", OptBoolean.class).asBoolean(),
+                        getEnum("ordered", OptBoolean.class).asBoolean());
+            case "com.fasterxml.jackson.annotation.JsonNumberEncoding":
+                return JsonNumberEncoding.Value.construct(
+                        getEnum("value", JsonNumberEncoding.Encoding.class),
+                        getEnum("delta", OptBoolean.class).asBoolean());
+            case "com.fasterxml.jackson.annotation.JsonColumnar":
+                return JsonColumnar.Value.construct(getEnum("value", OptBoolean.class).asBoolean(),
+                        Arrays.asList(getStringArray("order")), _columnEncodings());
+            }
+            return null;
+        }
+
+        private Map<String, JsonNumberEncoding.Value> _columnEncodings() {
+            Map<String, JsonNumberEncoding.Value> result = new LinkedHashMap<>();
+            for (Object column : (Object[]) _members.get("columns")) {
+                AnnotationInfo info = (AnnotationInfo) column;
+                result.put(info.getString("value"), JsonNumberEncoding.Value.construct(
+                        info.getEnum("encoding", JsonNumberEncoding.Encoding.class),
+                        info.getEnum("delta", OptBoolean.class).asBoolean()));
+            }
+            return result;
+        }
+
+        private static Class<?> _primitiveType(String name)
+        {
+            switch (name) {
+            case "boolean": return Boolean.TYPE;
+            case "byte": return Byte.TYPE;
+            case "char": return Character.TYPE;
+            case "short": return Short.TYPE;
+            case "int": return Integer.TYPE;
+            case "long": return Long.TYPE;
+            case "float": return Float.TYPE;
+            case "double": return Double.TYPE;
+            case "void": return Void.TYPE;
+            }
+            return null;
+        }
+
+        private static Set<String> _asSet(String[] v) {
+            if (v == null || v.length == 0) {
+                return Collections.emptySet();
+            }
+            return new HashSet<>(Arrays.asList(v));
+        }
+
+        @Override
+        public String toString() {
+            return "@"+_type+_members;
+        }
+    }
+}
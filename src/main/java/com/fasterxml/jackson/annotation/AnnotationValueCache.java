@@ -0,0 +1,165 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper class used for caching {@link JacksonAnnotationValue}s constructed
+ * from annotation instances (by {@code Value.from(annotation)} methods), keyed
+ * by identity of the annotation instance, to avoid repeated calls to
+ * annotation (proxy) methods, including cloning of array-valued members.
+ * Annotation instances are weakly referenced so that cached entries do not
+ * prevent unloading of annotated classes.
+ *<p>
+ * Size of each cache (there is one per value type) is bounded by {@link #MAX_ENTRIES}:
+ * when full, a quarter of entries (chosen arbitrarily, as iteration order
+ * depends on identity hash codes) is evicted to make room for new ones, so that
+ * applications with more annotated elements than that still get cache hits for
+ * most lookups, instead of caching stopping altogether.
+ *<p>
+ * NOTE: values must not (strongly) refer to classes loaded by class loaders
+ * other than the bootstrap loader, as that would prevent annotation instances
+ * (reachable from their annotated classes) from being collected; callers are
+ * expected to check this (see {@link #isCacheable(Class)}).
+ *<p>
+ * Caches are held in nested holder classes of value types (not directly in static
+ * fields of value types), so that they are only initialized when first used:
+ * this allows value types themselves to be initialized at build time by GraalVM
+ * native-image, without capturing cache state (reference queues, weak references)
+ * in the image heap.
+ *
+ * @since 2.21
+ */
+final class AnnotationValueCache<V>
+{
+    /**
+     * Maximum number of entries to cache: when reached, some of existing entries
+     * are evicted before adding new ones.
+     */
+    final static int MAX_ENTRIES = 2000;
+
+    /**
+     * Number of entries to evict when cache is full.
+     */
+    private final static int EVICT_COUNT = MAX_ENTRIES / 4;
+
+    private final ConcurrentHashMap<Object, V> _values = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<Annotation> _queue = new ReferenceQueue<>();
+
+    public V get(Annotation ann) {
+        return _values.get(new LookupKey(ann));
+    }
+
+    /**
+     * Method for caching given value for given annotation, evicting some of
+     * existing entries if cache is full.
+     *
+     * @return Value to use: either given value, or one already cached by another thread
+     */
+    public V put(Annotation ann, V value)
+    {
+        _expunge();
+        if (_values.size() >= MAX_ENTRIES) {
+            _evict();
+        }
+        V old = _values.putIfAbsent(new WeakKey(ann, _queue), value);
+        return (old == null) ? value : old;
+    }
+
+    public int size() {
+        _expunge();
+        return _values.size();
+    }
+
+    /**
+     * @return True if values referring to given class can be cached;
+     *    that is, class is either {@code null} or loaded by bootstrap class loader
+     */
+    public static boolean isCacheable(Class<?> cls) {
+        return (cls == null) || (cls.getClassLoader() == null);
+    }
+
+    private void _expunge() {
+        Object key;
+        while ((key = _queue.poll()) != null) {
+            _values.remove(key);
+        }
+    }
+
+    // Note: concurrent callers may each evict, which is fine (just lowers hit rate)
+    private void _evict() {
+        int count = 0;
+        for (Iterator<Object> it = _values.keySet().iterator(); it.hasNext() && (count < EVICT_COUNT); ++count) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper types
+    /**********************************************************************
+     */
+
+    /**
+     * Key used for cached entries: compares referents by identity.
+     */
+    private final static class WeakKey extends WeakReference<Annotation>
+    {
+        private final int _hash;
+
+        WeakKey(Annotation ann, ReferenceQueue<Annotation> queue) {
+            super(ann, queue);
+            _hash = System.identityHashCode(ann);
+        }
+
+        @Override
+        public int hashCode() { return _hash; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            // cleared keys are only equal to themselves
+            Annotation ann = get();
+            if (ann == null) {
+                return false;
+            }
+            if (o instanceof LookupKey) {
+                return ((LookupKey) o)._annotation == ann;
+            }
+            return (o instanceof WeakKey) && (((WeakKey) o).get() == ann);
+        }
+    }
+
+    /**
+     * Short-lived key used for lookups, to avoid construction of references.
+     */
+    private final static class LookupKey
+    {
+        final Annotation _annotation;
+
+        LookupKey(Annotation ann) {
+            _annotation = ann;
+        }
+
+        @Override
+        public int hashCode() { return System.identityHashCode(_annotation); }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (o instanceof WeakKey) {
+                return ((WeakKey) o).get() == _annotation;
+            }
+            return (o instanceof LookupKey) && (((LookupKey) o)._annotation == _annotation);
+        }
+    }
+}
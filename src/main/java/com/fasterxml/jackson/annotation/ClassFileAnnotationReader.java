@@ -0,0 +1,671 @@
+package com.fasterxml.jackson.annotation;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reader that constructs {@link AnnotationIndex} for a class by parsing
+ * {@code RuntimeVisibleAnnotations} (and {@code RuntimeVisibleParameterAnnotations})
+ * attributes of its class file directly, without using reflection: no annotation
+ * proxies are created, and annotation types are not loaded. All Jackson annotations
+ * of the class and its members are read in a single pass, after which
+ * {@link JacksonAnnotationValue}s may be constructed using
+ * {@link AnnotationIndex.ElementInfo#findValue}.
+ *<p>
+ * Results are equivalent to those of indexes generated by {@code jackson-annotations-processor}:
+ * only Jackson annotations (ones whose types are marked with {@link JacksonAnnotation}, or
+ * bundles marked with {@link JacksonAnnotationsInside}) are included, and default values
+ * of members not explicitly specified are included. To determine both, class files of annotation
+ * types are parsed as well (and results cached by reader instance): annotations whose types'
+ * class files can not be found are skipped.
+ *<p>
+ * Synthetic and bridge methods are skipped. Note, too, that Java compilers do not
+ * necessarily include annotations for synthetic parameters (like outer instance
+ * parameter of constructors of inner classes): parameter annotations are
+ * aligned with the last parameters of method in such cases.
+ *<p>
+ * Instances are thread-safe; reuse is recommended for efficiency.
+ *
+ * @since 2.21
+ */
+public class ClassFileAnnotationReader
+{
+    private final static int CLASS_MAGIC = 0xCAFEBABE;
+
+    private final static int CP_UTF8 = 1;
+    private final static int CP_INTEGER = 3;
+    private final static int CP_FLOAT = 4;
+    private final static int CP_LONG = 5;
+    private final static int CP_DOUBLE = 6;
+    private final static int CP_CLASS = 7;
+    private final static int CP_STRING = 8;
+    private final static int CP_FIELDREF = 9;
+    private final static int CP_METHODREF = 10;
+    private final static int CP_INTERFACE_METHODREF = 11;
+    private final static int CP_NAME_AND_TYPE = 12;
+    private final static int CP_METHOD_HANDLE = 15;
+    private final static int CP_METHOD_TYPE = 16;
+    private final static int CP_DYNAMIC = 17;
+    private final static int CP_INVOKE_DYNAMIC = 18;
+    private final static int CP_MODULE = 19;
+    private final static int CP_PACKAGE = 20;
+
+    private final static int ACC_BRIDGE = 0x0040;
+    private final static int ACC_STATIC = 0x0008;
+    private final static int ACC_SYNTHETIC = 0x1000;
+
+    private final static String ATTR_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private final static String ATTR_PARAMETER_ANNOTATIONS = "RuntimeVisibleParameterAnnotations";
+    private final static String ATTR_ANNOTATION_DEFAULT = "AnnotationDefault";
+
+    private final static String DESC_JACKSON_ANNOTATION = "Lcom/fasterxml/jackson/annotation/JacksonAnnotation;";
+    private final static String DESC_ANNOTATIONS_INSIDE = "Lcom/fasterxml/jackson/annotation/JacksonAnnotationsInside;";
+
+    private final static String CONSTRUCTOR_NAME = "<init>";
+    private final static String STATIC_INITIALIZER_NAME = "<clinit>";
+
+    /**
+     * Information on annotation types of this package, shared by all readers
+     * (as they are always resolved using class loader of this class)
+     */
+    private final static ConcurrentHashMap<String, AnnotationType> STD_TYPES = new ConcurrentHashMap<>();
+
+    private final static String STD_PACKAGE_PREFIX = "com/fasterxml/jackson/annotation/";
+
+    private final static AnnotationType UNKNOWN_TYPE = new AnnotationType(false,
+            Collections.<String>emptyList(), Collections.<String, Object>emptyMap());
+
+    /**
+     * Class loader used for locating class files of classes and annotation types
+     */
+    private final ClassLoader _loader;
+
+    /**
+     * Information on annotation types, other than ones from this package,
+     * by type descriptor
+     */
+    private final ConcurrentHashMap<String, AnnotationType> _types = new ConcurrentHashMap<>();
+
+    public ClassFileAnnotationReader(ClassLoader loader) {
+        _loader = (loader == null) ? ClassLoader.getSystemClassLoader() : loader;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Convenience method for reading annotations of given class using a new reader
+     * for its class loader.
+     *
+     * @return Index of annotations of the class; or {@code null} if class file can not be found
+     */
+    public static AnnotationIndex readClass(Class<?> type) {
+        return new ClassFileAnnotationReader(type.getClassLoader()).read(type.getName());
+    }
+
+    /**
+     * Method for reading annotations of class with given binary name (as returned by
+     * {@link Class#getName()}), using class file located using class loader of this reader.
+     *
+     * @return Index of annotations of the class; or {@code null} if class file can not be found
+     *
+     * @throws UncheckedIOException If class file can not be read
+     * @throws IllegalArgumentException If class file is not valid
+     */
+    public AnnotationIndex read(String className)
+    {
+        byte[] bytes = _readClassFile(_loader, className.replace('.', '/'));
+        return (bytes == null) ? null : read(bytes);
+    }
+
+    /**
+     * Method for reading annotations from contents of a class file.
+     *
+     * @throws IllegalArgumentException If class file is not valid
+     */
+    public AnnotationIndex read(byte[] classFile)
+    {
+        try {
+            return new ClassFile(classFile).readIndex();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid class file: truncated content", e);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected AnnotationType _annotationType(String desc)
+    {
+        // Descriptors of form "Lcom/foo/Bar;"
+        final String internalName = desc.substring(1, desc.length() - 1);
+        final boolean std = internalName.startsWith(STD_PACKAGE_PREFIX)
+                && (internalName.indexOf('/', STD_PACKAGE_PREFIX.length()) < 0);
+        final Map<String, AnnotationType> cache = std ? STD_TYPES : _types;
+        AnnotationType type = cache.get(desc);
+        if (type == null) {
+            ClassLoader loader = std ? _stdLoader() : _loader;
+            byte[] bytes = _readClassFile(loader, internalName);
+            type = (bytes == null) ? UNKNOWN_TYPE : new ClassFile(bytes).readAnnotationType();
+            AnnotationType old = cache.putIfAbsent(desc, type);
+            if (old != null) {
+                type = old;
+            }
+        }
+        return type;
+    }
+
+    private static ClassLoader _stdLoader() {
+        ClassLoader loader = ClassFileAnnotationReader.class.getClassLoader();
+        return (loader == null) ? ClassLoader.getSystemClassLoader() : loader;
+    }
+
+    private static byte[] _readClassFile(ClassLoader loader, String internalName)
+    {
+        final String resource = internalName + ".class";
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(in.available(), 1000));
+            byte[] buffer = new byte[4000];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, count);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read class file "+resource, e);
+        }
+    }
+
+    /**
+     * Helper method for converting field descriptor (or part of method descriptor)
+     * into type name as returned by {@link Class#getName()}
+     */
+    static String _typeName(String desc, int start, int end)
+    {
+        switch (desc.charAt(start)) {
+        case 'L':
+            return desc.substring(start + 1, end - 1).replace('/', '.');
+        case '[':
+            return desc.substring(start, end).replace('/', '.');
+        case 'Z': return "boolean";
+        case 'B': return "byte";
+        case 'C': return "char";
+        case 'S': return "short";
+        case 'I': return "int";
+        case 'J': return "long";
+        case 'F': return "float";
+        case 'D': return "double";
+        case 'V': return "void";
+        }
+        throw new IllegalArgumentException("Invalid type descriptor '"+desc+"'");
+    }
+
+    /**
+     * @return Names of parameter types of method with given descriptor
+     */
+    static String[] _parameterTypes(String methodDesc)
+    {
+        List<String> types = new ArrayList<>();
+        int i = 1; // skip '('
+        while (methodDesc.charAt(i) != ')') {
+            final int start = i;
+            while (methodDesc.charAt(i) == '[') {
+                ++i;
+            }
+            if (methodDesc.charAt(i) == 'L') {
+                i = methodDesc.indexOf(';', i);
+            }
+            ++i;
+            types.add(_typeName(methodDesc, start, i));
+        }
+        return types.toArray(new String[0]);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper types
+    /**********************************************************************
+     */
+
+    /**
+     * Information on an annotation type needed for constructing
+     * {@link AnnotationIndex.AnnotationInfo}s
+     */
+    protected final static class AnnotationType
+    {
+        /**
+         * Whether type is marked with {@link JacksonAnnotation} or {@link JacksonAnnotationsInside}
+         */
+        final boolean _jackson;
+
+        /**
+         * Names of members, in declaration order
+         */
+        final List<String> _members;
+
+        final Map<String, Object> _defaults;
+
+        AnnotationType(boolean jackson, List<String> members, Map<String, Object> defaults) {
+            _jackson = jackson;
+            _members = members;
+            _defaults = defaults;
+        }
+    }
+
+    /**
+     * Parser for a single class file; not thread-safe.
+     */
+    private final class ClassFile
+    {
+        private final byte[] _buffer;
+
+        private int _ptr;
+
+        /**
+         * Offsets of constant pool entries (after tag byte), by index
+         */
+        private int[] _cpOffsets;
+
+        /**
+         * Lazily decoded UTF-8 constants, by index
+         */
+        private String[] _cpStrings;
+
+        ClassFile(byte[] buffer) {
+            _buffer = buffer;
+        }
+
+        public AnnotationIndex readIndex()
+        {
+            final String className = _readHeader();
+            List<AnnotationIndex.ElementInfo> elements = new ArrayList<>();
+
+            // Fields
+            for (int i = 0, count = _u2(); i < count; ++i) {
+                _skip(2); // access flags
+                final String name = _utf8(_u2());
+                _skip(2); // descriptor
+                for (int j = 0, attrs = _u2(); j < attrs; ++j) {
+                    final String attrName = _utf8(_u2());
+                    final int end = _u4() + _ptr;
+                    if (ATTR_ANNOTATIONS.equals(attrName)) {
+                        _addElement(elements, AnnotationIndex.ElementKind.FIELD, name, null, -1,
+                                _annotations());
+                    }
+                    _ptr = end;
+                }
+            }
+            // Methods, constructors
+            for (int i = 0, count = _u2(); i < count; ++i) {
+                final int access = _u2();
+                final String name = _utf8(_u2());
+                final String desc = _utf8(_u2());
+                final boolean skip = ((access & (ACC_SYNTHETIC | ACC_BRIDGE)) != 0)
+                        || STATIC_INITIALIZER_NAME.equals(name);
+                final AnnotationIndex.ElementKind kind = CONSTRUCTOR_NAME.equals(name)
+                        ? AnnotationIndex.ElementKind.CONSTRUCTOR : AnnotationIndex.ElementKind.METHOD;
+                String[] paramTypes = null;
+                for (int j = 0, attrs = _u2(); j < attrs; ++j) {
+                    final String attrName = _utf8(_u2());
+                    final int end = _u4() + _ptr;
+                    if (!skip) {
+                        if (ATTR_ANNOTATIONS.equals(attrName)) {
+                            if (paramTypes == null) {
+                                paramTypes = _parameterTypes(desc);
+                            }
+                            _addElement(elements, kind, name, paramTypes, -1, _annotations());
+                        } else if (ATTR_PARAMETER_ANNOTATIONS.equals(attrName)) {
+                            if (paramTypes == null) {
+                                paramTypes = _parameterTypes(desc);
+                            }
+                            final int paramCount = _u1();
+                            // synthetic leading parameters may be omitted
+                            final int offset = Math.max(0, paramTypes.length - paramCount);
+                            for (int p = 0; p < paramCount; ++p) {
+                                _addElement(elements, AnnotationIndex.ElementKind.PARAMETER,
+                                        name, paramTypes, offset + p, _annotations());
+                            }
+                        }
+                    }
+                    _ptr = end;
+                }
+            }
+            // Class attributes
+            for (int j = 0, attrs = _u2(); j < attrs; ++j) {
+                final String attrName = _utf8(_u2());
+                final int end = _u4() + _ptr;
+                if (ATTR_ANNOTATIONS.equals(attrName)) {
+                    List<AnnotationIndex.AnnotationInfo> anns = _annotations();
+                    if (!anns.isEmpty()) {
+                        elements.add(0, new AnnotationIndex.ElementInfo(AnnotationIndex.ElementKind.TYPE,
+                                className, null, -1, anns));
+                    }
+                }
+                _ptr = end;
+            }
+            return new AnnotationIndex(className, elements);
+        }
+
+        public AnnotationType readAnnotationType()
+        {
+            _readHeader();
+            // No fields expected for annotation types, but need to skip (constants)
+            for (int i = 0, count = _u2(); i < count; ++i) {
+                _skip(6);
+                _skipAttributes();
+            }
+            List<String> members = new ArrayList<>();
+            Map<String, Object> defaults = new HashMap<>();
+            for (int i = 0, count = _u2(); i < count; ++i) {
+                final int access = _u2();
+                final String name = _utf8(_u2());
+                _skip(2); // descriptor
+                final boolean member = (access & (ACC_STATIC | ACC_SYNTHETIC)) == 0;
+                if (member) {
+                    members.add(name);
+                }
+                for (int j = 0, attrs = _u2(); j < attrs; ++j) {
+                    final String attrName = _utf8(_u2());
+                    final int end = _u4() + _ptr;
+                    if (member && ATTR_ANNOTATION_DEFAULT.equals(attrName)) {
+                        defaults.put(name, _elementValue());
+                    }
+                    _ptr = end;
+                }
+            }
+            boolean jackson = false;
+            for (int j = 0, attrs = _u2(); j < attrs; ++j) {
+                final String attrName = _utf8(_u2());
+                final int end = _u4() + _ptr;
+                if (ATTR_ANNOTATIONS.equals(attrName)) {
+                    // only need to check types of annotations, not values
+                    for (int k = 0, count = _u2(); k < count; ++k) {
+                        final String desc = _utf8(_u2());
+                        if (DESC_JACKSON_ANNOTATION.equals(desc) || DESC_ANNOTATIONS_INSIDE.equals(desc)) {
+                            jackson = true;
+                        }
+                        for (int p = 0, pairs = _u2(); p < pairs; ++p) {
+                            _skip(2);
+                            _skipElementValue();
+                        }
+                    }
+                }
+                _ptr = end;
+            }
+            return new AnnotationType(jackson, members, defaults);
+        }
+
+        /**
+         * @return Name of the class
+         */
+        private String _readHeader()
+        {
+            if (_u4() != CLASS_MAGIC) {
+                throw new IllegalArgumentException("Invalid class file: no magic cookie");
+            }
+            _skip(4); // minor, major version
+            final int cpCount = _u2();
+            _cpOffsets = new int[cpCount];
+            _cpStrings = new String[cpCount];
+            for (int i = 1; i < cpCount; ++i) {
+                final int tag = _u1();
+                _cpOffsets[i] = _ptr;
+                switch (tag) {
+                case CP_UTF8:
+                    _skip(_u2());
+                    break;
+                case CP_CLASS:
+                case CP_STRING:
+                case CP_METHOD_TYPE:
+                case CP_MODULE:
+                case CP_PACKAGE:
+                    _skip(2);
+                    break;
+                case CP_METHOD_HANDLE:
+                    _skip(3);
+                    break;
+                case CP_INTEGER:
+                case CP_FLOAT:
+                case CP_FIELDREF:
+                case CP_METHODREF:
+                case CP_INTERFACE_METHODREF:
+                case CP_NAME_AND_TYPE:
+                case CP_DYNAMIC:
+                case CP_INVOKE_DYNAMIC:
+                    _skip(4);
+                    break;
+                case CP_LONG:
+                case CP_DOUBLE:
+                    _skip(8);
+                    ++i; // takes 2 slots
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid class file: unrecognized constant pool tag "
+                            +tag+" at "+(_ptr-1));
+                }
+            }
+            _skip(2); // access flags
+            final int thisClass = _u2();
+            final String className = _utf8(_u2At(_cpOffsets[thisClass])).replace('/', '.');
+            _skip(2); // super class
+            _skip(2 * _u2()); // interfaces
+            return className;
+        }
+
+        private void _addElement(List<AnnotationIndex.ElementInfo> elements,
+                AnnotationIndex.ElementKind kind, String name, String[] paramTypes, int paramIndex,
+                List<AnnotationIndex.AnnotationInfo> anns)
+        {
+            if (!anns.isEmpty()) {
+                elements.add(new AnnotationIndex.ElementInfo(kind, name, paramTypes, paramIndex, anns));
+            }
+        }
+
+        /**
+         * Method for reading a list of annotations (of an element), retaining
+         * only Jackson annotations
+         */
+        private List<AnnotationIndex.AnnotationInfo> _annotations()
+        {
+            final int count = _u2();
+            List<AnnotationIndex.AnnotationInfo> result = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                final String desc = _utf8(_u2());
+                AnnotationType type = _annotationType(desc);
+                if (type._jackson) {
+                    result.add(_annotation(desc, type));
+                } else {
+                    for (int p = 0, pairs = _u2(); p < pairs; ++p) {
+                        _skip(2);
+                        _skipElementValue();
+                    }
+                }
+            }
+            return result;
+        }
+
+        private AnnotationIndex.AnnotationInfo _annotation(String desc, AnnotationType type)
+        {
+            final int pairs = _u2();
+            Map<String, Object> explicit = new HashMap<>();
+            for (int p = 0; p < pairs; ++p) {
+                final String name = _utf8(_u2());
+                explicit.put(name, _elementValue());
+            }
+            // Members in declaration order, with defaults as necessary
+            Map<String, Object> members = new LinkedHashMap<>();
+            for (String name : type._members) {
+                Object value = explicit.remove(name);
+                if (value == null) {
+                    value = type._defaults.get(name);
+                }
+                if (value != null) {
+                    members.put(name, value);
+                }
+            }
+            // and if type information was not available (or is stale), whatever remains
+            members.putAll(explicit);
+            return new AnnotationIndex.AnnotationInfo(_typeName(desc, 0, desc.length()), members);
+        }
+
+        private Object _elementValue()
+        {
+            final int tag = _u1();
+            switch (tag) {
+            case 'B':
+                return (byte) _intConstant(_u2());
+            case 'C':
+                return (char) _intConstant(_u2());
+            case 'S':
+                return (short) _intConstant(_u2());
+            case 'Z':
+                return _intConstant(_u2()) != 0;
+            case 'I':
+                return _intConstant(_u2());
+            case 'J':
+                return _longConstant(_u2());
+            case 'F':
+                return Float.intBitsToFloat(_intConstant(_u2()));
+            case 'D':
+                return Double.longBitsToDouble(_longConstant(_u2()));
+            case 's':
+                return _utf8(_u2());
+            case 'e':
+                _skip(2); // enum type
+                return _utf8(_u2());
+            case 'c':
+                {
+                    final String desc = _utf8(_u2());
+                    return _typeName(desc, 0, desc.length());
+                }
+            case '@':
+                {
+                    final String desc = _utf8(_u2());
+                    return _annotation(desc, _annotationType(desc));
+                }
+            case '[':
+                {
+                    Object[] values = new Object[_u2()];
+                    for (int i = 0; i < values.length; ++i) {
+                        values[i] = _elementValue();
+                    }
+                    return values;
+                }
+            }
+            throw new IllegalArgumentException("Invalid class file: unrecognized element value tag "
+                    +tag+" at "+(_ptr-1));
+        }
+
+        private void _skipElementValue()
+        {
+            final int tag = _u1();
+            switch (tag) {
+            case 'e':
+                _skip(4);
+                break;
+            case '@':
+                _skip(2);
+                for (int p = 0, pairs = _u2(); p < pairs; ++p) {
+                    _skip(2);
+                    _skipElementValue();
+                }
+                break;
+            case '[':
+                for (int i = 0, count = _u2(); i < count; ++i) {
+                    _skipElementValue();
+                }
+                break;
+            default: // constants, class
+                _skip(2);
+            }
+        }
+
+        private void _skipAttributes() {
+            for (int j = 0, attrs = _u2(); j < attrs; ++j) {
+                _skip(2);
+                _skip(_u4());
+            }
+        }
+
+        private int _intConstant(int index) {
+            return _u4At(_cpOffsets[index]);
+        }
+
+        private long _longConstant(int index) {
+            final int offset = _cpOffsets[index];
+            return ((long) _u4At(offset) << 32) | (_u4At(offset + 4) & 0xFFFFFFFFL);
+        }
+
+        private String _utf8(int index)
+        {
+            String str = _cpStrings[index];
+            if (str == null) {
+                _cpStrings[index] = str = _decodeUtf8(_cpOffsets[index]);
+            }
+            return str;
+        }
+
+        /**
+         * Decoder for "modified UTF-8" used by class files
+         */
+        private String _decodeUtf8(int offset)
+        {
+            final int len = _u2At(offset);
+            final byte[] buf = _buffer;
+            int i = offset + 2;
+            final int end = i + len;
+            char[] chars = new char[len];
+            int count = 0;
+            while (i < end) {
+                int c = buf[i++] & 0xFF;
+                if (c < 0x80) {
+                    chars[count++] = (char) c;
+                } else if ((c & 0xE0) == 0xC0) {
+                    chars[count++] = (char) (((c & 0x1F) << 6) | (buf[i++] & 0x3F));
+                } else {
+                    chars[count++] = (char) (((c & 0x0F) << 12) | ((buf[i++] & 0x3F) << 6)
+                            | (buf[i++] & 0x3F));
+                }
+            }
+            return new String(chars, 0, count);
+        }
+
+        private void _skip(int bytes) {
+            _ptr += bytes;
+        }
+
+        private int _u1() {
+            return _buffer[_ptr++] & 0xFF;
+        }
+
+        private int _u2() {
+            final int value = _u2At(_ptr);
+            _ptr += 2;
+            return value;
+        }
+
+        private int _u4() {
+            final int value = _u4At(_ptr);
+            _ptr += 4;
+            return value;
+        }
+
+        private int _u2At(int offset) {
+            return ((_buffer[offset] & 0xFF) << 8) | (_buffer[offset + 1] & 0xFF);
+        }
+
+        private int _u4At(int offset) {
+            return (_u2At(offset) << 16) | _u2At(offset + 2);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.fasterxml.jackson.annotation;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper class used for sharing compiled (and immutable, thread-safe)
+ * {@link DateTimeFormatter}s by pattern, locale and time zone, so that
+ * {@link JsonFormat.Value}s with identical settings need not compile
+ * their patterns separately.
+ *
+ * @since 2.21
+ */
+final class FormatterCache
+{
+    /**
+     * Maximum number of formatters to cache: above which formatters are
+     * compiled, but not cached.
+     */
+    private final static int MAX_ENTRIES = 500;
+
+    private final static ConcurrentHashMap<Key, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private FormatterCache() { }
+
+    /**
+     * Method for finding formatter for given pattern, locale and (optional) zone.
+     *
+     * @param pattern Pattern as accepted by {@link DateTimeFormatter#ofPattern(String, Locale)}
+     * @param locale Locale to use for formatter; if {@code null}, default
+     *   {@link Locale.Category#FORMAT} locale is used
+     * @param zone Override zone for formatter, if any
+     *
+     * @throws IllegalArgumentException if pattern is not valid
+     */
+    public static DateTimeFormatter formatter(String pattern, Locale locale, ZoneId zone)
+    {
+        if (locale == null) {
+            locale = Locale.getDefault(Locale.Category.FORMAT);
+        }
+        final Key key = new Key(pattern, locale, zone);
+        DateTimeFormatter f = FORMATTERS.get(key);
+        if (f == null) {
+            f = DateTimeFormatter.ofPattern(pattern, locale);
+            if (zone != null) {
+                f = f.withZone(zone);
+            }
+            if (FORMATTERS.size() < MAX_ENTRIES) {
+                DateTimeFormatter old = FORMATTERS.putIfAbsent(key, f);
+                if (old != null) {
+                    f = old;
+                }
+            }
+        }
+        return f;
+    }
+
+    static int size() {
+        return FORMATTERS.size();
+    }
+
+    private final static class Key
+    {
+        private final String _pattern;
+        private final Locale _locale;
+        private final ZoneId _zone;
+        private final int _hash;
+
+        Key(String pattern, Locale locale, ZoneId zone) {
+            _pattern = pattern;
+            _locale = locale;
+            _zone = zone;
+            _hash = Objects.hash(pattern, locale, zone);
+        }
+
+        @Override
+        public int hashCode() { return _hash; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return (_hash == other._hash)
+                    && _pattern.equals(other._pattern)
+                    && _locale.equals(other._locale)
+                    && Objects.equals(_zone, other._zone);
+        }
+    }
+}
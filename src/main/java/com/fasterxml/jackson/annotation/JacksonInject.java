@@ -1,10 +1,14 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Jackson-specific annotation used for indicating that value of
@@ -74,8 +78,56 @@ public @interface JacksonInject
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of caches: only initialized on first use (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            /**
+             * Cache of instances constructed from annotations (see {@link #from}),
+             * keyed by annotation instance identity.
+             */
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+
+            /**
+             * Canonical instances for {@code String} ids: each entry contains
+             * lazily populated instances for combinations of {@code useInput}
+             * and {@code optional}, indexed by {@link Value#_index}.
+             *<p>
+             * Only {@code String} ids are cached since they are safe to retain
+             * (no class loader leaks, stable equality).
+             */
+            final static ConcurrentHashMap<String, Value[]> ID_VALUES = new ConcurrentHashMap<>();
+        }
+
         protected final static Value EMPTY = new Value(null, null, null);
 
+        /**
+         * Canonical instances for all id-less combinations of {@code useInput}
+         * and {@code optional}; indexed by {@link #_index}.
+         *
+         * @since 2.21
+         */
+        private final static Value[] NO_ID_VALUES = new Value[9];
+        static {
+            final Boolean[] states = { null, Boolean.TRUE, Boolean.FALSE };
+            for (Boolean useInput : states) {
+                for (Boolean optional : states) {
+                    NO_ID_VALUES[_index(useInput, optional)] = _empty(null, useInput, optional)
+                            ? EMPTY : new Value(null, useInput, optional);
+                }
+            }
+        }
+
+        /**
+         * Maximum number of distinct ids for which canonical instances are retained;
+         * beyond this new instances are simply constructed as needed.
+         *
+         * @since 2.21
+         */
+        private final static int MAX_CACHED_IDS = 500;
+
         /**
          * Id to use to access injected value; if `null`, "default" name, derived
          * from accessor will be used.
@@ -97,6 +149,32 @@ public @interface JacksonInject
             return JacksonInject.class;
         }
 
+        // for JDK serialization
+        protected Object readResolve() {
+            Value v = _construct(_id, _useInput, _optional);
+            // only replace if it is of same type (sub-classes retained as is)
+            return equals(v) ? v : this;
+        }
+
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            out.writeByte(ValueSerializationProxy.triState(_useInput)
+                    | (ValueSerializationProxy.triState(_optional) << 2));
+            out.writeObject(_id);
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final int flags = in.readUnsignedByte();
+            return _construct(in.readObject(), ValueSerializationProxy.fromTriState(flags & 0x03),
+                    ValueSerializationProxy.fromTriState(flags >> 2));
+        }
+
         /*
         /******************************************************************
         /* Factory methods
@@ -119,17 +197,19 @@ public @interface JacksonInject
             if ("".equals(id)) {
                 id = null;
             }
-            if (_empty(id, useInput, optional)) {
-                return EMPTY;
-            }
-            return new Value(id, useInput, optional);
+            return _construct(id, useInput, optional);
         }
 
         public static Value from(JacksonInject src) {
             if (src == null) {
                 return EMPTY;
             }
-            return construct(src.value(), src.useInput().asBoolean(), src.optional().asBoolean());
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value(),
+                        src.useInput().asBoolean(), src.optional().asBoolean()));
+            }
+            return v;
         }
 
         public static Value forId(Object id) {
@@ -150,7 +230,7 @@ public @interface JacksonInject
             } else if (id.equals(_id)) {
                 return this;
             }
-            return new Value(id, _useInput, _optional);
+            return _construct(id, _useInput, _optional);
         }
 
         public Value withUseInput(Boolean useInput) {
@@ -161,7 +241,7 @@ public @interface JacksonInject
             } else if (useInput.equals(_useInput)) {
                 return this;
             }
-            return new Value(_id, useInput, _optional);
+            return _construct(_id, useInput, _optional);
         }
 
         public Value withOptional(Boolean optional) {
@@ -172,7 +252,7 @@ public @interface JacksonInject
             } else if (optional.equals(_optional)) {
                 return this;
             }
-            return new Value(_id, _useInput, optional);
+            return _construct(_id, _useInput, optional);
         }
 
         /*
@@ -240,6 +320,51 @@ public @interface JacksonInject
         /******************************************************************
          */
 
+        /**
+         * Helper method that returns canonical instance for given settings, if
+         * one is available (or may be retained), or constructs a new one if not.
+         */
+        private static Value _construct(Object id, Boolean useInput, Boolean optional) {
+            final int ix = _index(useInput, optional);
+            if (id == null) {
+                return NO_ID_VALUES[ix];
+            }
+            if (!(id instanceof String)) {
+                return new Value(id, useInput, optional);
+            }
+            final String key = (String) id;
+            Value[] values = Caches.ID_VALUES.get(key);
+            if (values == null) {
+                if (Caches.ID_VALUES.size() >= MAX_CACHED_IDS) {
+                    return new Value(id, useInput, optional);
+                }
+                values = new Value[9];
+                Value[] old = Caches.ID_VALUES.putIfAbsent(key, values);
+                if (old != null) {
+                    values = old;
+                }
+            }
+            // Racy but benign: instances are immutable (all fields final), so worst
+            // case is that a duplicate is created and one of them is retained
+            Value v = values[ix];
+            if (v == null) {
+                v = new Value(key, useInput, optional);
+                values[ix] = v;
+            }
+            return v;
+        }
+
+        private static int _index(Boolean useInput, Boolean optional) {
+            return (3 * _index(useInput)) + _index(optional);
+        }
+
+        private static int _index(Boolean b) {
+            if (b == null) {
+                return 0;
+            }
+            return b.booleanValue() ? 1 : 2;
+        }
+
         private static boolean _empty(Object id, Boolean useInput, Boolean optional) {
             return (id == null) && (useInput == null) && (optional == null);
         }
@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.*;
 
 import java.lang.reflect.Member;
@@ -151,6 +154,17 @@ public @interface JsonAutoDetect
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
         private final static Visibility DEFAULT_FIELD_VISIBILITY = Visibility.PUBLIC_ONLY;
 
         /**
@@ -206,9 +220,13 @@ public @interface JsonAutoDetect
         }
 
         public static Value from(JsonAutoDetect src) {
-            return construct(src.fieldVisibility(),
-                    src.getterVisibility(), src.isGetterVisibility(), src.setterVisibility(),
-                    src.creatorVisibility(), src.scalarConstructorVisibility());
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.fieldVisibility(),
+                        src.getterVisibility(), src.isGetterVisibility(), src.setterVisibility(),
+                        src.creatorVisibility(), src.scalarConstructorVisibility()));
+            }
+            return v;
 
         }
 
@@ -347,6 +365,32 @@ public @interface JsonAutoDetect
             return (v == null) ? this : v;
         }
 
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            ValueSerializationProxy.writeEnum(out, _fieldVisibility);
+            ValueSerializationProxy.writeEnum(out, _getterVisibility);
+            ValueSerializationProxy.writeEnum(out, _isGetterVisibility);
+            ValueSerializationProxy.writeEnum(out, _setterVisibility);
+            ValueSerializationProxy.writeEnum(out, _creatorVisibility);
+            ValueSerializationProxy.writeEnum(out, _scalarConstructorVisibility);
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final Visibility fields = ValueSerializationProxy.readEnum(in, Visibility.class);
+            final Visibility getters = ValueSerializationProxy.readEnum(in, Visibility.class);
+            final Visibility isGetters = ValueSerializationProxy.readEnum(in, Visibility.class);
+            final Visibility setters = ValueSerializationProxy.readEnum(in, Visibility.class);
+            final Visibility creators = ValueSerializationProxy.readEnum(in, Visibility.class);
+            return construct(fields, getters, isGetters, setters, creators,
+                    ValueSerializationProxy.readEnum(in, Visibility.class));
+        }
+
         @Override
         public String toString() {
             return String.format(
@@ -0,0 +1,372 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+import java.util.*;
+
+/**
+ * Annotation that can be used to indicate that {@link java.util.Collection}s
+ * and arrays of POJOs (either ones of annotated property, or, when used on a class,
+ * ones with annotated type as element type) may be serialized in "columnar"
+ * (struct-of-arrays) layout: instead of an array of Objects, each of which
+ * repeats all property names, as an Object with an array of values for each property
+ * ("column"). For example, instead of
+ *<pre>
+ *  [ { "x" : 1, "y" : 2 }, { "x" : 3, "y" : 4 } ]
+ *</pre>
+ * values would be written as
+ *<pre>
+ *  { "x" : [ 1, 3 ], "y" : [ 2, 4 ] }
+ *</pre>
+ * which is more compact, and allows more efficient (including vectorized)
+ * decoding of columns.
+ *<p>
+ * Order of columns may be specified with {@link #order()}; and encoding of
+ * numeric columns (for binary formats) with {@link #columns()}.
+ *<p>
+ * Default value is {@link OptBoolean#TRUE}, that is, columnar layout <b>is enabled</b>.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.TYPE,
+    ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonColumnar
+{
+    /**
+     * Whether columnar layout is to be used: {@link OptBoolean#TRUE}
+     * to enable, {@link OptBoolean#FALSE} to disable (for example to override
+     * annotation on element type), or {@link OptBoolean#DEFAULT} to use defaults.
+     */
+    OptBoolean value() default OptBoolean.TRUE;
+
+    /**
+     * Order of columns (names of properties of elements); columns not
+     * included are written after ones listed, in default property order.
+     */
+    String[] order() default { };
+
+    /**
+     * Encoding hints for individual (numeric) columns.
+     */
+    Column[] columns() default { };
+
+    /**
+     * Definition of encoding hints for a single column: equivalent of
+     * {@link JsonNumberEncoding} for values of the column.
+     */
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Column
+    {
+        /**
+         * Name of the column (property of element type).
+         */
+        String value();
+
+        /**
+         * Encoding to use for integral values of the column.
+         */
+        JsonNumberEncoding.Encoding encoding() default JsonNumberEncoding.Encoding.DEFAULT;
+
+        /**
+         * Whether values of the column should be encoded as differences
+         * from the preceding value.
+         */
+        OptBoolean delta() default OptBoolean.DEFAULT;
+    }
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonColumnar}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonColumnar>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings".
+         */
+        protected final static Value EMPTY = new Value(null, Collections.<String>emptyList(),
+                Collections.<String, JsonNumberEncoding.Value>emptyMap());
+
+        private final Boolean _enabled;
+
+        private final List<String> _order;
+
+        private final Map<String, JsonNumberEncoding.Value> _columnEncodings;
+
+        protected Value(Boolean enabled, List<String> order,
+                Map<String, JsonNumberEncoding.Value> columnEncodings)
+        {
+            _enabled = enabled;
+            _order = order;
+            _columnEncodings = columnEncodings;
+        }
+
+        @Override
+        public Class<JsonColumnar> valueFor() {
+            return JsonColumnar.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_enabled, _order, _columnEncodings)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonColumnar src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                Map<String, JsonNumberEncoding.Value> encodings = new LinkedHashMap<>();
+                for (Column column : src.columns()) {
+                    encodings.put(column.value(), JsonNumberEncoding.Value.construct(column.encoding(),
+                            column.delta().asBoolean()));
+                }
+                v = Caches.FROM.put(src, construct(src.value().asBoolean(),
+                        Arrays.asList(src.order()), encodings));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonColumnar} annotation.
+         *<p>
+         * Column encodings with "empty" settings are dropped.
+         */
+        public static Value construct(Boolean enabled, List<String> order,
+                Map<String, JsonNumberEncoding.Value> columnEncodings)
+        {
+            order = ((order == null) || order.isEmpty()) ? Collections.<String>emptyList()
+                    : Collections.unmodifiableList(new ArrayList<>(order));
+            columnEncodings = _encodings(columnEncodings);
+            if (_empty(enabled, order, columnEncodings)) {
+                return EMPTY;
+            }
+            return new Value(enabled, order, columnEncodings);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is:
+         *<ul>
+         * <li>No explicit enabling or disabling of columnar layout
+         *  </li>
+         * <li>No explicit column order
+         *  </li>
+         * <li>No column encodings
+         *  </li>
+         * </ul>
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is null
+         * or logically missing).
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forEnabled(Boolean enabled) {
+            return construct(enabled, null, null);
+        }
+
+        public static Value forOrder(String... order) {
+            return construct(Boolean.TRUE, Arrays.asList(order), null);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined settings in overrides have precedence over
+         * settings of this value instance: column order of overrides replaces
+         * order of this value (if any is specified), and column encodings are merged
+         * column by column.
+         * If no overrides exist will return <code>this</code> instance; otherwise
+         * new {@link Value} with changed settings.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            Boolean enabled = overrides._enabled;
+            List<String> order = overrides._order;
+            Map<String, JsonNumberEncoding.Value> encodings = _columnEncodings;
+
+            if (enabled == null) {
+                enabled = _enabled;
+            }
+            if (order.isEmpty()) {
+                order = _order;
+            }
+            if (!overrides._columnEncodings.isEmpty()) {
+                encodings = new LinkedHashMap<>(_columnEncodings);
+                for (Map.Entry<String, JsonNumberEncoding.Value> entry : overrides._columnEncodings.entrySet()) {
+                    encodings.put(entry.getKey(),
+                            JsonNumberEncoding.Value.merge(encodings.get(entry.getKey()), entry.getValue()));
+                }
+            }
+            if (Objects.equals(enabled, _enabled) && order.equals(_order)
+                    && encodings.equals(_columnEncodings)) {
+                return this;
+            }
+            return construct(enabled, order, encodings);
+        }
+
+        public Value withEnabled(Boolean enabled) {
+            return Objects.equals(enabled, _enabled) ? this
+                    : construct(enabled, _order, _columnEncodings);
+        }
+
+        public Value withOrder(String... order) {
+            List<String> list = (order == null) ? Collections.<String>emptyList() : Arrays.asList(order);
+            return list.equals(_order) ? this
+                    : construct(_enabled, list, _columnEncodings);
+        }
+
+        /**
+         * Mutant factory method for replacing encoding of given column;
+         * {@code null} (or "empty" encoding) to remove encoding.
+         */
+        public Value withColumnEncoding(String column, JsonNumberEncoding.Value encoding) {
+            if (Objects.equals(encoding, _columnEncodings.get(column))) {
+                return this;
+            }
+            Map<String, JsonNumberEncoding.Value> encodings = new LinkedHashMap<>(_columnEncodings);
+            encodings.put(column, encoding);
+            return construct(_enabled, _order, encodings);
+        }
+
+        /**
+         * @return Whether columnar layout is explicitly enabled ({@code TRUE}) or
+         *    disabled ({@code FALSE}); {@code null} if not specified
+         */
+        public Boolean getEnabled() { return _enabled; }
+
+        /**
+         * @return Order of columns, if specified; empty {@link List} if not
+         */
+        public List<String> getOrder() { return _order; }
+
+        /**
+         * @return Encodings of columns that have one, by column name
+         */
+        public Map<String, JsonNumberEncoding.Value> getColumnEncodings() {
+            return _columnEncodings;
+        }
+
+        /**
+         * @return Encoding of given column, if specified;
+         *    {@link JsonNumberEncoding.Value#empty()} if not (never {@code null})
+         */
+        public JsonNumberEncoding.Value findColumnEncoding(String column) {
+            JsonNumberEncoding.Value v = _columnEncodings.get(column);
+            return (v == null) ? JsonNumberEncoding.Value.empty() : v;
+        }
+
+        /**
+         * Convenience method equivalent to
+         *<pre>
+         *   Boolean.TRUE.equals(getEnabled())
+         *</pre>
+         */
+        public boolean isEnabled() {
+            return Boolean.TRUE.equals(_enabled);
+        }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonColumnar.Value(enabled=%s,order=%s,columnEncodings=%s)",
+                    _enabled, _order, _columnEncodings);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = (_enabled == null) ? 1 : (_enabled.booleanValue() ? 3 : 7);
+            return h + 31 * (_order.hashCode() + 31 * _columnEncodings.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return Objects.equals(other._enabled, _enabled)
+                        && other._order.equals(_order)
+                        && other._columnEncodings.equals(_columnEncodings);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static Map<String, JsonNumberEncoding.Value> _encodings(
+                Map<String, JsonNumberEncoding.Value> encodings)
+        {
+            if ((encodings == null) || encodings.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, JsonNumberEncoding.Value> result = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonNumberEncoding.Value> entry : encodings.entrySet()) {
+                JsonNumberEncoding.Value v = entry.getValue();
+                if ((v != null) && !v.equals(JsonNumberEncoding.Value.empty())) {
+                    result.put(entry.getKey(), v);
+                }
+            }
+            return result.isEmpty() ? Collections.<String, JsonNumberEncoding.Value>emptyMap()
+                    : Collections.unmodifiableMap(result);
+        }
+
+        private static boolean _empty(Boolean enabled, List<String> order,
+                Map<String, JsonNumberEncoding.Value> columnEncodings)
+        {
+            return (enabled == null) && order.isEmpty() && columnEncodings.isEmpty();
+        }
+    }
+}
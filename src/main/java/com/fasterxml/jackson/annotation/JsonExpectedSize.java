@@ -0,0 +1,285 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation that can be used to indicate expected (typical) size of property
+ * values, to allow deserializers (and format backends) to presize containers
+ * and buffers, to avoid repeated resizing (copying of {@link java.util.ArrayList}
+ * contents, rehashing of {@link java.util.HashMap}s) when binding large values.
+ *<p>
+ * Meaning of "size" depends on type of value: for {@link java.util.Collection}s
+ * and arrays it is number of elements; for {@link java.util.Map}s number of entries;
+ * for {@link java.lang.String}s number of characters and for {@code byte[]} number
+ * of bytes.
+ *<p>
+ * Sizes are only hints: handlers may ignore them, and values may be of any size.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonExpectedSize
+{
+    /**
+     * Marker value used to indicate that size is not specified.
+     */
+    public final static int SIZE_UNKNOWN = -1;
+
+    /**
+     * Expected size of the property value itself; {@link #SIZE_UNKNOWN} if not specified.
+     */
+    int value() default SIZE_UNKNOWN;
+
+    /**
+     * Expected size of content values of the property value (like elements
+     * of a {@link java.util.List} of {@link java.util.List}s, or values of
+     * a {@link java.util.Map}); {@link #SIZE_UNKNOWN} if not specified.
+     */
+    int content() default SIZE_UNKNOWN;
+
+    /**
+     * Expected size of keys of a {@link java.util.Map} valued property
+     * (like length of {@link java.lang.String} keys); {@link #SIZE_UNKNOWN}
+     * if not specified.
+     */
+    int key() default SIZE_UNKNOWN;
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonExpectedSize}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonExpectedSize>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings".
+         */
+        protected final static Value EMPTY = new Value(SIZE_UNKNOWN, SIZE_UNKNOWN, SIZE_UNKNOWN);
+
+        private final int _valueSize;
+
+        private final int _contentSize;
+
+        private final int _keySize;
+
+        protected Value(int valueSize, int contentSize, int keySize) {
+            _valueSize = valueSize;
+            _contentSize = contentSize;
+            _keySize = keySize;
+        }
+
+        @Override
+        public Class<JsonExpectedSize> valueFor() {
+            return JsonExpectedSize.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_valueSize, _contentSize, _keySize)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonExpectedSize src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value(), src.content(), src.key()));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonExpectedSize} annotation.
+         *<p>
+         * Negative sizes are taken to mean {@link JsonExpectedSize#SIZE_UNKNOWN}.
+         */
+        public static Value construct(int valueSize, int contentSize, int keySize) {
+            valueSize = _size(valueSize);
+            contentSize = _size(contentSize);
+            keySize = _size(keySize);
+            if (_empty(valueSize, contentSize, keySize)) {
+                return EMPTY;
+            }
+            return new Value(valueSize, contentSize, keySize);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is,
+         * no expected sizes specified.
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is
+         * {@link JsonExpectedSize#SIZE_UNKNOWN}).
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forValueSize(int size) {
+            return construct(size, SIZE_UNKNOWN, SIZE_UNKNOWN);
+        }
+
+        public static Value forContentSize(int size) {
+            return construct(SIZE_UNKNOWN, size, SIZE_UNKNOWN);
+        }
+
+        public static Value forKeySize(int size) {
+            return construct(SIZE_UNKNOWN, SIZE_UNKNOWN, size);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined size in overrides has precedence over
+         * settings of this value instance. If no overrides exist will return <code>this</code>
+         * instance; otherwise new {@link Value} with changed sizes.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            int valueSize = overrides._valueSize;
+            int contentSize = overrides._contentSize;
+            int keySize = overrides._keySize;
+
+            if (valueSize == SIZE_UNKNOWN) {
+                valueSize = _valueSize;
+            }
+            if (contentSize == SIZE_UNKNOWN) {
+                contentSize = _contentSize;
+            }
+            if (keySize == SIZE_UNKNOWN) {
+                keySize = _keySize;
+            }
+            if ((valueSize == _valueSize) && (contentSize == _contentSize)
+                    && (keySize == _keySize)) {
+                return this;
+            }
+            return construct(valueSize, contentSize, keySize);
+        }
+
+        public Value withValueSize(int size) {
+            size = _size(size);
+            return (size == _valueSize) ? this : construct(size, _contentSize, _keySize);
+        }
+
+        public Value withContentSize(int size) {
+            size = _size(size);
+            return (size == _contentSize) ? this : construct(_valueSize, size, _keySize);
+        }
+
+        public Value withKeySize(int size) {
+            size = _size(size);
+            return (size == _keySize) ? this : construct(_valueSize, _contentSize, size);
+        }
+
+        /**
+         * @return Expected size of the value, if specified;
+         *    {@link JsonExpectedSize#SIZE_UNKNOWN} if not
+         */
+        public int getValueSize() { return _valueSize; }
+
+        /**
+         * @return Expected size of content values, if specified;
+         *    {@link JsonExpectedSize#SIZE_UNKNOWN} if not
+         */
+        public int getContentSize() { return _contentSize; }
+
+        /**
+         * @return Expected size of keys, if specified;
+         *    {@link JsonExpectedSize#SIZE_UNKNOWN} if not
+         */
+        public int getKeySize() { return _keySize; }
+
+        public boolean hasValueSize() { return _valueSize != SIZE_UNKNOWN; }
+
+        public boolean hasContentSize() { return _contentSize != SIZE_UNKNOWN; }
+
+        public boolean hasKeySize() { return _keySize != SIZE_UNKNOWN; }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonExpectedSize.Value(value=%d,content=%d,key=%d)",
+                    _valueSize, _contentSize, _keySize);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (_valueSize + 3) + _contentSize) + _keySize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return (other._valueSize == _valueSize)
+                        && (other._contentSize == _contentSize)
+                        && (other._keySize == _keySize);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static int _size(int size) {
+            return (size < 0) ? SIZE_UNKNOWN : size;
+        }
+
+        private static boolean _empty(int valueSize, int contentSize, int keySize) {
+            return (valueSize == SIZE_UNKNOWN)
+                    && (contentSize == SIZE_UNKNOWN)
+                    && (keySize == SIZE_UNKNOWN);
+        }
+    }
+}
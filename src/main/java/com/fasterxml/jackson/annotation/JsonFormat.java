@@ -1,6 +1,12 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.*;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.TimeZone;
@@ -203,54 +209,54 @@ public @interface JsonFormat
          *
          * @since 2.10
          */
-        BINARY,
+        BINARY(Shape.CATEGORY_SCALAR),
 
         /**
          * Value that indicates that (JSON) boolean type
          * (true, false) should be used.
          */
-        BOOLEAN,
+        BOOLEAN(Shape.CATEGORY_SCALAR),
 
         /**
          * Value that indicates that a numeric (JSON) type should be used
          * (but does not specify whether integer or floating-point representation
          * should be used)
          */
-        NUMBER,
+        NUMBER(Shape.CATEGORY_NUMERIC | Shape.CATEGORY_SCALAR),
 
         /**
          * Value that indicates that floating-point numeric type should be used
          */
-        NUMBER_FLOAT,
+        NUMBER_FLOAT(Shape.CATEGORY_NUMERIC | Shape.CATEGORY_FLOATING | Shape.CATEGORY_SCALAR),
 
         /**
          * Value that indicates that integer number type should be used
          * (and not {@link #NUMBER_FLOAT}).
          */
-        NUMBER_INT,
+        NUMBER_INT(Shape.CATEGORY_NUMERIC | Shape.CATEGORY_INTEGRAL | Shape.CATEGORY_SCALAR),
 
         /**
          * Value that indicates that (JSON) String type should be used.
          */
-        STRING,
+        STRING(Shape.CATEGORY_TEXTUAL | Shape.CATEGORY_SCALAR),
 
         /**
          * Value that indicates shape should not be structural (that is, not
          * {@link #ARRAY} or {@link #OBJECT}), but can be any other shape.
          */
-        SCALAR,
+        SCALAR(Shape.CATEGORY_SCALAR),
 
         // // // Concrete physical shapes, structured
 
         /**
          * Value that indicates that (JSON) Array type should be used.
          */
-        ARRAY,
+        ARRAY(Shape.CATEGORY_STRUCTURED),
 
         /**
          * Value that indicates that (JSON) Object type should be used.
          */
-        OBJECT,
+        OBJECT(Shape.CATEGORY_STRUCTURED),
 
         // // // Additional logical meta-types
 
@@ -260,7 +266,7 @@ public @interface JsonFormat
          * Note that this is different from {@link Shape#NATURAL}, which
          * specifically instructs use of the "natural" shape for datatype.
          */
-        ANY,
+        ANY(0),
 
         /**
          * Marker enum value that indicates the "default" choice for given datatype;
@@ -271,7 +277,7 @@ public @interface JsonFormat
          *
          * @since 2.8
          */
-        NATURAL,
+        NATURAL(Shape.CATEGORY_NATURAL),
 
         /**
          * Marker enum value that indicates not only shape of {@link #OBJECT} but further
@@ -280,12 +286,98 @@ public @interface JsonFormat
          *
          * @since 2.20
          */
-        POJO,
+        POJO(Shape.CATEGORY_STRUCTURED),
 
         ;
 
+        /**
+         * Category bit for numeric shapes ({@link #NUMBER}, {@link #NUMBER_INT},
+         * {@link #NUMBER_FLOAT})
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_NUMERIC = 0x01;
+
+        /**
+         * Category bit for integral numeric shapes ({@link #NUMBER_INT})
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_INTEGRAL = 0x02;
+
+        /**
+         * Category bit for floating-point numeric shapes ({@link #NUMBER_FLOAT})
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_FLOATING = 0x04;
+
+        /**
+         * Category bit for textual shapes ({@link #STRING})
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_TEXTUAL = 0x08;
+
+        /**
+         * Category bit for structured shapes ({@link #ARRAY}, {@link #OBJECT}, {@link #POJO})
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_STRUCTURED = 0x10;
+
+        /**
+         * Category bit for scalar shapes: all concrete non-structured shapes,
+         * as well as {@link #SCALAR}
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_SCALAR = 0x20;
+
+        /**
+         * Category bit for {@link #NATURAL}
+         *
+         * @since 2.21
+         */
+        public final static int CATEGORY_NATURAL = 0x40;
+
+        private final int _categories;
+
+        private Shape(int categories) {
+            _categories = categories;
+        }
+
+        /**
+         * @return Bit set of {@code CATEGORY_xxx} bits for this shape
+         *
+         * @since 2.21
+         */
+        public int getCategories() {
+            return _categories;
+        }
+
+        /**
+         * @return True if this shape has any of categories in given
+         *    bit set of {@code CATEGORY_xxx} bits
+         *
+         * @since 2.21
+         */
+        public boolean hasCategory(int categoryMask) {
+            return (_categories & categoryMask) != 0;
+        }
+
+        /**
+         * @return Bit set of {@code CATEGORY_xxx} bits for given shape, if any;
+         *    0 for {@code null}
+         *
+         * @since 2.21
+         */
+        public static int categoriesOf(Shape shapeOrNull) {
+            return (shapeOrNull == null) ? 0 : shapeOrNull._categories;
+        }
+
         public boolean isNumeric() {
-            return (this == NUMBER) || (this == NUMBER_INT) || (this == NUMBER_FLOAT);
+            return (_categories & CATEGORY_NUMERIC) != 0;
         }
 
         /** @since 2.20 */
@@ -294,7 +386,7 @@ public @interface JsonFormat
         }
 
         public boolean isStructured() {
-            return (this == OBJECT) || (this == ARRAY) || (this == POJO);
+            return (_categories & CATEGORY_STRUCTURED) != 0;
         }
 
         /** @since 2.20 */
@@ -411,6 +503,28 @@ public @interface JsonFormat
          * @since 2.8
          */
         ADJUST_DATES_TO_CONTEXT_TIME_ZONE
+        ;
+
+        private final int _mask;
+
+        private Feature() {
+            _mask = (1 << ordinal());
+        }
+
+        /**
+         * @return Bit mask of this feature within feature bit sets
+         *   (like {@link ResolvedFeatures#enabledMask()})
+         *
+         * @since 2.21
+         */
+        public int getMask() { return _mask; }
+
+        /**
+         * @return True if this feature is included in given feature bit set
+         *
+         * @since 2.21
+         */
+        public boolean enabledIn(int flags) { return (flags & _mask) != 0; }
     }
 
     /**
@@ -428,6 +542,30 @@ public @interface JsonFormat
 
         private final static Features EMPTY = new Features(0, 0);
 
+        /**
+         * Stable table of features used by compact serialization form: bit N of
+         * serialized masks refers to N'th entry, regardless of ordinals of
+         * {@link Feature}s.
+         *<p>
+         * NOTE: entries must never be removed or reordered; new features are to be
+         * appended at the end.
+         *
+         * @since 2.21
+         */
+        final static Feature[] SERIALIZED_FEATURES = {
+            Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY,
+            Feature.ACCEPT_CASE_INSENSITIVE_PROPERTIES,
+            Feature.READ_UNKNOWN_ENUM_VALUES_AS_NULL,
+            Feature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE,
+            Feature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS,
+            Feature.ACCEPT_CASE_INSENSITIVE_VALUES,
+            Feature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+            Feature.WRITE_DATES_WITH_ZONE_ID,
+            Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED,
+            Feature.WRITE_SORTED_MAP_ENTRIES,
+            Feature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE
+        };
+
         private Features(int e, int d) {
             _enabled = e;
             _disabled = d;
@@ -454,6 +592,50 @@ public @interface JsonFormat
             return new Features(e, d);
         }
 
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Features.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        // Features written as bit masks keyed by `SERIALIZED_FEATURES` (not by ordinals)
+        void _writeCompact(ObjectOutput out) throws IOException {
+            out.writeInt(_toSerialized(_enabled));
+            out.writeInt(_toSerialized(_disabled));
+        }
+
+        static Features _readCompact(ObjectInput in) throws IOException {
+            final int enabled = _fromSerialized(in.readInt());
+            return _construct(enabled, _fromSerialized(in.readInt()));
+        }
+
+        private static int _toSerialized(int mask) {
+            int result = 0;
+            for (int i = 0; i < SERIALIZED_FEATURES.length; ++i) {
+                if (SERIALIZED_FEATURES[i].enabledIn(mask)) {
+                    result |= (1 << i);
+                }
+            }
+            return result;
+        }
+
+        private static int _fromSerialized(int serialized) throws IOException {
+            if ((serialized >>> SERIALIZED_FEATURES.length) != 0) { // from a later version?
+                throw new InvalidObjectException("Unknown JsonFormat.Feature(s) in serialized mask 0x"
+                        +Integer.toHexString(serialized));
+            }
+            int mask = 0;
+            for (int i = 0; i < SERIALIZED_FEATURES.length; ++i) {
+                if ((serialized & (1 << i)) != 0) {
+                    mask |= SERIALIZED_FEATURES[i].getMask();
+                }
+            }
+            return mask;
+        }
+
+        static Features _construct(int enabled, int disabled) {
+            return ((enabled | disabled) == 0) ? EMPTY : new Features(enabled, disabled);
+        }
+
         public Features withOverrides(Features overrides) {
             // Cheap checks first: maybe one is empty?
             if (overrides == null) {
@@ -495,6 +677,30 @@ public @interface JsonFormat
             return (d == _disabled) ? this : new Features(_enabled, d);
         }
 
+        /**
+         * Method for resolving explicit settings of this instance against given
+         * default settings (bit set of {@link Feature#getMask()}s of features
+         * enabled by default), resulting in fully resolved on/off state of
+         * all features.
+         *
+         * @param defaults Bit set of features enabled by default
+         *
+         * @since 2.21
+         */
+        public ResolvedFeatures resolve(int defaults) {
+            return ResolvedFeatures.construct((defaults & ~_disabled) | _enabled);
+        }
+
+        /**
+         * Method for resolving explicit settings of this instance against given
+         * default settings.
+         *
+         * @since 2.21
+         */
+        public ResolvedFeatures resolve(ResolvedFeatures defaults) {
+            return resolve(defaults.enabledMask());
+        }
+
         public Boolean get(Feature f) {
             int mask = (1 << f.ordinal());
             if ((_disabled & mask) != 0) {
@@ -529,6 +735,346 @@ public @interface JsonFormat
         }
     }
 
+    /**
+     * Fully resolved on/off state of all {@link Feature}s, constructed by resolving
+     * {@link Features} (explicit overrides) against default settings
+     * (see {@link Features#resolve(int)}), so that checks need not deal with
+     * tri-state values and defaults: each check is a single bit test.
+     *
+     * @since 2.21
+     */
+    public static final class ResolvedFeatures
+    {
+        private final static int ALL_MASK = (1 << Feature.values().length) - 1;
+
+        private final static ResolvedFeatures NONE = new ResolvedFeatures(0);
+
+        private final int _enabled;
+
+        private ResolvedFeatures(int enabled) {
+            _enabled = enabled;
+        }
+
+        /**
+         * @return Instance with all features disabled
+         */
+        public static ResolvedFeatures none() {
+            return NONE;
+        }
+
+        /**
+         * Factory method for constructing instance with specified set of features
+         * enabled (and the rest disabled).
+         *
+         * @param enabled Bit set of {@link Feature#getMask()}s of features to enable;
+         *    bits of non-existing features are ignored
+         */
+        public static ResolvedFeatures construct(int enabled) {
+            enabled &= ALL_MASK;
+            return (enabled == 0) ? NONE : new ResolvedFeatures(enabled);
+        }
+
+        /**
+         * Factory method for constructing instance with specified features
+         * enabled (and the rest disabled).
+         */
+        public static ResolvedFeatures construct(Feature... enabled) {
+            int e = 0;
+            for (Feature f : enabled) {
+                e |= f.getMask();
+            }
+            return construct(e);
+        }
+
+        public boolean isEnabled(Feature f) {
+            return (_enabled & f.getMask()) != 0;
+        }
+
+        /**
+         * @return Bit set of {@link Feature#getMask()}s of enabled features
+         */
+        public int enabledMask() {
+            return _enabled;
+        }
+
+        /**
+         * @return Bit set of {@link Feature#getMask()}s of disabled features
+         */
+        public int disabledMask() {
+            return ~_enabled & ALL_MASK;
+        }
+
+        /**
+         * Method for applying given explicit overrides on top of this state.
+         */
+        public ResolvedFeatures withOverrides(Features overrides) {
+            if (overrides == null) {
+                return this;
+            }
+            ResolvedFeatures result = overrides.resolve(_enabled);
+            return (result._enabled == _enabled) ? this : result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("(enabled=0x%x)", _enabled);
+        }
+
+        @Override
+        public int hashCode() {
+            return _enabled;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() != getClass()) return false;
+            return ((ResolvedFeatures) o)._enabled == _enabled;
+        }
+    }
+
+    /**
+     * Result of analyzing a date/time pattern (see {@link Value#getPattern()}), to
+     * allow callers to select specialized (and possibly allocation-free) formatting
+     * for common patterns without re-parsing pattern themselves.
+     * Patterns are analyzed using only pattern letters that have the same meaning in
+     * {@link java.text.SimpleDateFormat} and {@link java.time.format.DateTimeFormatter};
+     * patterns with other letters (like {@code u}, year in {@code DateTimeFormatter} but
+     * day-of-week number in {@code SimpleDateFormat}), or optional sections, are classified
+     * as {@link Kind#CUSTOM}.
+     *<p>
+     * NOTE: fixed output lengths assume 4-digit years. Fractions of second
+     * ({@code S}) only have fixed length as {@code SSS}, the only form for which
+     * milliseconds of {@code SimpleDateFormat} and fraction of
+     * {@code DateTimeFormatter} have the same output.
+     *
+     * @since 2.21
+     */
+    public static final class PatternInfo
+    {
+        /**
+         * Classification of patterns
+         */
+        public enum Kind {
+            /**
+             * No pattern specified
+             */
+            NONE,
+
+            /**
+             * ISO-8601 layout ({@code yyyy-MM-dd}, optionally followed by
+             * {@code 'T'HH:mm}, seconds, fractions of second and offset)
+             */
+            ISO_8601,
+
+            /**
+             * Non-ISO layout that only has numeric fields and literal text
+             * (like {@code dd.MM.yyyy} or {@code yyyyMMddHHmmss})
+             */
+            NUMERIC,
+
+            /**
+             * Layout with locale-dependent textual fields (like month or
+             * day-of-week names, or am/pm markers)
+             */
+            TEXTUAL,
+
+            /**
+             * Layout with fields (or constructs) not classified
+             */
+            CUSTOM
+        }
+
+        private final static PatternInfo NO_PATTERN = new PatternInfo("", Kind.NONE, 0, false, false);
+
+        private final static java.util.regex.Pattern ISO_8601_PATTERN = java.util.regex.Pattern.compile(
+                "yyyy-MM-dd('T'HH:mm(:ss(\\.SSS)?)?(X{1,3}|x{2,3}|Z{1,3}|'Z')?)?");
+
+        private final String _pattern;
+        private final Kind _kind;
+        private final int _fixedLength;
+        private final boolean _requiresLocale;
+        private final boolean _requiresZone;
+
+        private PatternInfo(String pattern, Kind kind, int fixedLength,
+                boolean requiresLocale, boolean requiresZone)
+        {
+            _pattern = pattern;
+            _kind = kind;
+            _fixedLength = fixedLength;
+            _requiresLocale = requiresLocale;
+            _requiresZone = requiresZone;
+        }
+
+        /**
+         * Factory method for analyzing given pattern. Note that validity of pattern is
+         * not fully verified: invalid patterns are classified as {@link Kind#CUSTOM}
+         * if they can not be analyzed.
+         */
+        public static PatternInfo analyze(String pattern)
+        {
+            if (pattern == null || pattern.isEmpty()) {
+                return NO_PATTERN;
+            }
+            final int end = pattern.length();
+            boolean custom = false, textual = false, zone = false;
+            boolean fixed = true;
+            int length = 0;
+            int i = 0;
+
+            while (i < end) {
+                char c = pattern.charAt(i);
+                if (c == '\'') { // quoted literal; '' for single quote
+                    int j = i+1;
+                    if (j < end && pattern.charAt(j) == '\'') {
+                        ++length;
+                        i = j+1;
+                        continue;
+                    }
+                    boolean closed = false;
+                    for (; j < end; ++j) {
+                        if (pattern.charAt(j) == '\'') {
+                            if (j+1 < end && pattern.charAt(j+1) == '\'') {
+                                ++length;
+                                ++j;
+                                continue;
+                            }
+                            closed = true;
+                            break;
+                        }
+                        ++length;
+                    }
+                    if (!closed) {
+                        custom = true;
+                    }
+                    i = j+1;
+                    continue;
+                }
+                if ((c < 'A' || c > 'Z') && (c < 'a' || c > 'z')) {
+                    // reserved by DateTimeFormatter (optional sections and such)
+                    if ("[]{}#".indexOf(c) >= 0) {
+                        custom = true;
+                    }
+                    ++length;
+                    ++i;
+                    continue;
+                }
+                int j = i+1;
+                while (j < end && pattern.charAt(j) == c) {
+                    ++j;
+                }
+                final int count = j - i;
+                i = j;
+                int width = -1;
+                switch (c) {
+                case 'y':
+                    if (count == 2 || count == 4) {
+                        width = count;
+                    }
+                    break;
+                case 'M':
+                    if (count >= 3) {
+                        textual = true;
+                    } else if (count == 2) {
+                        width = 2;
+                    }
+                    break;
+                case 'd': case 'H': case 'h': case 'k': case 'K': case 'm': case 's':
+                    if (count >= 2) {
+                        width = count;
+                    }
+                    break;
+                case 'S':
+                    if (count == 3) {
+                        width = 3;
+                    }
+                    break;
+                case 'D':
+                    if (count >= 3) {
+                        width = count;
+                    }
+                    break;
+                case 'E': case 'a': case 'G':
+                    textual = true;
+                    break;
+                case 'z':
+                    textual = true;
+                    zone = true;
+                    break;
+                case 'Z':
+                    zone = true;
+                    if (count <= 3) {
+                        width = 5;
+                    } else {
+                        textual = (count == 4);
+                    }
+                    break;
+                case 'x':
+                    zone = true;
+                    if (count == 2 || count == 4) {
+                        width = 5;
+                    } else if (count == 3 || count == 5) {
+                        width = 6;
+                    }
+                    break;
+                case 'X': case 'V': case 'O':
+                    zone = true;
+                    break;
+                default:
+                    custom = true;
+                }
+                if (width < 0) {
+                    fixed = false;
+                } else {
+                    length += width;
+                }
+            }
+            // fixed length not meaningful unless all fields known
+            if (custom) {
+                return new PatternInfo(pattern, Kind.CUSTOM, -1, textual, zone);
+            }
+            final Kind kind;
+            if (textual) {
+                kind = Kind.TEXTUAL;
+            } else if (ISO_8601_PATTERN.matcher(pattern).matches()) {
+                kind = Kind.ISO_8601;
+            } else {
+                kind = Kind.NUMERIC;
+            }
+            return new PatternInfo(pattern, kind, fixed ? length : -1, textual, zone);
+        }
+
+        public String getPattern() { return _pattern; }
+
+        public Kind getKind() { return _kind; }
+
+        /**
+         * @return Length of formatted output, if fixed; {@code -1} if output length
+         *   may vary (or is not known)
+         */
+        public int getFixedLength() { return _fixedLength; }
+
+        public boolean hasFixedLength() { return _fixedLength >= 0; }
+
+        /**
+         * @return True if pattern has textual fields whose output depends on locale
+         */
+        public boolean requiresLocale() { return _requiresLocale; }
+
+        /**
+         * @return True if pattern has time zone (or offset) fields, and thereby
+         *   requires a zone for formatting
+         */
+        public boolean requiresZone() { return _requiresZone; }
+
+        @Override
+        public String toString() {
+            return String.format("PatternInfo(%s,kind=%s,length=%d,locale=%s,zone=%s)",
+                    _pattern, _kind, _fixedLength, _requiresLocale, _requiresZone);
+        }
+    }
+
     /**
      * Helper class used to contain information from a single {@link JsonFormat}
      * annotation.
@@ -539,6 +1085,17 @@ public @interface JsonFormat
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
         private final static Value EMPTY = new Value();
 
         private final String _pattern;
@@ -565,6 +1122,15 @@ public @interface JsonFormat
         // lazily constructed when created from annotations
         private transient TimeZone _timezone;
 
+        // lazily constructed on first access
+        private transient ZoneId _zoneId;
+
+        // lazily constructed on first access
+        private transient DateTimeFormatter _formatter;
+
+        // lazily constructed on first access
+        private transient PatternInfo _patternInfo;
+
         public Value() {
             this("", Shape.ANY, "", "", Features.empty(), null, DEFAULT_RADIX);
         }
@@ -582,7 +1148,7 @@ public @interface JsonFormat
         {
             this(p, sh,
                     (localeStr == null || localeStr.length() == 0 || DEFAULT_LOCALE.equals(localeStr)) ?
-                            null : new Locale(localeStr),
+                            null : LocaleCache.locale(localeStr),
                     (tzStr == null || tzStr.length() == 0 || DEFAULT_TIMEZONE.equals(tzStr)) ?
                             null : tzStr,
                     null, f, lenient, radix);
@@ -597,7 +1163,7 @@ public @interface JsonFormat
         {
             this(p, sh,
                     (localeStr == null || localeStr.length() == 0 || DEFAULT_LOCALE.equals(localeStr)) ?
-                            null : new Locale(localeStr),
+                            null : LocaleCache.locale(localeStr),
                     (tzStr == null || tzStr.length() == 0 || DEFAULT_TIMEZONE.equals(tzStr)) ?
                             null : tzStr,
                     null, f, lenient);
@@ -662,6 +1228,55 @@ public @interface JsonFormat
             this(p, sh, l, tzStr, tz, f, lenient, DEFAULT_RADIX);
         }
 
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            final boolean hasFeatures = (_features._enabled | _features._disabled) != 0;
+            final boolean hasRadix = (_radix != DEFAULT_RADIX);
+            ValueSerializationProxy.writeEnum(out, _shape);
+            out.writeByte(ValueSerializationProxy.triState(_lenient)
+                    | ((_locale == null) ? 0 : 0x04)
+                    | ((_timezone == null) ? 0 : 0x08)
+                    | (hasFeatures ? 0x10 : 0)
+                    | (hasRadix ? 0x20 : 0));
+            out.writeObject(_pattern);
+            out.writeObject(_timezoneStr);
+            if (_locale != null) {
+                out.writeObject(_locale);
+            }
+            // unlike with default serialization, retain resolved TimeZone as well
+            if (_timezone != null) {
+                out.writeObject(_timezone.getID());
+            }
+            if (hasFeatures) {
+                _features._writeCompact(out);
+            }
+            if (hasRadix) {
+                out.writeInt(_radix);
+            }
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final Shape shape = ValueSerializationProxy.readEnum(in, Shape.class);
+            final int flags = in.readUnsignedByte();
+            final String pattern = (String) in.readObject();
+            final String tzStr = (String) in.readObject();
+            final Locale locale = ((flags & 0x04) == 0) ? null : (Locale) in.readObject();
+            final TimeZone tz = ((flags & 0x08) == 0) ? null
+                    : ZoneCache.timeZone((String) in.readObject());
+            final Features features = ((flags & 0x10) == 0) ? Features.empty()
+                    : Features._readCompact(in);
+            final int radix = ((flags & 0x20) == 0) ? DEFAULT_RADIX : in.readInt();
+            Value v = new Value(pattern, shape, locale, tzStr, tz, features,
+                    ValueSerializationProxy.fromTriState(flags & 0x03), radix);
+            return v.equals(EMPTY) ? EMPTY : v;
+        }
+
         /**
          * @since 2.7
          */
@@ -704,7 +1319,14 @@ public @interface JsonFormat
          * @since 2.7
          */
         public final static Value from(JsonFormat ann) {
-            return (ann == null) ? EMPTY : new Value(ann);
+            if (ann == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(ann);
+            if (v == null) {
+                v = Caches.FROM.put(ann, new Value(ann));
+            }
+            return v;
         }
 
         /**
@@ -919,18 +1541,93 @@ public @interface JsonFormat
             return _timezoneStr;
         }
 
+        /**
+         * Accessor for {@link TimeZone} of this value, if any: either instance
+         * value was constructed with, or one resolved (once) from time zone id.
+         *
+         * @return Time zone if specified; {@code null} if not
+         */
         public TimeZone getTimeZone() {
             TimeZone tz = _timezone;
             if (tz == null) {
                 if (_timezoneStr == null) {
                     return null;
                 }
-                tz = TimeZone.getTimeZone(_timezoneStr);
+                tz = ZoneCache.timeZone(_timezoneStr);
                 _timezone = tz;
             }
             return tz;
         }
 
+        /**
+         * Accessor for {@link ZoneId} equivalent of {@link #getTimeZone()}: resolved
+         * using a shared cache, so that the same id is only parsed once.
+         *
+         * @return Zone id if time zone specified; {@code null} if not
+         *
+         * @since 2.21
+         */
+        public ZoneId getZoneId() {
+            ZoneId zone = _zoneId;
+            if (zone == null) {
+                if (_timezoneStr != null) {
+                    zone = ZoneCache.zoneId(_timezoneStr);
+                } else if (_timezone != null) {
+                    zone = _timezone.toZoneId();
+                } else {
+                    return null;
+                }
+                _zoneId = zone;
+            }
+            return zone;
+        }
+
+        /**
+         * Accessor for compiled {@link DateTimeFormatter} for pattern of this value,
+         * using locale (if any; default locale if not) and time zone (if any) of the value.
+         * Formatters are immutable and thread-safe, and shared by all values with
+         * identical settings.
+         *
+         * @return Formatter for pattern, if value has one; {@code null} if not
+         *
+         * @throws IllegalArgumentException if pattern is not a valid
+         *    {@link DateTimeFormatter} pattern
+         *
+         * @since 2.21
+         */
+        public DateTimeFormatter getDateTimeFormatter() {
+            DateTimeFormatter f = _formatter;
+            if (f == null) {
+                if (!hasPattern()) {
+                    return null;
+                }
+                f = FormatterCache.formatter(_pattern, _locale, getZoneId());
+                // only cache if using explicit locale: default may change
+                if (_locale != null) {
+                    _formatter = f;
+                }
+            }
+            return f;
+        }
+
+        /**
+         * Accessor for analyzed information on pattern of this value (see
+         * {@link PatternInfo}); analysis is only done once per value.
+         *
+         * @return Information on pattern; never {@code null} (for values without pattern,
+         *    information with kind of {@link PatternInfo.Kind#NONE})
+         *
+         * @since 2.21
+         */
+        public PatternInfo getPatternInfo() {
+            PatternInfo info = _patternInfo;
+            if (info == null) {
+                info = PatternInfo.analyze(_pattern);
+                _patternInfo = info;
+            }
+            return info;
+        }
+
         /**
          * @since 2.4
          */
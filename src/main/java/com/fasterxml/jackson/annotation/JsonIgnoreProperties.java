@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -110,6 +113,17 @@ public @interface JsonIgnoreProperties
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
         /**
          * Default instance has no explicitly ignored fields, does not ignore unknowns,
          * does not explicitly allow getters/setters (that is, ignorals apply to both),
@@ -148,12 +162,16 @@ public @interface JsonIgnoreProperties
             if (src == null) {
                 return EMPTY; // since 2.9
             }
-            return construct(_asSet(src.value()),
-                    src.ignoreUnknown(), src.allowGetters(), src.allowSetters(),
-                // 27-Apr-2016, tatu: No matching property in annotation because
-                //   we don't know how to merge (so no point in pretending it's there)
-                //   so choice is arbitrary. Probably will default to `false` fwtw:
-                    false);
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(_asSet(src.value()),
+                        src.ignoreUnknown(), src.allowGetters(), src.allowSetters(),
+                    // 27-Apr-2016, tatu: No matching property in annotation because
+                    //   we don't know how to merge (so no point in pretending it's there)
+                    //   so choice is arbitrary. Probably will default to `false` fwtw:
+                        false));
+            }
+            return v;
         }
 
         /**
@@ -328,6 +346,36 @@ public @interface JsonIgnoreProperties
             return this;
         }
 
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            out.writeByte((_ignoreUnknown ? 0x01 : 0)
+                    | (_allowGetters ? 0x02 : 0)
+                    | (_allowSetters ? 0x04 : 0)
+                    | (_merge ? 0x08 : 0));
+            out.writeInt(_ignored.size());
+            for (String name : _ignored) {
+                out.writeObject(name);
+            }
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final int flags = in.readUnsignedByte();
+            final int count = in.readInt();
+            Set<String> ignored = new LinkedHashSet<>();
+            for (int i = 0; i < count; ++i) {
+                ignored.add((String) in.readObject());
+            }
+            ignored = Collections.unmodifiableSet(ignored);
+            return construct(ignored, (flags & 0x01) != 0, (flags & 0x02) != 0,
+                    (flags & 0x04) != 0, (flags & 0x08) != 0);
+        }
+
         public Set<String> getIgnored() {
             return _ignored;
         }
@@ -419,7 +467,8 @@ public @interface JsonIgnoreProperties
             for (String str : v) {
                 s.add(str);
             }
-            return s;
+            // may be shared via cache of `from()`, so must not be modifiable
+            return Collections.unmodifiableSet(s);
         }
 
         private static Set<String> _merge(Set<String> s1, Set<String> s2)
@@ -432,7 +481,7 @@ public @interface JsonIgnoreProperties
             HashSet<String> result = new HashSet<String>(s1.size() + s2.size());
             result.addAll(s1);
             result.addAll(s2);
-            return result;
+            return Collections.unmodifiableSet(result);
         }
 
         private static boolean _empty(Set<String> ignored, boolean ignoreUnknown,
@@ -0,0 +1,325 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * Annotation that can be used on a type to indicate that its instances are
+ * immutable (their serialized form never changes), allowing serializers to
+ * memoize serialized form of instances and write it as is on subsequent
+ * serialization, instead of re-serializing contents.
+ * This is useful for reference data (like currency tables or product catalogs)
+ * that is serialized frequently.
+ *<p>
+ * Memoization is keyed as specified by {@link #keyStrategy()}, and bounded
+ * by {@link #cacheSize()}. Note that serialized form may also depend on
+ * configuration used (like active view, or enabled features): handlers are
+ * expected to only reuse serialized form with identical configuration.
+ *<p>
+ * Default value is {@link OptBoolean#TRUE}, that is, memoization <b>is enabled</b>.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonImmutable
+{
+    /**
+     * Marker value used to indicate that default cache size (as configured
+     * for handler) should be used.
+     */
+    public final static int DEFAULT_LIMIT = -1;
+
+    /**
+     * Whether annotated type is to be considered immutable: {@link OptBoolean#TRUE}
+     * to enable memoization, {@link OptBoolean#FALSE} to disable (for example to override
+     * annotation on a super type), or {@link OptBoolean#DEFAULT} to use defaults.
+     */
+    OptBoolean value() default OptBoolean.TRUE;
+
+    /**
+     * Maximum number of serialized forms to retain for instances of annotated type;
+     * {@link #DEFAULT_LIMIT} to use handler default.
+     */
+    int cacheSize() default DEFAULT_LIMIT;
+
+    /**
+     * Strategy used for finding memoized serialized form of an instance.
+     */
+    KeyStrategy keyStrategy() default KeyStrategy.DEFAULT;
+
+    /**
+     * Enumeration of strategies for keying memoized serialized forms.
+     */
+    public enum KeyStrategy
+    {
+        /**
+         * Serialized forms are retained per instance (compared by identity).
+         */
+        IDENTITY,
+
+        /**
+         * Serialized forms are shared by equal instances (as per
+         * {@link Object#equals} and {@link Object#hashCode}).
+         */
+        EQUALITY,
+
+        /**
+         * Pseudo-value that indicates that strategy is not specified, and defaults
+         * (if any) are to be used.
+         */
+        DEFAULT;
+    }
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonImmutable}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonImmutable>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings".
+         */
+        protected final static Value EMPTY = new Value(null, DEFAULT_LIMIT, KeyStrategy.DEFAULT);
+
+        private final Boolean _enabled;
+
+        private final int _cacheSize;
+
+        private final KeyStrategy _keyStrategy;
+
+        protected Value(Boolean enabled, int cacheSize, KeyStrategy keyStrategy) {
+            _enabled = enabled;
+            _cacheSize = cacheSize;
+            _keyStrategy = keyStrategy;
+        }
+
+        @Override
+        public Class<JsonImmutable> valueFor() {
+            return JsonImmutable.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_enabled, _cacheSize, _keyStrategy)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonImmutable src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value().asBoolean(), src.cacheSize(),
+                        src.keyStrategy()));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonImmutable} annotation.
+         *<p>
+         * Negative sizes are taken to mean {@link JsonImmutable#DEFAULT_LIMIT}.
+         */
+        public static Value construct(Boolean enabled, int cacheSize, KeyStrategy keyStrategy) {
+            cacheSize = _limit(cacheSize);
+            if (keyStrategy == null) {
+                keyStrategy = KeyStrategy.DEFAULT;
+            }
+            if (_empty(enabled, cacheSize, keyStrategy)) {
+                return EMPTY;
+            }
+            return new Value(enabled, cacheSize, keyStrategy);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is:
+         *<ul>
+         * <li>No explicit enabling or disabling of memoization
+         *  </li>
+         * <li>Default cache size ({@link JsonImmutable#DEFAULT_LIMIT})
+         *  </li>
+         * <li>Default key strategy ({@link KeyStrategy#DEFAULT})
+         *  </li>
+         * </ul>
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is null
+         * or logically missing).
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forEnabled(Boolean enabled) {
+            return construct(enabled, DEFAULT_LIMIT, KeyStrategy.DEFAULT);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined settings in overrides have precedence over
+         * settings of this value instance. If no overrides exist will return <code>this</code>
+         * instance; otherwise new {@link Value} with changed settings.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            Boolean enabled = overrides._enabled;
+            int cacheSize = overrides._cacheSize;
+            KeyStrategy keyStrategy = overrides._keyStrategy;
+
+            if (enabled == null) {
+                enabled = _enabled;
+            }
+            if (cacheSize == DEFAULT_LIMIT) {
+                cacheSize = _cacheSize;
+            }
+            if (keyStrategy == KeyStrategy.DEFAULT) {
+                keyStrategy = _keyStrategy;
+            }
+            if (Objects.equals(enabled, _enabled) && (cacheSize == _cacheSize)
+                    && (keyStrategy == _keyStrategy)) {
+                return this;
+            }
+            return construct(enabled, cacheSize, keyStrategy);
+        }
+
+        public Value withEnabled(Boolean enabled) {
+            return Objects.equals(enabled, _enabled) ? this
+                    : construct(enabled, _cacheSize, _keyStrategy);
+        }
+
+        public Value withCacheSize(int cacheSize) {
+            cacheSize = _limit(cacheSize);
+            return (cacheSize == _cacheSize) ? this
+                    : construct(_enabled, cacheSize, _keyStrategy);
+        }
+
+        public Value withKeyStrategy(KeyStrategy keyStrategy) {
+            if (keyStrategy == null) {
+                keyStrategy = KeyStrategy.DEFAULT;
+            }
+            return (keyStrategy == _keyStrategy) ? this
+                    : construct(_enabled, _cacheSize, keyStrategy);
+        }
+
+        /**
+         * @return Whether memoization is explicitly enabled ({@code TRUE}) or
+         *    disabled ({@code FALSE}); {@code null} if not specified
+         */
+        public Boolean getEnabled() { return _enabled; }
+
+        /**
+         * @return Maximum number of serialized forms to retain, if specified;
+         *    {@link JsonImmutable#DEFAULT_LIMIT} if not
+         */
+        public int getCacheSize() { return _cacheSize; }
+
+        public KeyStrategy getKeyStrategy() { return _keyStrategy; }
+
+        /**
+         * Returns same as {@link #getKeyStrategy()} unless value would be
+         * {@link KeyStrategy#DEFAULT} in which case `null` is returned.
+         */
+        public KeyStrategy nonDefaultKeyStrategy() {
+            return (_keyStrategy == KeyStrategy.DEFAULT) ? null : _keyStrategy;
+        }
+
+        /**
+         * Convenience method equivalent to
+         *<pre>
+         *   Boolean.TRUE.equals(getEnabled())
+         *</pre>
+         */
+        public boolean isEnabled() {
+            return Boolean.TRUE.equals(_enabled);
+        }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonImmutable.Value(enabled=%s,cacheSize=%d,keyStrategy=%s)",
+                    _enabled, _cacheSize, _keyStrategy);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = (_enabled == null) ? 1 : (_enabled.booleanValue() ? 3 : 7);
+            h += (_keyStrategy.ordinal() << 3);
+            return h + (_cacheSize << 5);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return Objects.equals(other._enabled, _enabled)
+                        && (other._cacheSize == _cacheSize)
+                        && (other._keyStrategy == _keyStrategy);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static int _limit(int limit) {
+            return (limit < 0) ? DEFAULT_LIMIT : limit;
+        }
+
+        private static boolean _empty(Boolean enabled, int cacheSize, KeyStrategy keyStrategy) {
+            return (enabled == null) && (cacheSize == DEFAULT_LIMIT)
+                    && (keyStrategy == KeyStrategy.DEFAULT);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -268,6 +271,17 @@ public @interface JsonInclude
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
         /**
          * Constant that indicates that property is to be always included,
          * independent of value of the property.
@@ -422,6 +436,28 @@ public @interface JsonInclude
             return this;
         }
 
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            ValueSerializationProxy.writeEnum(out, _valueInclusion);
+            ValueSerializationProxy.writeEnum(out, _contentInclusion);
+            out.writeObject(_valueFilter);
+            out.writeObject(_contentFilter);
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final Include valueInclusion = ValueSerializationProxy.readEnum(in, Include.class);
+            final Include contentInclusion = ValueSerializationProxy.readEnum(in, Include.class);
+            final Class<?> valueFilter = (Class<?>) in.readObject();
+            return construct(valueInclusion, contentInclusion,
+                    valueFilter, (Class<?>) in.readObject());
+        }
+
         /**
          * Mutant factory method that merges values of this value with given override
          * values, so that any explicitly defined inclusion in overrides has precedence over
@@ -497,11 +533,15 @@ public @interface JsonInclude
             if (src == null) {
                 return EMPTY;
             }
+            Value v = Caches.FROM.get(src);
+            if (v != null) {
+                return v;
+            }
             Include vi = src.value();
             Include ci = src.content();
 
             if ((vi == Include.USE_DEFAULTS) && (ci == Include.USE_DEFAULTS)) {
-                return EMPTY;
+                return Caches.FROM.put(src, EMPTY);
             }
             Class<?> vf = src.valueFilter();
             if (vf == Void.class) {
@@ -511,7 +551,12 @@ public @interface JsonInclude
             if (cf == Void.class) {
                 cf = null;
             }
-            return new Value(vi, ci, vf, cf);
+            v = new Value(vi, ci, vf, cf);
+            // filters of application classes would keep annotation reachable; can't cache
+            if (AnnotationValueCache.isCacheable(vf) && AnnotationValueCache.isCacheable(cf)) {
+                v = Caches.FROM.put(src, v);
+            }
+            return v;
         }
 
         public Value withValueInclusion(Include incl) {
@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.*;
 import java.util.*;
 
@@ -52,11 +55,31 @@ public @interface JsonIncludeProperties
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
         /**
          * Default instance has no explicitly included fields
          */
         protected final static JsonIncludeProperties.Value ALL = new JsonIncludeProperties.Value(null);
 
+        /**
+         * Shared instance used for results of merging that leave no properties
+         * to include.
+         *
+         * @since 2.21
+         */
+        protected final static JsonIncludeProperties.Value NONE = new JsonIncludeProperties.Value(
+                Collections.<String>emptySet());
+
         /**
          * Name of the properties to include.
          * Null means that all properties are included, empty means none.
@@ -73,7 +96,11 @@ public @interface JsonIncludeProperties
             if (src == null) {
                 return ALL;
             }
-            return new Value(_asSet(src.value()));
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, new Value(_asSet(src.value())));
+            }
+            return v;
         }
 
         public static JsonIncludeProperties.Value all()
@@ -114,15 +141,72 @@ public @interface JsonIncludeProperties
             if (_included == null) {
                 return overrides;
             }
-
-            HashSet<String> toInclude = new HashSet<String>();
-            for (String incl : otherIncluded) {
-                if (_included.contains(incl)) {
-                    toInclude.add(incl);
+            if (otherIncluded == _included) {
+                return this;
+            }
+            // Avoid allocation unless intersection is a proper subset of both:
+            // so first just count matches of the smaller set
+            final Value smaller, larger;
+            if (otherIncluded.size() < _included.size()) {
+                smaller = overrides;
+                larger = this;
+            } else {
+                smaller = this;
+                larger = overrides;
+            }
+            final Set<String> small = smaller._included;
+            final Set<String> large = larger._included;
+            if (small.isEmpty()) {
+                return smaller;
+            }
+            int matches = 0;
+            for (String incl : small) {
+                if (large.contains(incl)) {
+                    ++matches;
                 }
             }
+            if (matches == small.size()) {
+                // With equal sizes, prefer original as documented
+                return (small.size() == large.size()) ? this : smaller;
+            }
+            if (matches == 0) {
+                return NONE;
+            }
+            return new JsonIncludeProperties.Value(_intersect(small, large, matches));
+        }
+
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            if (_included == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(_included.size());
+            for (String name : _included) {
+                out.writeObject(name);
+            }
+        }
 
-            return new JsonIncludeProperties.Value(toInclude);
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final int count = in.readInt();
+            if (count < 0) {
+                return ALL;
+            }
+            if (count == 0) {
+                return NONE;
+            }
+            Set<String> included = new LinkedHashSet<>();
+            for (int i = 0; i < count; ++i) {
+                included.add((String) in.readObject());
+            }
+            included = Collections.unmodifiableSet(included);
+            return new Value(included);
         }
 
         @Override
@@ -153,7 +237,32 @@ public @interface JsonIncludeProperties
             for (String str : v) {
                 s.add(str);
             }
-            return s;
+            // may be shared via cache of `from()`, so must not be modifiable
+            return Collections.unmodifiableSet(s);
+        }
+
+        /**
+         * Helper method for building compact, immutable intersection of two sets
+         * when the number of common entries is already known.
+         */
+        private static Set<String> _intersect(Set<String> small, Set<String> large,
+                int matches)
+        {
+            if (matches == 1) {
+                for (String str : small) {
+                    if (large.contains(str)) {
+                        return Collections.singleton(str);
+                    }
+                }
+            }
+            // Sized so that no rehashing is needed with default load factor
+            Set<String> s = new HashSet<String>(matches + (matches / 3) + 1);
+            for (String str : small) {
+                if (large.contains(str)) {
+                    s.add(str);
+                }
+            }
+            return Collections.unmodifiableSet(s);
         }
     }
 }
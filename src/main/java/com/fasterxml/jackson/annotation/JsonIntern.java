@@ -0,0 +1,359 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation that can be used to indicate that {@link java.lang.String} values
+ * of annotated property (or, when used on a class, of {@code String}-valued properties
+ * of annotated type) should be canonicalized ("interned") during deserialization,
+ * so that repeated values (like country codes or status names) share a single
+ * {@code String} instance, to reduce retained heap of deserialized objects.
+ *<p>
+ * For {@link java.util.Collection}s, arrays and {@link java.util.Map}s,
+ * interning applies to {@code String} elements (and keys).
+ *<p>
+ * Scope of canonicalization is specified with {@link #value} (by default, scope
+ * is chosen by handler, or inherited from type-level annotation); and for bounded
+ * scopes size of the cache with {@link #maxEntries}.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.TYPE,
+    ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonIntern
+{
+    /**
+     * Marker value used to indicate that default limit (as configured for
+     * handler) should be used.
+     */
+    public final static int DEFAULT_LIMIT = -1;
+
+    /**
+     * Scope within which values are canonicalized: default of {@link Scope#DEFAULT}
+     * enables canonicalization without overriding scope specified by
+     * type-level annotation (if any); {@link Scope#NONE} disables it.
+     */
+    Scope value() default Scope.DEFAULT;
+
+    /**
+     * Maximum number of distinct values to retain for canonicalization, for bounded
+     * scopes ({@link Scope#DOCUMENT}, {@link Scope#MAPPER}); once reached, further
+     * values are not canonicalized (or older ones evicted, depending on handler).
+     * {@link #DEFAULT_LIMIT} to use handler default.
+     */
+    int maxEntries() default DEFAULT_LIMIT;
+
+    /**
+     * Maximum length of values to canonicalize: longer values are not
+     * canonicalized as they are less likely to be repeated.
+     * {@link #DEFAULT_LIMIT} to use handler default.
+     */
+    int maxLength() default DEFAULT_LIMIT;
+
+    /**
+     * Enumeration of scopes within which values are canonicalized.
+     */
+    public enum Scope
+    {
+        /**
+         * Values are canonicalized within a single document (read operation):
+         * canonicalization state is discarded after reading.
+         */
+        DOCUMENT,
+
+        /**
+         * Values are canonicalized using a bounded cache shared by all read operations
+         * of the mapper (or other handler) used.
+         */
+        MAPPER,
+
+        /**
+         * Values are canonicalized using JVM-wide {@link String#intern()}.
+         */
+        JVM,
+
+        /**
+         * Values are not canonicalized: may be used to disable canonicalization
+         * specified by default settings (or type-level annotation).
+         */
+        NONE,
+
+        /**
+         * Pseudo-value that indicates that values are to be canonicalized, but
+         * scope is not specified: scope of type-level annotation (if any) is used,
+         * or, if none, scope chosen by handler (usually {@link #MAPPER}).
+         */
+        DEFAULT;
+
+        /**
+         * @return True if this scope means that values are to be canonicalized
+         *    (that is, for all scopes except {@link #NONE})
+         */
+        public boolean isEnabled() {
+            return (this != NONE);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonIntern}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonIntern>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings" (no annotation).
+         */
+        protected final static Value EMPTY = new Value(null, DEFAULT_LIMIT, DEFAULT_LIMIT);
+
+        /**
+         * Scope, if specified; {@code null} if not (in which case values are
+         * not canonicalized)
+         */
+        private final Scope _scope;
+
+        private final int _maxEntries;
+
+        private final int _maxLength;
+
+        protected Value(Scope scope, int maxEntries, int maxLength) {
+            _scope = scope;
+            _maxEntries = maxEntries;
+            _maxLength = maxLength;
+        }
+
+        @Override
+        public Class<JsonIntern> valueFor() {
+            return JsonIntern.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_scope, _maxEntries, _maxLength)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonIntern src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value(), src.maxEntries(), src.maxLength()));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonIntern} annotation.
+         *<p>
+         * Scope of {@code null} means "not specified" (as opposed to
+         * {@link Scope#DEFAULT}, "enabled, with default scope").
+         * Negative limits are taken to mean {@link JsonIntern#DEFAULT_LIMIT}.
+         */
+        public static Value construct(Scope scope, int maxEntries, int maxLength) {
+            maxEntries = _limit(maxEntries);
+            maxLength = _limit(maxLength);
+            if (_empty(scope, maxEntries, maxLength)) {
+                return EMPTY;
+            }
+            return new Value(scope, maxEntries, maxLength);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is:
+         *<ul>
+         * <li>No scope ({@code null}): values are not canonicalized
+         *  </li>
+         * <li>No limits ({@link JsonIntern#DEFAULT_LIMIT})
+         *  </li>
+         * </ul>
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is
+         * {@code null} or {@link JsonIntern#DEFAULT_LIMIT}). Scope of
+         * {@link Scope#DEFAULT} in overrides only overrides base scope that
+         * is not enabled.
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forScope(Scope scope) {
+            return construct(scope, DEFAULT_LIMIT, DEFAULT_LIMIT);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined settings in overrides have precedence over
+         * settings of this value instance; except that override scope of {@link Scope#DEFAULT}
+         * (enabled, with unspecified scope) keeps enabled scope of this value.
+         * If no overrides exist will return <code>this</code>
+         * instance; otherwise new {@link Value} with changed settings.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            Scope scope = overrides._scope;
+            int maxEntries = overrides._maxEntries;
+            int maxLength = overrides._maxLength;
+
+            if ((scope == null)
+                    || ((scope == Scope.DEFAULT) && (_scope != null) && _scope.isEnabled())) {
+                scope = _scope;
+            }
+            if (maxEntries == DEFAULT_LIMIT) {
+                maxEntries = _maxEntries;
+            }
+            if (maxLength == DEFAULT_LIMIT) {
+                maxLength = _maxLength;
+            }
+            if ((scope == _scope) && (maxEntries == _maxEntries)
+                    && (maxLength == _maxLength)) {
+                return this;
+            }
+            return construct(scope, maxEntries, maxLength);
+        }
+
+        public Value withScope(Scope scope) {
+            return (scope == _scope) ? this : construct(scope, _maxEntries, _maxLength);
+        }
+
+        public Value withMaxEntries(int maxEntries) {
+            maxEntries = _limit(maxEntries);
+            return (maxEntries == _maxEntries) ? this : construct(_scope, maxEntries, _maxLength);
+        }
+
+        public Value withMaxLength(int maxLength) {
+            maxLength = _limit(maxLength);
+            return (maxLength == _maxLength) ? this : construct(_scope, _maxEntries, maxLength);
+        }
+
+        /**
+         * @return Scope if specified; {@code null} if not
+         */
+        public Scope getScope() { return _scope; }
+
+        /**
+         * @return Maximum number of values to retain, if specified;
+         *    {@link JsonIntern#DEFAULT_LIMIT} if not
+         */
+        public int getMaxEntries() { return _maxEntries; }
+
+        /**
+         * @return Maximum length of values to canonicalize, if specified;
+         *    {@link JsonIntern#DEFAULT_LIMIT} if not
+         */
+        public int getMaxLength() { return _maxLength; }
+
+        /**
+         * Returns same as {@link #getScope()} unless value would be
+         * {@link Scope#DEFAULT} in which case `null` is returned.
+         */
+        public Scope nonDefaultScope() {
+            return (_scope == Scope.DEFAULT) ? null : _scope;
+        }
+
+        /**
+         * @return True if scope is specified, and values are to be canonicalized as per
+         *    {@link Scope#isEnabled()} (that is, scope is not {@link Scope#NONE})
+         */
+        public boolean isEnabled() {
+            return (_scope != null) && _scope.isEnabled();
+        }
+
+        /**
+         * Convenience method for checking whether value of given length
+         * is to be canonicalized according to settings of this value.
+         */
+        public boolean shouldIntern(int length) {
+            return isEnabled() && ((_maxLength < 0) || (length <= _maxLength));
+        }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonIntern.Value(scope=%s,maxEntries=%d,maxLength=%d)",
+                    _scope, _maxEntries, _maxLength);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = (_scope == null) ? 1 : (_scope.ordinal() + 2);
+            return h + 31 * (_maxEntries + 31 * _maxLength);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return (other._scope == _scope)
+                        && (other._maxEntries == _maxEntries)
+                        && (other._maxLength == _maxLength);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static int _limit(int limit) {
+            return (limit < 0) ? DEFAULT_LIMIT : limit;
+        }
+
+        private static boolean _empty(Scope scope, int maxEntries, int maxLength) {
+            return (scope == null)
+                    && (maxEntries == DEFAULT_LIMIT)
+                    && (maxLength == DEFAULT_LIMIT);
+        }
+    }
+}
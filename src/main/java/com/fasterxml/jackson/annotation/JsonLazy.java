@@ -0,0 +1,261 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * Annotation that can be used to indicate that value of annotated property
+ * should be bound lazily: instead of binding content of the property value when
+ * reading the enclosing value, data-binding layer may retain raw contents
+ * (token sequence or encoded bytes) and bind them into the actual value only on
+ * first access. This is useful for large nested values (like "payload"
+ * or "details" sub-trees) that are rarely accessed.
+ *<p>
+ * Lazy binding requires support from the property type (or accessor): a
+ * handler that does not support lazy binding for a property will bind it eagerly.
+ * Handlers will also bind eagerly if size of retained content would exceed
+ * {@link #maxBufferSize()}.
+ *<p>
+ * Default value is {@link OptBoolean#TRUE}, that is, lazy binding <b>is enabled</b>.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonLazy
+{
+    /**
+     * Marker value used to indicate that default buffer size limit (as configured
+     * for handler) should be used.
+     */
+    public final static int DEFAULT_LIMIT = -1;
+
+    /**
+     * Whether lazy binding is to be used for annotated property: {@link OptBoolean#TRUE}
+     * to enable, {@link OptBoolean#FALSE} to disable (for example to override
+     * default settings), or {@link OptBoolean#DEFAULT} to use defaults.
+     */
+    OptBoolean value() default OptBoolean.TRUE;
+
+    /**
+     * Maximum size (in bytes or characters, depending on input) of raw content to
+     * retain for lazy binding: values with larger content are bound eagerly.
+     * {@link #DEFAULT_LIMIT} to use handler default.
+     */
+    int maxBufferSize() default DEFAULT_LIMIT;
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonLazy}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonLazy>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings".
+         */
+        protected final static Value EMPTY = new Value(null, DEFAULT_LIMIT);
+
+        private final Boolean _enabled;
+
+        private final int _maxBufferSize;
+
+        protected Value(Boolean enabled, int maxBufferSize) {
+            _enabled = enabled;
+            _maxBufferSize = maxBufferSize;
+        }
+
+        @Override
+        public Class<JsonLazy> valueFor() {
+            return JsonLazy.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_enabled, _maxBufferSize)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonLazy src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value().asBoolean(), src.maxBufferSize()));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonLazy} annotation.
+         *<p>
+         * Negative sizes are taken to mean {@link JsonLazy#DEFAULT_LIMIT}.
+         */
+        public static Value construct(Boolean enabled, int maxBufferSize) {
+            maxBufferSize = _limit(maxBufferSize);
+            if (_empty(enabled, maxBufferSize)) {
+                return EMPTY;
+            }
+            return new Value(enabled, maxBufferSize);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is:
+         *<ul>
+         * <li>No explicit enabling or disabling of lazy binding
+         *  </li>
+         * <li>Default buffer size limit ({@link JsonLazy#DEFAULT_LIMIT})
+         *  </li>
+         * </ul>
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is null
+         * or logically missing).
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forEnabled(Boolean enabled) {
+            return construct(enabled, DEFAULT_LIMIT);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined settings in overrides have precedence over
+         * settings of this value instance. If no overrides exist will return <code>this</code>
+         * instance; otherwise new {@link Value} with changed settings.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            Boolean enabled = overrides._enabled;
+            int maxBufferSize = overrides._maxBufferSize;
+
+            if (enabled == null) {
+                enabled = _enabled;
+            }
+            if (maxBufferSize == DEFAULT_LIMIT) {
+                maxBufferSize = _maxBufferSize;
+            }
+            if (Objects.equals(enabled, _enabled) && (maxBufferSize == _maxBufferSize)) {
+                return this;
+            }
+            return construct(enabled, maxBufferSize);
+        }
+
+        public Value withEnabled(Boolean enabled) {
+            return Objects.equals(enabled, _enabled) ? this : construct(enabled, _maxBufferSize);
+        }
+
+        public Value withMaxBufferSize(int maxBufferSize) {
+            maxBufferSize = _limit(maxBufferSize);
+            return (maxBufferSize == _maxBufferSize) ? this : construct(_enabled, maxBufferSize);
+        }
+
+        /**
+         * @return Whether lazy binding is explicitly enabled ({@code TRUE}) or
+         *    disabled ({@code FALSE}); {@code null} if not specified
+         */
+        public Boolean getEnabled() { return _enabled; }
+
+        /**
+         * @return Maximum size of content to retain, if specified;
+         *    {@link JsonLazy#DEFAULT_LIMIT} if not
+         */
+        public int getMaxBufferSize() { return _maxBufferSize; }
+
+        /**
+         * Convenience method equivalent to
+         *<pre>
+         *   Boolean.TRUE.equals(getEnabled())
+         *</pre>
+         */
+        public boolean isEnabled() {
+            return Boolean.TRUE.equals(_enabled);
+        }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonLazy.Value(enabled=%s,maxBufferSize=%d)",
+                    _enabled, _maxBufferSize);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = (_enabled == null) ? 1 : (_enabled.booleanValue() ? 3 : 7);
+            return h + (_maxBufferSize << 3);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return Objects.equals(other._enabled, _enabled)
+                        && (other._maxBufferSize == _maxBufferSize);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static int _limit(int limit) {
+            return (limit < 0) ? DEFAULT_LIMIT : limit;
+        }
+
+        private static boolean _empty(Boolean enabled, int maxBufferSize) {
+            return (enabled == null) && (maxBufferSize == DEFAULT_LIMIT);
+        }
+    }
+}
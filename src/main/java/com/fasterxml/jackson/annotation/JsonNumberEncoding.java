@@ -0,0 +1,306 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * Annotation that can be used to indicate preferred physical encoding of integral
+ * numbers for binary data formats (like Smile, CBOR, Ion or Protobuf) that support
+ * multiple encodings: this is a lower-level hint than {@link JsonFormat#shape()}
+ * (which only distinguishes logical shapes like {@link JsonFormat.Shape#NUMBER_INT}).
+ * When used on array- or {@link java.util.Collection}-valued properties,
+ * settings apply to elements.
+ *<p>
+ * Encodings are only hints: format backends that do not support an
+ * encoding will use their default encoding; and textual formats (like JSON)
+ * ignore this annotation.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonNumberEncoding
+{
+    /**
+     * Encoding to use for integral values.
+     */
+    Encoding value() default Encoding.DEFAULT;
+
+    /**
+     * Whether elements of array- or {@link java.util.Collection}-valued properties
+     * should be encoded as differences from the preceding element (first
+     * element as is): useful for sorted sequences like timestamps, where
+     * differences are much smaller than values themselves.
+     */
+    OptBoolean delta() default OptBoolean.DEFAULT;
+
+    /**
+     * Enumeration of physical encodings of integral numbers.
+     */
+    public enum Encoding
+    {
+        /**
+         * Variable-length encoding (like Protobuf "varint"), efficient for small
+         * non-negative values.
+         */
+        VARINT(0),
+
+        /**
+         * Variable-length encoding of "zigzag" mapped values (as with Protobuf
+         * "sint32"/"sint64"), efficient for values of small magnitude, including
+         * negative ones.
+         */
+        ZIGZAG(0),
+
+        /**
+         * Fixed-length encoding using 4 bytes.
+         */
+        FIXED32(4),
+
+        /**
+         * Fixed-length encoding using 8 bytes.
+         */
+        FIXED64(8),
+
+        /**
+         * Pseudo-value that indicates that encoding is not specified, and defaults
+         * (of format backend) are to be used.
+         */
+        DEFAULT(0);
+
+        private final int _fixedLength;
+
+        private Encoding(int fixedLength) {
+            _fixedLength = fixedLength;
+        }
+
+        /**
+         * @return Length of encoded values in bytes, for fixed-length encodings;
+         *    0 for variable-length ones (and {@link #DEFAULT})
+         */
+        public int fixedLength() {
+            return _fixedLength;
+        }
+
+        public boolean isFixedLength() {
+            return _fixedLength > 0;
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonNumberEncoding}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonNumberEncoding>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings".
+         */
+        protected final static Value EMPTY = new Value(Encoding.DEFAULT, null);
+
+        private final Encoding _encoding;
+
+        private final Boolean _delta;
+
+        protected Value(Encoding encoding, Boolean delta) {
+            _encoding = encoding;
+            _delta = delta;
+        }
+
+        @Override
+        public Class<JsonNumberEncoding> valueFor() {
+            return JsonNumberEncoding.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_encoding, _delta)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonNumberEncoding src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value(), src.delta().asBoolean()));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonNumberEncoding} annotation.
+         */
+        public static Value construct(Encoding encoding, Boolean delta) {
+            if (encoding == null) {
+                encoding = Encoding.DEFAULT;
+            }
+            if (_empty(encoding, delta)) {
+                return EMPTY;
+            }
+            return new Value(encoding, delta);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is:
+         *<ul>
+         * <li>Encoding of {@link Encoding#DEFAULT}
+         *  </li>
+         * <li>No explicit enabling or disabling of delta encoding
+         *  </li>
+         * </ul>
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is null
+         * or logically missing).
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forEncoding(Encoding encoding) {
+            return construct(encoding, null);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined settings in overrides have precedence over
+         * settings of this value instance. If no overrides exist will return <code>this</code>
+         * instance; otherwise new {@link Value} with changed settings.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            Encoding encoding = overrides._encoding;
+            Boolean delta = overrides._delta;
+
+            if (encoding == Encoding.DEFAULT) {
+                encoding = _encoding;
+            }
+            if (delta == null) {
+                delta = _delta;
+            }
+            if ((encoding == _encoding) && Objects.equals(delta, _delta)) {
+                return this;
+            }
+            return construct(encoding, delta);
+        }
+
+        public Value withEncoding(Encoding encoding) {
+            if (encoding == null) {
+                encoding = Encoding.DEFAULT;
+            }
+            return (encoding == _encoding) ? this : construct(encoding, _delta);
+        }
+
+        public Value withDelta(Boolean delta) {
+            return Objects.equals(delta, _delta) ? this : construct(_encoding, delta);
+        }
+
+        public Encoding getEncoding() { return _encoding; }
+
+        /**
+         * Returns same as {@link #getEncoding()} unless value would be
+         * {@link Encoding#DEFAULT} in which case `null` is returned.
+         */
+        public Encoding nonDefaultEncoding() {
+            return (_encoding == Encoding.DEFAULT) ? null : _encoding;
+        }
+
+        /**
+         * @return Whether delta encoding is explicitly enabled ({@code TRUE}) or
+         *    disabled ({@code FALSE}); {@code null} if not specified
+         */
+        public Boolean getDelta() { return _delta; }
+
+        /**
+         * Convenience method equivalent to
+         *<pre>
+         *   Boolean.TRUE.equals(getDelta())
+         *</pre>
+         */
+        public boolean isDelta() {
+            return Boolean.TRUE.equals(_delta);
+        }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonNumberEncoding.Value(encoding=%s,delta=%s)",
+                    _encoding, _delta);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = (_delta == null) ? 1 : (_delta.booleanValue() ? 3 : 7);
+            return h + (_encoding.ordinal() << 3);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return (other._encoding == _encoding)
+                        && Objects.equals(other._delta, _delta);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static boolean _empty(Encoding encoding, Boolean delta) {
+            return (encoding == Encoding.DEFAULT) && (delta == null);
+        }
+    }
+}
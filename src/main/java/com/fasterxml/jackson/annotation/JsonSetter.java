@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.*;
 
 /**
@@ -65,6 +68,17 @@ public @interface JsonSetter
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
         private final Nulls _nulls;
 
         private final Nulls _contentNulls;
@@ -92,11 +106,31 @@ public @interface JsonSetter
             return this;
         }
 
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException {
+            ValueSerializationProxy.writeEnum(out, _nulls);
+            ValueSerializationProxy.writeEnum(out, _contentNulls);
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final Nulls nulls = ValueSerializationProxy.readEnum(in, Nulls.class);
+            return construct(nulls, ValueSerializationProxy.readEnum(in, Nulls.class));
+        }
+
         public static Value from(JsonSetter src) {
             if (src == null) {
                 return EMPTY;
             }
-            return construct(src.nulls(), src.contentNulls());
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.nulls(), src.contentNulls()));
+            }
+            return v;
         }
 
         /**
@@ -0,0 +1,327 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.*;
+import java.util.Objects;
+
+/**
+ * Annotation that can be used to indicate that value of annotated property
+ * (typically of type {@link java.lang.Iterable}, {@link java.util.Iterator}
+ * or {@code java.util.stream.Stream}) should be serialized incrementally:
+ * elements are pulled from the value and written as they become available,
+ * with bounded memory use, instead of first materializing them (for
+ * example into a {@link java.util.List}).
+ * This allows serialization of very large sequences (like exports of big
+ * result sets) without buffering.
+ *<p>
+ * Elements are written in chunks of {@link #chunkSize()} elements; and output
+ * may be flushed after each chunk (see {@link #flushPerChunk()}).
+ *<p>
+ * Default value is {@link OptBoolean#TRUE}, that is, streaming <b>is enabled</b>.
+ *
+ * @since 2.21
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonStreamable
+{
+    /**
+     * Marker value used to indicate that default chunk size (as configured
+     * for handler) should be used.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = -1;
+
+    /**
+     * Whether streaming serialization is to be used for annotated property:
+     * {@link OptBoolean#TRUE} to enable, {@link OptBoolean#FALSE} to disable
+     * (for example to override default settings), or {@link OptBoolean#DEFAULT}
+     * to use defaults.
+     */
+    OptBoolean value() default OptBoolean.TRUE;
+
+    /**
+     * Number of elements to pull (and write) at a time;
+     * {@link #DEFAULT_CHUNK_SIZE} to use handler default.
+     */
+    int chunkSize() default DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Whether output should be flushed after writing each chunk of elements,
+     * to make them available to the reader as soon as possible.
+     */
+    OptBoolean flushPerChunk() default OptBoolean.DEFAULT;
+
+    /**
+     * Whether order of elements must be retained ({@link OptBoolean#TRUE}), or
+     * elements may be written in any order ({@link OptBoolean#FALSE}), which
+     * may allow more efficient pulling of elements (for example from parallel
+     * {@code Stream}s).
+     */
+    OptBoolean ordered() default OptBoolean.DEFAULT;
+
+    /*
+    /**********************************************************
+    /* Value class used to enclose information, allow for
+    /* merging of layered configuration settings.
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used to contain information from a single {@link JsonStreamable}
+     * annotation, as well as to provide possible overrides from non-annotation sources.
+     */
+    public static class Value
+        implements JacksonAnnotationValue<JsonStreamable>,
+            java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Holder of cache of instances constructed from annotations (see {@link #from}),
+         * keyed by annotation instance identity: only initialized on first use
+         * (see {@link AnnotationValueCache}).
+         */
+        private final static class Caches {
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+        }
+
+        /**
+         * Default instance used in place of "default settings".
+         */
+        protected final static Value EMPTY = new Value(null, DEFAULT_CHUNK_SIZE, null, null);
+
+        private final Boolean _enabled;
+
+        private final int _chunkSize;
+
+        private final Boolean _flushPerChunk;
+
+        private final Boolean _ordered;
+
+        protected Value(Boolean enabled, int chunkSize, Boolean flushPerChunk, Boolean ordered) {
+            _enabled = enabled;
+            _chunkSize = chunkSize;
+            _flushPerChunk = flushPerChunk;
+            _ordered = ordered;
+        }
+
+        @Override
+        public Class<JsonStreamable> valueFor() {
+            return JsonStreamable.class;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            if (_empty(_enabled, _chunkSize, _flushPerChunk, _ordered)) {
+                return EMPTY;
+            }
+            return this;
+        }
+
+        public static Value from(JsonStreamable src) {
+            if (src == null) {
+                return EMPTY;
+            }
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = Caches.FROM.put(src, construct(src.value().asBoolean(), src.chunkSize(),
+                        src.flushPerChunk().asBoolean(), src.ordered().asBoolean()));
+            }
+            return v;
+        }
+
+        /**
+         * Factory method that may be used (although is NOT the recommended way)
+         * to construct an instance from a full set of properties. Most users would
+         * be better off starting by {@link #empty()} instance and using `withXxx`
+         * methods, as this factory method may need to be changed if new properties
+         * are added in {@link JsonStreamable} annotation.
+         *<p>
+         * Non-positive chunk sizes are taken to mean {@link JsonStreamable#DEFAULT_CHUNK_SIZE}.
+         */
+        public static Value construct(Boolean enabled, int chunkSize,
+                Boolean flushPerChunk, Boolean ordered)
+        {
+            chunkSize = _chunkSize(chunkSize);
+            if (_empty(enabled, chunkSize, flushPerChunk, ordered)) {
+                return EMPTY;
+            }
+            return new Value(enabled, chunkSize, flushPerChunk, ordered);
+        }
+
+        /**
+         * Accessor for default instances which has "empty" settings; that is:
+         *<ul>
+         * <li>No explicit enabling or disabling of streaming
+         *  </li>
+         * <li>Default chunk size ({@link JsonStreamable#DEFAULT_CHUNK_SIZE})
+         *  </li>
+         * <li>No explicit flushing or ordering settings
+         *  </li>
+         * </ul>
+         */
+        public static Value empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Helper method that will try to combine values from two {@link Value}
+         * instances, using one as base settings, and the other as overrides
+         * to use instead of base values when defined; base values are only
+         * use if override does not specify a value (matching value is null
+         * or logically missing).
+         * Note that one or both of value instances may be `null`, directly;
+         * if both are `null`, result will also be `null`; otherwise never null.
+         */
+        public static Value merge(Value base, Value overrides)
+        {
+            return (base == null) ? overrides
+                    : base.withOverrides(overrides);
+        }
+
+        public static Value forEnabled(Boolean enabled) {
+            return construct(enabled, DEFAULT_CHUNK_SIZE, null, null);
+        }
+
+        public static Value forChunkSize(int chunkSize) {
+            return construct(Boolean.TRUE, chunkSize, null, null);
+        }
+
+        /**
+         * Mutant factory method that merges values of this value with given override
+         * values, so that any explicitly defined settings in overrides have precedence over
+         * settings of this value instance. If no overrides exist will return <code>this</code>
+         * instance; otherwise new {@link Value} with changed settings.
+         */
+        public Value withOverrides(Value overrides) {
+            if ((overrides == null) || (overrides == EMPTY)) {
+                return this;
+            }
+            Boolean enabled = overrides._enabled;
+            int chunkSize = overrides._chunkSize;
+            Boolean flushPerChunk = overrides._flushPerChunk;
+            Boolean ordered = overrides._ordered;
+
+            if (enabled == null) {
+                enabled = _enabled;
+            }
+            if (chunkSize == DEFAULT_CHUNK_SIZE) {
+                chunkSize = _chunkSize;
+            }
+            if (flushPerChunk == null) {
+                flushPerChunk = _flushPerChunk;
+            }
+            if (ordered == null) {
+                ordered = _ordered;
+            }
+            if (Objects.equals(enabled, _enabled) && (chunkSize == _chunkSize)
+                    && Objects.equals(flushPerChunk, _flushPerChunk)
+                    && Objects.equals(ordered, _ordered)) {
+                return this;
+            }
+            return construct(enabled, chunkSize, flushPerChunk, ordered);
+        }
+
+        public Value withEnabled(Boolean enabled) {
+            return Objects.equals(enabled, _enabled) ? this
+                    : construct(enabled, _chunkSize, _flushPerChunk, _ordered);
+        }
+
+        public Value withChunkSize(int chunkSize) {
+            chunkSize = _chunkSize(chunkSize);
+            return (chunkSize == _chunkSize) ? this
+                    : construct(_enabled, chunkSize, _flushPerChunk, _ordered);
+        }
+
+        public Value withFlushPerChunk(Boolean flushPerChunk) {
+            return Objects.equals(flushPerChunk, _flushPerChunk) ? this
+                    : construct(_enabled, _chunkSize, flushPerChunk, _ordered);
+        }
+
+        public Value withOrdered(Boolean ordered) {
+            return Objects.equals(ordered, _ordered) ? this
+                    : construct(_enabled, _chunkSize, _flushPerChunk, ordered);
+        }
+
+        /**
+         * @return Whether streaming is explicitly enabled ({@code TRUE}) or
+         *    disabled ({@code FALSE}); {@code null} if not specified
+         */
+        public Boolean getEnabled() { return _enabled; }
+
+        /**
+         * @return Number of elements per chunk, if specified;
+         *    {@link JsonStreamable#DEFAULT_CHUNK_SIZE} if not
+         */
+        public int getChunkSize() { return _chunkSize; }
+
+        public Boolean getFlushPerChunk() { return _flushPerChunk; }
+
+        public Boolean getOrdered() { return _ordered; }
+
+        /**
+         * Convenience method equivalent to
+         *<pre>
+         *   Boolean.TRUE.equals(getEnabled())
+         *</pre>
+         */
+        public boolean isEnabled() {
+            return Boolean.TRUE.equals(_enabled);
+        }
+
+        /*
+        /**********************************************************
+        /* Std method overrides
+        /**********************************************************
+         */
+
+        @Override
+        public String toString() {
+            return String.format("JsonStreamable.Value(enabled=%s,chunkSize=%d,flushPerChunk=%s,ordered=%s)",
+                    _enabled, _chunkSize, _flushPerChunk, _ordered);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = _hash(_enabled);
+            h += (_hash(_flushPerChunk) << 3);
+            h += (_hash(_ordered) << 6);
+            return h + (_chunkSize << 9);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (o == null) return false;
+            if (o.getClass() == getClass()) {
+                Value other = (Value) o;
+                return Objects.equals(other._enabled, _enabled)
+                        && (other._chunkSize == _chunkSize)
+                        && Objects.equals(other._flushPerChunk, _flushPerChunk)
+                        && Objects.equals(other._ordered, _ordered);
+            }
+            return false;
+        }
+
+        /*
+        /**********************************************************
+        /* Internal methods
+        /**********************************************************
+         */
+
+        private static int _hash(Boolean b) {
+            return (b == null) ? 1 : (b.booleanValue() ? 3 : 7);
+        }
+
+        private static int _chunkSize(int size) {
+            return (size <= 0) ? DEFAULT_CHUNK_SIZE : size;
+        }
+
+        private static boolean _empty(Boolean enabled, int chunkSize,
+                Boolean flushPerChunk, Boolean ordered)
+        {
+            return (enabled == null) && (chunkSize == DEFAULT_CHUNK_SIZE)
+                    && (flushPerChunk == null) && (ordered == null);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.fasterxml.jackson.annotation;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Annotation used for configuring details of if and how type information is
@@ -381,12 +385,46 @@ public @interface JsonTypeInfo
     /**********************************************************************
      */
 
+    /**
+     * Helper class used to contain information from a single {@link JsonTypeInfo}
+     * annotation.
+     *<p>
+     * Since 2.21, instances created by factory methods (and JDK deserialization) are
+     * canonicalized ("interned") so that equal settings share a single instance;
+     * and hash code is calculated lazily, once per instance.
+     */
     public static class Value
         implements JacksonAnnotationValue<JsonTypeInfo>,
             java.io.Serializable
     {
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Holder of caches: only initialized on first use (see {@link AnnotationValueCache}).
+         *
+         * @since 2.21
+         */
+        private final static class Caches {
+            /**
+             * Cache of instances constructed from annotations (see {@link #from}),
+             * keyed by annotation instance identity.
+             */
+            final static AnnotationValueCache<Value> FROM = new AnnotationValueCache<>();
+
+            /**
+             * Shared instances for equal configurations, to limit number of instances
+             * retained by caches of polymorphic type handlers.
+             */
+            final static ConcurrentHashMap<Value, Value> INTERNED = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Maximum number of canonical instances retained by {@link #_intern}.
+         *
+         * @since 2.21
+         */
+        private final static int MAX_INTERNED = 500;
+
         // should not really be needed usually but make sure defaults to `NONE`; other
         // values of less interest
         protected final static Value EMPTY = new Value(Id.NONE, As.NOTHING, null, null, false, null);
@@ -399,6 +437,14 @@ public @interface JsonTypeInfo
         protected final boolean _idVisible;
         protected final Boolean _requireTypeIdForSubtypes;
 
+        /**
+         * Lazily calculated hash code (instances being immutable); uses only
+         * JVM-independent values (names). 0 means "not yet calculated".
+         *
+         * @since 2.21
+         */
+        private transient int _hashCode;
+
         /*
         /**********************************************************************
         /* Construction
@@ -433,15 +479,60 @@ public @interface JsonTypeInfo
             if ((defaultImpl == null) || defaultImpl.isAnnotation()) {
                 defaultImpl = null;
             }
-            return new Value(idType, inclusionType, propertyName, defaultImpl, idVisible, requireTypeIdForSubtypes);
+            return _intern(new Value(idType, inclusionType, propertyName, defaultImpl, idVisible, requireTypeIdForSubtypes));
         }
 
         public static Value from(JsonTypeInfo src) {
             if (src == null) {
                 return null;
             }
-            return construct(src.use(), src.include(),
-                    src.property(), src.defaultImpl(), src.visible(), src.requireTypeIdForSubtypes().asBoolean());
+            Value v = Caches.FROM.get(src);
+            if (v == null) {
+                v = construct(src.use(), src.include(),
+                        src.property(), src.defaultImpl(), src.visible(), src.requireTypeIdForSubtypes().asBoolean());
+                // default implementation of application class would keep annotation reachable
+                if (AnnotationValueCache.isCacheable(v.getDefaultImpl())) {
+                    v = Caches.FROM.put(src, v);
+                }
+            }
+            return v;
+        }
+
+        // for JDK serialization
+        protected Object readResolve() {
+            // only replace if it is of same type (sub-classes retained as is)
+            return (getClass() == Value.class) ? _intern(this) : this;
+        }
+
+        // for JDK serialization: use compact form (sub-classes use default serialization)
+        protected Object writeReplace() {
+            return (getClass() == Value.class) ? new ValueSerializationProxy(this) : this;
+        }
+
+        void _writeCompact(ObjectOutput out) throws IOException
+        {
+            // boolean settings bit-packed, need just 3 bits
+            out.writeByte((_idVisible ? 0x04 : 0)
+                    | ValueSerializationProxy.triState(_requireTypeIdForSubtypes));
+            ValueSerializationProxy.writeEnum(out, _idType);
+            ValueSerializationProxy.writeEnum(out, _inclusionType);
+            out.writeObject(_propertyName);
+            out.writeObject(_defaultImpl);
+        }
+
+        static Value _readCompact(ObjectInput in) throws IOException, ClassNotFoundException
+        {
+            final int flags = in.readUnsignedByte();
+            if ((flags >> 3) != 0) {
+                throw new IllegalArgumentException("Invalid settings 0x"+Integer.toHexString(flags));
+            }
+            final Id idType = ValueSerializationProxy.readEnum(in, Id.class);
+            final As inclusionType = ValueSerializationProxy.readEnum(in, As.class);
+            final String propertyName = (String) in.readObject();
+            return _intern(new Value(idType, inclusionType,
+                    propertyName, (Class<?>) in.readObject(),
+                    (flags & 0x04) != 0,
+                    ValueSerializationProxy.fromTriState(flags & 0x03)));
         }
 
         /*
@@ -452,32 +543,32 @@ public @interface JsonTypeInfo
 
         public Value withDefaultImpl(Class<?> impl) {
             return (impl == _defaultImpl) ? this :
-                new Value(_idType, _inclusionType, _propertyName, impl, _idVisible, _requireTypeIdForSubtypes);
+                _intern(new Value(_idType, _inclusionType, _propertyName, impl, _idVisible, _requireTypeIdForSubtypes));
         }
 
         public Value withIdType(Id idType) {
             return (idType == _idType) ? this :
-                new Value(idType, _inclusionType, _propertyName, _defaultImpl, _idVisible, _requireTypeIdForSubtypes);
+                _intern(new Value(idType, _inclusionType, _propertyName, _defaultImpl, _idVisible, _requireTypeIdForSubtypes));
         }
 
         public Value withInclusionType(As inclusionType) {
             return (inclusionType == _inclusionType) ? this :
-                new Value(_idType, inclusionType, _propertyName, _defaultImpl, _idVisible, _requireTypeIdForSubtypes);
+                _intern(new Value(_idType, inclusionType, _propertyName, _defaultImpl, _idVisible, _requireTypeIdForSubtypes));
         }
 
         public Value withPropertyName(String propName) {
             return (propName == _propertyName) ? this :
-                new Value(_idType, _inclusionType, propName, _defaultImpl, _idVisible, _requireTypeIdForSubtypes);
+                _intern(new Value(_idType, _inclusionType, propName, _defaultImpl, _idVisible, _requireTypeIdForSubtypes));
         }
 
         public Value withIdVisible(boolean visible) {
             return (visible == _idVisible) ? this :
-                new Value(_idType, _inclusionType, _propertyName, _defaultImpl, visible, _requireTypeIdForSubtypes);
+                _intern(new Value(_idType, _inclusionType, _propertyName, _defaultImpl, visible, _requireTypeIdForSubtypes));
         }
         
         public Value withRequireTypeIdForSubtypes(Boolean requireTypeIdForSubtypes) {
             return (_requireTypeIdForSubtypes == requireTypeIdForSubtypes) ? this :
-                new Value(_idType, _inclusionType, _propertyName, _defaultImpl, _idVisible, requireTypeIdForSubtypes);
+                _intern(new Value(_idType, _inclusionType, _propertyName, _defaultImpl, _idVisible, requireTypeIdForSubtypes));
         }
 
         /*
@@ -525,14 +616,12 @@ public @interface JsonTypeInfo
 
         @Override
         public int hashCode() {
-            int hashCode = 1;
-            hashCode = 31 * hashCode + (_idType != null ? _idType.hashCode() : 0);
-            hashCode = 31 * hashCode + (_inclusionType != null ? _inclusionType.hashCode() : 0);
-            hashCode = 31 * hashCode + (_propertyName != null ? _propertyName.hashCode() : 0);
-            hashCode = 31 * hashCode + (_defaultImpl != null ? _defaultImpl.hashCode() : 0);
-            hashCode = 31 * hashCode + (_requireTypeIdForSubtypes ? 11 : -17);
-            hashCode = 31 * hashCode + (_idVisible ? 11 : -17);
-            return hashCode;
+            int h = _hashCode;
+            if (h == 0) {
+                h = _calcHash();
+                _hashCode = h;
+            }
+            return h;
         }
 
         @Override
@@ -553,5 +642,51 @@ public @interface JsonTypeInfo
                     && Objects.equals(a._requireTypeIdForSubtypes, b._requireTypeIdForSubtypes)
             ;
         }
+
+        /*
+        /**********************************************************************
+        /* Helper methods
+        /**********************************************************************
+         */
+
+        private int _calcHash()
+        {
+            // Enum/Class hash codes are identity-based: use names for stable values
+            int hashCode = 1;
+            hashCode = 31 * hashCode + (_idType != null ? _idType.name().hashCode() : 0);
+            hashCode = 31 * hashCode + (_inclusionType != null ? _inclusionType.name().hashCode() : 0);
+            hashCode = 31 * hashCode + (_propertyName != null ? _propertyName.hashCode() : 0);
+            hashCode = 31 * hashCode + (_defaultImpl != null ? _defaultImpl.getName().hashCode() : 0);
+            hashCode = 31 * hashCode + (_requireTypeIdForSubtypes == null ? 3
+                    : (_requireTypeIdForSubtypes ? 11 : -17));
+            hashCode = 31 * hashCode + (_idVisible ? 11 : -17);
+            // 0 is reserved for "not calculated"
+            return (hashCode == 0) ? 1 : hashCode;
+        }
+
+        /**
+         * Helper method for returning shared instance equal to given one, if one
+         * exists or may be retained. Instances with {@code defaultImpl} not loaded by
+         * bootstrap class loader are never retained, to avoid class loader leaks.
+         */
+        private static Value _intern(Value v)
+        {
+            final Class<?> impl = v._defaultImpl;
+            if ((impl != null) && (impl.getClassLoader() != null)) {
+                return v;
+            }
+            if (v.equals(EMPTY)) {
+                return EMPTY;
+            }
+            Value shared = Caches.INTERNED.get(v);
+            if (shared != null) {
+                return shared;
+            }
+            if (Caches.INTERNED.size() >= MAX_INTERNED) {
+                return v;
+            }
+            shared = Caches.INTERNED.putIfAbsent(v, v);
+            return (shared == null) ? v : shared;
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.fasterxml.jackson.annotation;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper class used for sharing {@link Locale}s constructed from locale Strings
+ * of {@link JsonFormat.Value}s (and {@link JsonFormat} annotations), to avoid
+ * construction of a new {@link Locale} for every value instance.
+ *
+ * @since 2.21
+ */
+final class LocaleCache
+{
+    /**
+     * Maximum number of locale Strings to cache: above which locales are
+     * constructed, but not cached.
+     */
+    private final static int MAX_ENTRIES = 200;
+
+    private final static ConcurrentHashMap<String, Locale> LOCALES = new ConcurrentHashMap<>();
+
+    private LocaleCache() { }
+
+    /**
+     * Method for finding {@link Locale} for given locale String: same as
+     * {@code new Locale(localeStr)} except that instance is shared.
+     */
+    public static Locale locale(String localeStr)
+    {
+        Locale locale = LOCALES.get(localeStr);
+        if (locale == null) {
+            locale = new Locale(localeStr);
+            if (LOCALES.size() < MAX_ENTRIES) {
+                Locale old = LOCALES.putIfAbsent(localeStr, locale);
+                if (old != null) {
+                    locale = old;
+                }
+            }
+        }
+        return locale;
+    }
+
+    static int size() {
+        return LOCALES.size();
+    }
+}
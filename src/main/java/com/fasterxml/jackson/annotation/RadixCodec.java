@@ -0,0 +1,532 @@
+package com.fasterxml.jackson.annotation;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helper class for encoding and decoding integral numbers using radix
+ * specified with {@link JsonFormat#radix()} (see {@link JsonFormat.Value#getRadix()}),
+ * directly into and from caller-provided {@code char[]} and {@code byte[]} buffers,
+ * using precomputed digit tables, without allocating intermediate {@link String}s.
+ *<p>
+ * Encoding uses lower-case digits, same as {@link Long#toString(long, int)};
+ * decoding accepts both lower- and upper-case digits, and an optional leading
+ * sign, same as {@link Long#parseLong(String, int)}
+ * (but only accepts ASCII digits).
+ *<p>
+ * Instances are immutable and thread-safe, and shared per radix.
+ *
+ * @since 2.21
+ */
+public final class RadixCodec
+{
+    public final static int MIN_RADIX = Character.MIN_RADIX;
+
+    public final static int MAX_RADIX = Character.MAX_RADIX;
+
+    /**
+     * Maximum length of an encoded {@code int} (for radix 2, with sign)
+     */
+    public final static int MAX_INT_LENGTH = 33;
+
+    /**
+     * Maximum length of an encoded {@code long} (for radix 2, with sign)
+     */
+    public final static int MAX_LONG_LENGTH = 65;
+
+    private final static char[] DIGIT_CHARS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final static byte[] DIGIT_BYTES = new byte[DIGIT_CHARS.length];
+
+    /**
+     * Values of ASCII digits (for radix 36); -1 for non-digits
+     */
+    private final static byte[] DIGIT_VALUES = new byte[128];
+    static {
+        java.util.Arrays.fill(DIGIT_VALUES, (byte) -1);
+        for (int i = 0; i < DIGIT_CHARS.length; ++i) {
+            final char c = DIGIT_CHARS[i];
+            DIGIT_BYTES[i] = (byte) c;
+            DIGIT_VALUES[c] = (byte) i;
+            DIGIT_VALUES[Character.toUpperCase(c)] = (byte) i;
+        }
+    }
+
+    private final static RadixCodec[] CODECS = new RadixCodec[MAX_RADIX+1];
+    static {
+        for (int radix = MIN_RADIX; radix <= MAX_RADIX; ++radix) {
+            CODECS[radix] = new RadixCodec(radix);
+        }
+    }
+
+    private final int _radix;
+
+    /**
+     * For radixes that are powers of two, number of bits per digit; 0 otherwise
+     */
+    private final int _shift;
+
+    /**
+     * Powers of radix ({@code radix^1}, {@code radix^2} and so on) that fit
+     * in a {@code long}; used for calculating lengths of encoded values
+     */
+    private final long[] _powers;
+
+    /**
+     * Limits used for detecting overflow when decoding, as (negative) accumulated
+     * values before multiplication by radix; for negative and non-negative values
+     */
+    private final int _intMultMinNeg, _intMultMinPos;
+    private final long _longMultMinNeg, _longMultMinPos;
+
+    private RadixCodec(int radix)
+    {
+        _radix = radix;
+        _shift = ((radix & (radix - 1)) == 0) ? Integer.numberOfTrailingZeros(radix) : 0;
+        int count = 0;
+        for (long p = radix; p <= Long.MAX_VALUE / radix; p *= radix) {
+            ++count;
+        }
+        _powers = new long[count+1];
+        long p = 1L;
+        for (int i = 0; i < _powers.length; ++i) {
+            p *= radix;
+            _powers[i] = p;
+        }
+        _intMultMinNeg = Integer.MIN_VALUE / radix;
+        _intMultMinPos = -Integer.MAX_VALUE / radix;
+        _longMultMinNeg = Long.MIN_VALUE / radix;
+        _longMultMinPos = -Long.MAX_VALUE / radix;
+    }
+
+    /**
+     * Accessor for codec of given radix.
+     *
+     * @throws IllegalArgumentException if radix is not between {@link #MIN_RADIX}
+     *    and {@link #MAX_RADIX} (inclusive)
+     */
+    public static RadixCodec forRadix(int radix)
+    {
+        if (radix < MIN_RADIX || radix > MAX_RADIX) {
+            throw new IllegalArgumentException("Invalid radix "+radix+": must be between "
+                    +MIN_RADIX+" and "+MAX_RADIX);
+        }
+        return CODECS[radix];
+    }
+
+    /**
+     * Accessor for codec of radix of given format value; or, if format does not
+     * specify radix (has {@link JsonFormat#DEFAULT_RADIX}), of given default radix.
+     */
+    public static RadixCodec forFormat(JsonFormat.Value format, int defaultRadix) {
+        final int radix = format.getRadix();
+        return forRadix((radix == JsonFormat.DEFAULT_RADIX) ? defaultRadix : radix);
+    }
+
+    public int getRadix() {
+        return _radix;
+    }
+
+    /*
+    /**********************************************************************
+    /* Encoding
+    /**********************************************************************
+     */
+
+    /**
+     * @return Number of characters needed for encoding given value (including sign, if any)
+     */
+    public int encodedLength(long value)
+    {
+        final int sign = (value < 0) ? 1 : 0;
+        if (_shift != 0) {
+            // note: works for Long.MIN_VALUE too, as unsigned magnitude
+            final long mag = (value < 0) ? -value : value;
+            final int bits = 64 - Long.numberOfLeadingZeros(mag);
+            return sign + ((bits == 0) ? 1 : ((bits + _shift - 1) / _shift));
+        }
+        // use negative values to cover Long.MIN_VALUE
+        final long neg = (value < 0) ? value : -value;
+        final long[] powers = _powers;
+        int len = 1;
+        while ((len <= powers.length) && (neg <= -powers[len-1])) {
+            ++len;
+        }
+        return sign + len;
+    }
+
+    /**
+     * Method for encoding given value into given buffer, starting at given offset.
+     * Caller must ensure that there is enough room (see {@link #encodedLength(long)}
+     * and {@link #MAX_INT_LENGTH}).
+     *
+     * @return Offset after the last character written
+     */
+    public int encode(int value, char[] buffer, int offset) {
+        return encode((long) value, buffer, offset);
+    }
+
+    /**
+     * Method for encoding given value into given buffer, starting at given offset.
+     * Caller must ensure that there is enough room (see {@link #encodedLength(long)}
+     * and {@link #MAX_LONG_LENGTH}).
+     *
+     * @return Offset after the last character written
+     */
+    public int encode(long value, char[] buffer, int offset)
+    {
+        final int end = offset + encodedLength(value);
+        int ix = end;
+        if (_shift != 0) {
+            final int mask = _radix - 1;
+            long mag = (value < 0) ? -value : value;
+            do {
+                buffer[--ix] = DIGIT_CHARS[(int) mag & mask];
+                mag >>>= _shift;
+            } while (mag != 0L);
+        } else {
+            long neg = (value < 0) ? value : -value;
+            do {
+                buffer[--ix] = DIGIT_CHARS[(int) -(neg % _radix)];
+                neg /= _radix;
+            } while (neg != 0L);
+        }
+        if (value < 0) {
+            buffer[--ix] = '-';
+        }
+        return end;
+    }
+
+    /**
+     * Method for encoding given value into given buffer (as ASCII characters),
+     * starting at given offset.
+     * Caller must ensure that there is enough room (see {@link #encodedLength(long)}
+     * and {@link #MAX_INT_LENGTH}).
+     *
+     * @return Offset after the last byte written
+     */
+    public int encode(int value, byte[] buffer, int offset) {
+        return encode((long) value, buffer, offset);
+    }
+
+    /**
+     * Method for encoding given value into given buffer (as ASCII characters),
+     * starting at given offset.
+     * Caller must ensure that there is enough room (see {@link #encodedLength(long)}
+     * and {@link #MAX_LONG_LENGTH}).
+     *
+     * @return Offset after the last byte written
+     */
+    public int encode(long value, byte[] buffer, int offset)
+    {
+        final int end = offset + encodedLength(value);
+        int ix = end;
+        if (_shift != 0) {
+            final int mask = _radix - 1;
+            long mag = (value < 0) ? -value : value;
+            do {
+                buffer[--ix] = DIGIT_BYTES[(int) mag & mask];
+                mag >>>= _shift;
+            } while (mag != 0L);
+        } else {
+            long neg = (value < 0) ? value : -value;
+            do {
+                buffer[--ix] = DIGIT_BYTES[(int) -(neg % _radix)];
+                neg /= _radix;
+            } while (neg != 0L);
+        }
+        if (value < 0) {
+            buffer[--ix] = '-';
+        }
+        return end;
+    }
+
+    /**
+     * @return Number of characters needed for encoding given value (including sign, if any)
+     */
+    public int encodedLength(BigInteger value)
+    {
+        if (value.bitLength() < 64) {
+            return encodedLength(value.longValue());
+        }
+        return value.toString(_radix).length();
+    }
+
+    /**
+     * Method for encoding given value into given buffer, starting at given offset.
+     * Values that fit in a {@code long} are encoded without allocations; longer
+     * ones using {@link BigInteger#toString(int)}.
+     *
+     * @return Offset after the last character written
+     */
+    public int encode(BigInteger value, char[] buffer, int offset)
+    {
+        if (value.bitLength() < 64) {
+            return encode(value.longValue(), buffer, offset);
+        }
+        final String str = value.toString(_radix);
+        str.getChars(0, str.length(), buffer, offset);
+        return offset + str.length();
+    }
+
+    /**
+     * Method for encoding given value into given buffer, starting at given offset.
+     * Values that fit in a {@code long} are encoded without allocations; longer
+     * ones using {@link BigInteger#toString(int)}.
+     *
+     * @return Offset after the last byte written
+     */
+    public int encode(BigInteger value, byte[] buffer, int offset)
+    {
+        if (value.bitLength() < 64) {
+            return encode(value.longValue(), buffer, offset);
+        }
+        final String str = value.toString(_radix);
+        final int len = str.length();
+        for (int i = 0; i < len; ++i) {
+            buffer[offset+i] = (byte) str.charAt(i);
+        }
+        return offset + len;
+    }
+
+    /*
+    /**********************************************************************
+    /* Decoding
+    /**********************************************************************
+     */
+
+    /**
+     * @throws NumberFormatException if contents are not a valid {@code int}
+     *    in radix of this codec
+     */
+    public int decodeInt(char[] buffer, int offset, int len) throws NumberFormatException
+    {
+        final int end = offset + len;
+        int ix = offset;
+        boolean neg = false;
+        if (len > 0) {
+            final char first = buffer[ix];
+            if (first == '-' || first == '+') {
+                neg = (first == '-');
+                ++ix;
+            }
+        }
+        if (ix >= end) {
+            throw _invalid(buffer, offset, len);
+        }
+        final int limit = neg ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        final int multMin = neg ? _intMultMinNeg : _intMultMinPos;
+        int result = 0;
+        while (ix < end) {
+            final int digit = _digit(buffer[ix++]);
+            if (digit < 0 || result < multMin) {
+                throw _invalid(buffer, offset, len);
+            }
+            result *= _radix;
+            if (result < limit + digit) {
+                throw _invalid(buffer, offset, len);
+            }
+            result -= digit;
+        }
+        return neg ? result : -result;
+    }
+
+    /**
+     * @throws NumberFormatException if contents are not a valid {@code int}
+     *    in radix of this codec
+     */
+    public int decodeInt(byte[] buffer, int offset, int len) throws NumberFormatException
+    {
+        final int end = offset + len;
+        int ix = offset;
+        boolean neg = false;
+        if (len > 0) {
+            final byte first = buffer[ix];
+            if (first == '-' || first == '+') {
+                neg = (first == '-');
+                ++ix;
+            }
+        }
+        if (ix >= end) {
+            throw _invalid(buffer, offset, len);
+        }
+        final int limit = neg ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        final int multMin = neg ? _intMultMinNeg : _intMultMinPos;
+        int result = 0;
+        while (ix < end) {
+            final int digit = _digit(buffer[ix++] & 0xFF);
+            if (digit < 0 || result < multMin) {
+                throw _invalid(buffer, offset, len);
+            }
+            result *= _radix;
+            if (result < limit + digit) {
+                throw _invalid(buffer, offset, len);
+            }
+            result -= digit;
+        }
+        return neg ? result : -result;
+    }
+
+    /**
+     * @throws NumberFormatException if contents are not a valid {@code long}
+     *    in radix of this codec
+     */
+    public long decodeLong(char[] buffer, int offset, int len) throws NumberFormatException
+    {
+        final int end = offset + len;
+        int ix = offset;
+        boolean neg = false;
+        if (len > 0) {
+            final char first = buffer[ix];
+            if (first == '-' || first == '+') {
+                neg = (first == '-');
+                ++ix;
+            }
+        }
+        if (ix >= end) {
+            throw _invalid(buffer, offset, len);
+        }
+        final long limit = neg ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multMin = neg ? _longMultMinNeg : _longMultMinPos;
+        long result = 0L;
+        while (ix < end) {
+            final int digit = _digit(buffer[ix++]);
+            if (digit < 0 || result < multMin) {
+                throw _invalid(buffer, offset, len);
+            }
+            result *= _radix;
+            if (result < limit + digit) {
+                throw _invalid(buffer, offset, len);
+            }
+            result -= digit;
+        }
+        return neg ? result : -result;
+    }
+
+    /**
+     * @throws NumberFormatException if contents are not a valid {@code long}
+     *    in radix of this codec
+     */
+    public long decodeLong(byte[] buffer, int offset, int len) throws NumberFormatException
+    {
+        final int end = offset + len;
+        int ix = offset;
+        boolean neg = false;
+        if (len > 0) {
+            final byte first = buffer[ix];
+            if (first == '-' || first == '+') {
+                neg = (first == '-');
+                ++ix;
+            }
+        }
+        if (ix >= end) {
+            throw _invalid(buffer, offset, len);
+        }
+        final long limit = neg ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multMin = neg ? _longMultMinNeg : _longMultMinPos;
+        long result = 0L;
+        while (ix < end) {
+            final int digit = _digit(buffer[ix++] & 0xFF);
+            if (digit < 0 || result < multMin) {
+                throw _invalid(buffer, offset, len);
+            }
+            result *= _radix;
+            if (result < limit + digit) {
+                throw _invalid(buffer, offset, len);
+            }
+            result -= digit;
+        }
+        return neg ? result : -result;
+    }
+
+    /**
+     * Method for decoding arbitrary-length integral value. Values short enough
+     * to be guaranteed to fit in a {@code long} are decoded without intermediate
+     * allocations.
+     *
+     * @throws NumberFormatException if contents are not a valid integral value
+     *    in radix of this codec
+     */
+    public BigInteger decodeBigInteger(char[] buffer, int offset, int len) throws NumberFormatException
+    {
+        if (_fitsInLong(len)) {
+            return BigInteger.valueOf(decodeLong(buffer, offset, len));
+        }
+        _verifyDigits(buffer, offset, len);
+        return new BigInteger(new String(buffer, offset, len), _radix);
+    }
+
+    /**
+     * Method for decoding arbitrary-length integral value. Values short enough
+     * to be guaranteed to fit in a {@code long} are decoded without intermediate
+     * allocations.
+     *
+     * @throws NumberFormatException if contents are not a valid integral value
+     *    in radix of this codec
+     */
+    public BigInteger decodeBigInteger(byte[] buffer, int offset, int len) throws NumberFormatException
+    {
+        if (_fitsInLong(len)) {
+            return BigInteger.valueOf(decodeLong(buffer, offset, len));
+        }
+        final String str = new String(buffer, offset, len, StandardCharsets.ISO_8859_1);
+        final char[] chars = str.toCharArray();
+        _verifyDigits(chars, 0, chars.length);
+        return new BigInteger(str, _radix);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private int _digit(int ch) {
+        if (ch >= DIGIT_VALUES.length) {
+            return -1;
+        }
+        final int value = DIGIT_VALUES[ch];
+        return (value < _radix) ? value : -1;
+    }
+
+    // Whether all values of given length (possibly including sign) fit in a long
+    private boolean _fitsInLong(int len) {
+        return len <= _powers.length;
+    }
+
+    // to ensure non-ASCII digits BigInteger would accept are rejected
+    private void _verifyDigits(char[] buffer, int offset, int len)
+    {
+        int ix = offset;
+        final int end = offset + len;
+        if ((len > 0) && (buffer[ix] == '-' || buffer[ix] == '+')) {
+            ++ix;
+        }
+        if (ix >= end) {
+            throw _invalid(buffer, offset, len);
+        }
+        for (; ix < end; ++ix) {
+            if (_digit(buffer[ix]) < 0) {
+                throw _invalid(buffer, offset, len);
+            }
+        }
+    }
+
+    private NumberFormatException _invalid(char[] buffer, int offset, int len) {
+        return _invalid(new String(buffer, offset, len));
+    }
+
+    private NumberFormatException _invalid(byte[] buffer, int offset, int len) {
+        return _invalid(new String(buffer, offset, len, StandardCharsets.ISO_8859_1));
+    }
+
+    private NumberFormatException _invalid(String value) {
+        return new NumberFormatException("Invalid (or out of range) value for radix "
+                +_radix+": \""+value+"\"");
+    }
+
+    @Override
+    public String toString() {
+        return "RadixCodec(radix="+_radix+")";
+    }
+}
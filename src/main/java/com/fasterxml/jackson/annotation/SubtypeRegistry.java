@@ -0,0 +1,279 @@
+package com.fasterxml.jackson.annotation;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of polymorphic subtypes, keyed by base type and type id, as declared
+ * using {@link JsonSubTypes} (and {@link JsonTypeName}) on base types.
+ * Registries are usually populated by code generated at compile time
+ * by {@code jackson-annotations-processor} (see {@link Provider}), so that
+ * type id resolution needs no reflective access to annotations; but they
+ * may also be constructed explicitly using {@link #builder()}.
+ *<p>
+ * Lookups are transitive in the same way as {@link JsonSubTypes} is:
+ * subtypes of a registered subtype are also considered subtypes of the
+ * base type.
+ *<p>
+ * Instances are immutable and safe to share between threads.
+ *
+ * @since 2.21
+ */
+public final class SubtypeRegistry
+{
+    private final static SubtypeRegistry EMPTY = new SubtypeRegistry(
+            Collections.<Class<?>, Map<String, Class<?>>>emptyMap());
+
+    /**
+     * Lazily loaded default registry (see {@link #getDefault()}).
+     */
+    private static volatile SubtypeRegistry _default;
+
+    /**
+     * Direct subtypes, by base type
+     */
+    private final Map<Class<?>, Map<String, Class<?>>> _direct;
+
+    /**
+     * Lazily resolved transitive closures of subtypes, by base type
+     */
+    private final ConcurrentHashMap<Class<?>, Map<String, Class<?>>> _resolved
+        = new ConcurrentHashMap<>();
+
+    SubtypeRegistry(Map<Class<?>, Map<String, Class<?>>> direct) {
+        _direct = direct;
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    public static SubtypeRegistry empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Accessor for registry that contains subtypes registered by all
+     * {@link Provider}s visible to the class loader that loaded this class.
+     */
+    public static SubtypeRegistry getDefault() {
+        SubtypeRegistry reg = _default;
+        if (reg == null) {
+            // Racy but benign: at worst providers get loaded more than once
+            _default = reg = load(SubtypeRegistry.class.getClassLoader());
+        }
+        return reg;
+    }
+
+    /**
+     * Method for loading a registry that contains subtypes registered by all
+     * {@link Provider}s visible to given class loader.
+     *<p>
+     * NOTE: result is not cached (to avoid retaining class loaders), so caller
+     * is expected to retain it as necessary.
+     */
+    public static SubtypeRegistry load(ClassLoader loader) {
+        Builder b = builder();
+        for (Provider p : ServiceLoader.load(Provider.class, loader)) {
+            p.registerSubtypes(b);
+        }
+        return b.build();
+    }
+
+    /*
+    /**********************************************************************
+    /* Lookup methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return All base types that have directly registered subtypes
+     */
+    public Set<Class<?>> getBaseTypes() {
+        return Collections.unmodifiableSet(_direct.keySet());
+    }
+
+    public boolean hasSubtypes(Class<?> baseType) {
+        return _direct.containsKey(baseType);
+    }
+
+    /**
+     * Method for finding all subtypes of given base type, including ones registered
+     * for its subtypes, keyed by type id.
+     *
+     * @return Unmodifiable mapping from type id to subtype; empty if none registered
+     */
+    public Map<String, Class<?>> findSubtypes(Class<?> baseType) {
+        Map<String, Class<?>> subtypes = _resolved.get(baseType);
+        if (subtypes == null) {
+            if (!_direct.containsKey(baseType)) {
+                return Collections.emptyMap();
+            }
+            subtypes = Collections.unmodifiableMap(_resolve(baseType));
+            Map<String, Class<?>> old = _resolved.putIfAbsent(baseType, subtypes);
+            if (old != null) {
+                subtypes = old;
+            }
+        }
+        return subtypes;
+    }
+
+    /**
+     * @return Subtype of given base type with specified type id, if one registered;
+     *   {@code null} if not
+     */
+    public Class<?> findSubtype(Class<?> baseType, String typeId) {
+        return findSubtypes(baseType).get(typeId);
+    }
+
+    private Map<String, Class<?>> _resolve(Class<?> baseType)
+    {
+        Map<String, Class<?>> result = new LinkedHashMap<>();
+        Set<Class<?>> seen = new HashSet<>();
+        ArrayDeque<Class<?>> toCheck = new ArrayDeque<>();
+        toCheck.add(baseType);
+        seen.add(baseType);
+        while (!toCheck.isEmpty()) {
+            Map<String, Class<?>> direct = _direct.get(toCheck.removeFirst());
+            if (direct == null) {
+                continue;
+            }
+            for (Map.Entry<String, Class<?>> entry : direct.entrySet()) {
+                // closer declarations have precedence
+                if (!result.containsKey(entry.getKey())) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+                if (seen.add(entry.getValue())) {
+                    toCheck.add(entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SubtypeRegistry(%d base types)", _direct.size());
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper types
+    /**********************************************************************
+     */
+
+    /**
+     * Interface implemented by (usually generated) classes that register subtypes;
+     * discovered using {@link java.util.ServiceLoader}.
+     */
+    public interface Provider
+    {
+        public void registerSubtypes(Builder builder);
+    }
+
+    /**
+     * Builder used for constructing {@link SubtypeRegistry} instances.
+     * Not thread-safe.
+     */
+    public final static class Builder
+    {
+        private final Map<Class<?>, Map<String, Class<?>>> _subtypes = new LinkedHashMap<>();
+
+        Builder() { }
+
+        /**
+         * Method for registering given subtype of given base type under specified
+         * type ids. If a type id is already registered for the base type, the first
+         * registration is retained.
+         */
+        public Builder addSubtype(Class<?> baseType, Class<?> subtype, String... typeIds)
+        {
+            Map<String, Class<?>> subtypes = _subtypes.get(baseType);
+            if (subtypes == null) {
+                subtypes = new LinkedHashMap<>();
+                _subtypes.put(baseType, subtypes);
+            }
+            for (String id : typeIds) {
+                if (!subtypes.containsKey(id)) {
+                    subtypes.put(id, subtype);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Method for registering subtypes of given base type by reading its
+         * {@link JsonSubTypes} annotation (and recursively ones of subtypes)
+         * reflectively; type ids determined the same way as generated registries
+         * do (explicit names, {@link JsonTypeName}, unqualified class name).
+         * Useful as fallback for types for which no generated registrations exist.
+         */
+        public Builder addAnnotatedSubtypes(Class<?> baseType)
+        {
+            Set<Class<?>> seen = new HashSet<>();
+            ArrayDeque<Class<?>> toCheck = new ArrayDeque<>();
+            toCheck.add(baseType);
+            seen.add(baseType);
+            while (!toCheck.isEmpty()) {
+                final Class<?> type = toCheck.removeFirst();
+                JsonTypeName typeName = type.getAnnotation(JsonTypeName.class);
+                if ((typeName != null) && !typeName.value().isEmpty()
+                        && !java.lang.reflect.Modifier.isAbstract(type.getModifiers())) {
+                    addSubtype(type, type, typeName.value());
+                }
+                JsonSubTypes subTypes = type.getAnnotation(JsonSubTypes.class);
+                if (subTypes == null) {
+                    continue;
+                }
+                for (JsonSubTypes.Type t : subTypes.value()) {
+                    final Class<?> subtype = t.value();
+                    addSubtype(type, subtype, _typeIds(t));
+                    if (seen.add(subtype)) {
+                        toCheck.add(subtype);
+                    }
+                }
+            }
+            return this;
+        }
+
+        private static String[] _typeIds(JsonSubTypes.Type t)
+        {
+            Set<String> ids = new LinkedHashSet<>();
+            if (!t.name().isEmpty()) {
+                ids.add(t.name());
+            }
+            for (String name : t.names()) {
+                if (!name.isEmpty()) {
+                    ids.add(name);
+                }
+            }
+            if (ids.isEmpty()) {
+                JsonTypeName typeName = t.value().getAnnotation(JsonTypeName.class);
+                if ((typeName != null) && !typeName.value().isEmpty()) {
+                    ids.add(typeName.value());
+                } else {
+                    String name = t.value().getName();
+                    ids.add(name.substring(name.lastIndexOf('.') + 1));
+                }
+            }
+            return ids.toArray(new String[0]);
+        }
+
+        public SubtypeRegistry build() {
+            if (_subtypes.isEmpty()) {
+                return EMPTY;
+            }
+            Map<Class<?>, Map<String, Class<?>>> direct = new HashMap<>();
+            for (Map.Entry<Class<?>, Map<String, Class<?>>> entry : _subtypes.entrySet()) {
+                direct.put(entry.getKey(), new LinkedHashMap<>(entry.getValue()));
+            }
+            return new SubtypeRegistry(direct);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.fasterxml.jackson.annotation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable lookup table from type ids (as declared using {@link JsonSubTypes.Type#name()},
+ * {@link JsonSubTypes.Type#names()} and {@link JsonTypeName}) to subtypes, for use
+ * with {@link JsonTypeInfo.Id#NAME}. Uses minimal perfect hashing (hash-and-displace
+ * scheme) so that lookups take constant time, and allow matching ids directly from
+ * {@code char[]} and UTF-8 encoded {@code byte[]} ranges without allocation.
+ *<p>
+ * Hash codes are calculated over UTF-8 encoding of ids, so that all lookup methods
+ * produce the same hash for the same logical id.
+ *
+ * @since 2.21
+ */
+public final class TypeIdTable
+{
+    private final static TypeIdTable EMPTY = new TypeIdTable(new String[0], new Class<?>[0],
+            new int[1], 0, 0);
+
+    /**
+     * Maximum number of seeds to try for a single bucket before starting over
+     * with a different global seed
+     */
+    private final static int MAX_DISPLACEMENT_ATTEMPTS = 1 << 16;
+
+    private final static int MAX_GLOBAL_SEED_ATTEMPTS = 32;
+
+    /**
+     * Type ids, by slot
+     */
+    private final String[] _ids;
+
+    /**
+     * UTF-8 encoded type ids, by slot
+     */
+    private final byte[][] _utf8Ids;
+
+    /**
+     * Subtypes, by slot
+     */
+    private final Class<?>[] _types;
+
+    /**
+     * Displacement seeds, by bucket (first-level hash)
+     */
+    private final int[] _seeds;
+
+    /**
+     * Seed of the first-level hash
+     */
+    private final int _globalSeed;
+
+    /**
+     * Length of the longest UTF-8 encoded id, for quick rejection
+     */
+    private final int _maxUtf8Length;
+
+    private TypeIdTable(String[] ids, Class<?>[] types, int[] seeds, int globalSeed,
+            int maxUtf8Length)
+    {
+        _ids = ids;
+        _types = types;
+        _seeds = seeds;
+        _globalSeed = globalSeed;
+        _maxUtf8Length = maxUtf8Length;
+        _utf8Ids = new byte[ids.length][];
+        for (int i = 0; i < ids.length; ++i) {
+            _utf8Ids[i] = ids[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    public static TypeIdTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Factory method for constructing table for all subtypes of given base type:
+     * uses registrations of {@link SubtypeRegistry#getDefault()} if there are
+     * any for the type; and if not, introspects {@link JsonSubTypes} annotations
+     * (see {@link SubtypeRegistry.Builder#addAnnotatedSubtypes}).
+     */
+    public static TypeIdTable forBaseType(Class<?> baseType)
+    {
+        SubtypeRegistry reg = SubtypeRegistry.getDefault();
+        if (!reg.hasSubtypes(baseType)) {
+            reg = SubtypeRegistry.builder().addAnnotatedSubtypes(baseType).build();
+        }
+        return construct(reg.findSubtypes(baseType));
+    }
+
+    /**
+     * Factory method for constructing table from given mapping of type ids to types.
+     */
+    public static TypeIdTable construct(Map<String, Class<?>> subtypes)
+    {
+        final int count = subtypes.size();
+        if (count == 0) {
+            return EMPTY;
+        }
+        String[] ids = new String[count];
+        Class<?>[] types = new Class<?>[count];
+        int[] hashes = new int[count];
+        int maxLength = 0;
+        int ix = 0;
+        for (Map.Entry<String, Class<?>> entry : subtypes.entrySet()) {
+            ids[ix] = entry.getKey();
+            types[ix] = entry.getValue();
+            byte[] utf8 = ids[ix].getBytes(StandardCharsets.UTF_8);
+            maxLength = Math.max(maxLength, utf8.length);
+            ++ix;
+        }
+        for (int attempt = 0; attempt < MAX_GLOBAL_SEED_ATTEMPTS; ++attempt) {
+            final int globalSeed = attempt * 0x9E3779B9;
+            for (int i = 0; i < count; ++i) {
+                hashes[i] = _hash(ids[i], globalSeed);
+            }
+            int[] slots = new int[count];
+            int[] seeds = _displace(hashes, count, slots);
+            if (seeds != null) {
+                String[] slotIds = new String[count];
+                Class<?>[] slotTypes = new Class<?>[count];
+                for (int i = 0; i < count; ++i) {
+                    slotIds[slots[i]] = ids[i];
+                    slotTypes[slots[i]] = types[i];
+                }
+                return new TypeIdTable(slotIds, slotTypes, seeds, globalSeed, maxLength);
+            }
+        }
+        // Should never occur in practice: would require colliding 32-bit hashes
+        // with all global seeds
+        throw new IllegalArgumentException("Failed to construct perfect hash for type ids "
+                +subtypes.keySet());
+    }
+
+    /**
+     * Hash-and-displace construction: assigns keys to buckets using first-level
+     * hash, then (processing largest buckets first) finds a displacement seed per
+     * bucket that maps all of its keys to distinct free slots.
+     *
+     * @return Displacement seeds by bucket, if successful; {@code null} if not
+     */
+    private static int[] _displace(int[] hashes, int count, int[] slots)
+    {
+        final int bucketCount = (count + 1) >> 1;
+        List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; ++i) {
+            buckets.add(new ArrayList<Integer>(2));
+        }
+        for (int i = 0; i < count; ++i) {
+            buckets.get(_bucket(hashes[i], bucketCount)).add(i);
+        }
+        Integer[] order = new Integer[bucketCount];
+        for (int i = 0; i < bucketCount; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        final int[] seeds = new int[bucketCount];
+        final boolean[] taken = new boolean[count];
+        final int[] candidate = new int[count];
+        for (Integer b : order) {
+            List<Integer> keys = buckets.get(b);
+            if (keys.isEmpty()) {
+                break;
+            }
+            int seed = 1;
+            while (true) {
+                if (_tryPlace(keys, hashes, seed, count, taken, candidate)) {
+                    break;
+                }
+                if (++seed > MAX_DISPLACEMENT_ATTEMPTS) {
+                    return null;
+                }
+            }
+            seeds[b] = seed;
+            for (Integer key : keys) {
+                int slot = candidate[key];
+                taken[slot] = true;
+                slots[key] = slot;
+            }
+        }
+        return seeds;
+    }
+
+    private static boolean _tryPlace(List<Integer> keys, int[] hashes, int seed, int count,
+            boolean[] taken, int[] candidate)
+    {
+        for (int i = 0, end = keys.size(); i < end; ++i) {
+            final int key = keys.get(i);
+            final int slot = _slot(hashes[key], seed, count);
+            if (taken[slot]) {
+                return false;
+            }
+            // also need to check earlier keys of same bucket
+            for (int j = 0; j < i; ++j) {
+                if (candidate[keys.get(j)] == slot) {
+                    return false;
+                }
+            }
+            candidate[key] = slot;
+        }
+        return true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public int size() {
+        return _ids.length;
+    }
+
+    /**
+     * @return Type id at given index (as returned by one of {@code indexOf} methods)
+     */
+    public String idAt(int index) {
+        return _ids[index];
+    }
+
+    /**
+     * @return Subtype at given index (as returned by one of {@code indexOf} methods)
+     */
+    public Class<?> typeAt(int index) {
+        return _types[index];
+    }
+
+    /*
+    /**********************************************************************
+    /* Lookup methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return Index of given type id, if contained; {@code -1} if not
+     */
+    public int indexOf(String id)
+    {
+        if (_ids.length == 0) {
+            return -1;
+        }
+        final int ix = _slotFor(_hash(id, _globalSeed));
+        return id.equals(_ids[ix]) ? ix : -1;
+    }
+
+    /**
+     * @return Index of type id contained in given {@code char[]} range, if contained;
+     *    {@code -1} if not
+     */
+    public int indexOf(char[] buffer, int offset, int length)
+    {
+        // UTF-8 length is at least the number of chars
+        if ((_ids.length == 0) || (length > _maxUtf8Length)) {
+            return -1;
+        }
+        final int ix = _slotFor(_hash(buffer, offset, length, _globalSeed));
+        final String id = _ids[ix];
+        if (id.length() != length) {
+            return -1;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (id.charAt(i) != buffer[offset+i]) {
+                return -1;
+            }
+        }
+        return ix;
+    }
+
+    /**
+     * @return Index of type id contained in given UTF-8 encoded {@code byte[]} range,
+     *    if contained; {@code -1} if not
+     */
+    public int indexOf(byte[] utf8, int offset, int length)
+    {
+        if ((_ids.length == 0) || (length > _maxUtf8Length)) {
+            return -1;
+        }
+        final int ix = _slotFor(_hash(utf8, offset, length, _globalSeed));
+        final byte[] id = _utf8Ids[ix];
+        if (id.length != length) {
+            return -1;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (id[i] != utf8[offset+i]) {
+                return -1;
+            }
+        }
+        return ix;
+    }
+
+    /**
+     * @return Subtype with given type id, if any; {@code null} if none
+     */
+    public Class<?> find(String id) {
+        int ix = indexOf(id);
+        return (ix < 0) ? null : _types[ix];
+    }
+
+    public Class<?> find(char[] buffer, int offset, int length) {
+        int ix = indexOf(buffer, offset, length);
+        return (ix < 0) ? null : _types[ix];
+    }
+
+    public Class<?> find(byte[] utf8, int offset, int length) {
+        int ix = indexOf(utf8, offset, length);
+        return (ix < 0) ? null : _types[ix];
+    }
+
+    @Override
+    public String toString() {
+        return "TypeIdTable"+Arrays.toString(_ids);
+    }
+
+    /*
+    /**********************************************************************
+    /* Hashing
+    /**********************************************************************
+     */
+
+    private int _slotFor(int hash) {
+        return _slot(hash, _seeds[_bucket(hash, _seeds.length)], _ids.length);
+    }
+
+    private static int _bucket(int hash, int bucketCount) {
+        return (hash & 0x7FFFFFFF) % bucketCount;
+    }
+
+    private static int _slot(int hash, int seed, int count) {
+        return (_mix(hash ^ (seed * 0x85EBCA6B)) & 0x7FFFFFFF) % count;
+    }
+
+    // "fmix32" finalizer of MurmurHash3
+    private static int _mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    // FNV-1a step
+    private static int _add(int h, int b) {
+        return (h ^ (b & 0xFF)) * 0x01000193;
+    }
+
+    private static int _hash(byte[] utf8, int offset, int length, int seed)
+    {
+        int h = 0x811C9DC5 ^ seed;
+        for (int end = offset + length; offset < end; ++offset) {
+            h = _add(h, utf8[offset]);
+        }
+        return _mix(h);
+    }
+
+    private static int _hash(String str, int seed)
+    {
+        int h = 0x811C9DC5 ^ seed;
+        final int len = str.length();
+        for (int i = 0; i < len; ++i) {
+            final char c = str.charAt(i);
+            if (c < 0x80) {
+                h = _add(h, c);
+            } else if (Character.isHighSurrogate(c) && (i+1 < len)
+                    && Character.isLowSurrogate(str.charAt(i+1))) {
+                h = _addCodePoint(h, Character.toCodePoint(c, str.charAt(++i)));
+            } else {
+                h = _addCodePoint(h, c);
+            }
+        }
+        return _mix(h);
+    }
+
+    private static int _hash(char[] buffer, int offset, int length, int seed)
+    {
+        int h = 0x811C9DC5 ^ seed;
+        final int end = offset + length;
+        for (int i = offset; i < end; ++i) {
+            final char c = buffer[i];
+            if (c < 0x80) {
+                h = _add(h, c);
+            } else if (Character.isHighSurrogate(c) && (i+1 < end)
+                    && Character.isLowSurrogate(buffer[i+1])) {
+                h = _addCodePoint(h, Character.toCodePoint(c, buffer[++i]));
+            } else {
+                h = _addCodePoint(h, c);
+            }
+        }
+        return _mix(h);
+    }
+
+    /**
+     * Helper method for adding UTF-8 encoding of given non-ASCII code point
+     * (lone surrogates encoded as '?' like {@link String#getBytes} does)
+     */
+    private static int _addCodePoint(int h, int cp)
+    {
+        if (cp < 0x800) {
+            h = _add(h, 0xC0 | (cp >> 6));
+        } else if (cp < 0x10000) {
+            if (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE) {
+                return _add(h, '?');
+            }
+            h = _add(h, 0xE0 | (cp >> 12));
+            h = _add(h, 0x80 | ((cp >> 6) & 0x3F));
+        } else {
+            h = _add(h, 0xF0 | (cp >> 18));
+            h = _add(h, 0x80 | ((cp >> 12) & 0x3F));
+            h = _add(h, 0x80 | ((cp >> 6) & 0x3F));
+        }
+        return _add(h, 0x80 | (cp & 0x3F));
+    }
+}
@@ -0,0 +1,193 @@
+package com.fasterxml.jackson.annotation;
+
+import java.io.*;
+
+/**
+ * Serialization proxy used (via {@code writeReplace()}) for compact JDK serialization
+ * of {@link JacksonAnnotationValue}s (and {@link JsonFormat.Features}): instead of
+ * default serialization, which writes full class descriptors of value types (and
+ * enum types they refer to), values are written as a type tag followed by
+ * bit-packed boolean settings; enum constants are written as names, and Strings
+ * (and other objects) using {@link ObjectOutput#writeObject}, so that repeated
+ * instances within a stream are shared. As with default serialization, enum constants
+ * are resolved by name (not by ordinal), so streams remain readable by versions that
+ * add or reorder constants. Values are canonicalized on read, same as with default serialization
+ * (using {@code readResolve()}).
+ *<p>
+ * Actual serialization of each type is implemented by the type itself, in
+ * package-private {@code _writeCompact()} and {@code _readCompact()} methods.
+ *<p>
+ * NOTE: streams written using this proxy can not be read by versions prior to 2.21;
+ * but streams written by earlier versions (using default serialization) can be read.
+ *
+ * @since 2.21
+ */
+final class ValueSerializationProxy implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final static int TYPE_FORMAT = 1;
+    private final static int TYPE_FORMAT_FEATURES = 2;
+    private final static int TYPE_INCLUDE = 3;
+    private final static int TYPE_IGNORE_PROPERTIES = 4;
+    private final static int TYPE_INCLUDE_PROPERTIES = 5;
+    private final static int TYPE_AUTO_DETECT = 6;
+    private final static int TYPE_SETTER = 7;
+    private final static int TYPE_INJECT = 8;
+    private final static int TYPE_TYPE_INFO = 9;
+
+    private Object _value;
+
+    /**
+     * Constructor used by JDK serialization when reading proxy; should not be
+     * called by code otherwise.
+     */
+    public ValueSerializationProxy() { }
+
+    ValueSerializationProxy(Object value) {
+        _value = value;
+    }
+
+    Object getValue() {
+        return _value;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        final Object v = _value;
+        if (v instanceof JsonFormat.Value) {
+            out.writeByte(TYPE_FORMAT);
+            ((JsonFormat.Value) v)._writeCompact(out);
+        } else if (v instanceof JsonFormat.Features) {
+            out.writeByte(TYPE_FORMAT_FEATURES);
+            ((JsonFormat.Features) v)._writeCompact(out);
+        } else if (v instanceof JsonInclude.Value) {
+            out.writeByte(TYPE_INCLUDE);
+            ((JsonInclude.Value) v)._writeCompact(out);
+        } else if (v instanceof JsonIgnoreProperties.Value) {
+            out.writeByte(TYPE_IGNORE_PROPERTIES);
+            ((JsonIgnoreProperties.Value) v)._writeCompact(out);
+        } else if (v instanceof JsonIncludeProperties.Value) {
+            out.writeByte(TYPE_INCLUDE_PROPERTIES);
+            ((JsonIncludeProperties.Value) v)._writeCompact(out);
+        } else if (v instanceof JsonAutoDetect.Value) {
+            out.writeByte(TYPE_AUTO_DETECT);
+            ((JsonAutoDetect.Value) v)._writeCompact(out);
+        } else if (v instanceof JsonSetter.Value) {
+            out.writeByte(TYPE_SETTER);
+            ((JsonSetter.Value) v)._writeCompact(out);
+        } else if (v instanceof JacksonInject.Value) {
+            out.writeByte(TYPE_INJECT);
+            ((JacksonInject.Value) v)._writeCompact(out);
+        } else if (v instanceof JsonTypeInfo.Value) {
+            out.writeByte(TYPE_TYPE_INFO);
+            ((JsonTypeInfo.Value) v)._writeCompact(out);
+        } else {
+            throw new NotSerializableException("Unsupported value type: "
+                    +((v == null) ? "null" : v.getClass().getName()));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        final int type = in.readUnsignedByte();
+        try {
+            switch (type) {
+            case TYPE_FORMAT:
+                _value = JsonFormat.Value._readCompact(in);
+                break;
+            case TYPE_FORMAT_FEATURES:
+                _value = JsonFormat.Features._readCompact(in);
+                break;
+            case TYPE_INCLUDE:
+                _value = JsonInclude.Value._readCompact(in);
+                break;
+            case TYPE_IGNORE_PROPERTIES:
+                _value = JsonIgnoreProperties.Value._readCompact(in);
+                break;
+            case TYPE_INCLUDE_PROPERTIES:
+                _value = JsonIncludeProperties.Value._readCompact(in);
+                break;
+            case TYPE_AUTO_DETECT:
+                _value = JsonAutoDetect.Value._readCompact(in);
+                break;
+            case TYPE_SETTER:
+                _value = JsonSetter.Value._readCompact(in);
+                break;
+            case TYPE_INJECT:
+                _value = JacksonInject.Value._readCompact(in);
+                break;
+            case TYPE_TYPE_INFO:
+                _value = JsonTypeInfo.Value._readCompact(in);
+                break;
+            default:
+                throw new InvalidObjectException("Unrecognized value type "+type);
+            }
+        } catch (ClassCastException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            InvalidObjectException ioe = new InvalidObjectException("Invalid serialized value of type "
+                    +type+": "+e.getMessage());
+            ioe.initCause(e);
+            throw ioe;
+        }
+    }
+
+    private Object readResolve() {
+        return _value;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods for value types
+    /**********************************************************************
+     */
+
+    /**
+     * Method for writing given enum value (possibly {@code null}) by name,
+     * so that repeated values within a stream are shared.
+     */
+    static void writeEnum(ObjectOutput out, Enum<?> value) throws IOException {
+        out.writeObject((value == null) ? null : value.name());
+    }
+
+    /**
+     * Reverse of {@link #writeEnum}
+     *
+     * @throws InvalidObjectException If name does not match a constant of given type
+     */
+    static <E extends Enum<E>> E readEnum(ObjectInput in, Class<E> enumType)
+        throws IOException, ClassNotFoundException
+    {
+        final String name = (String) in.readObject();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, name);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException("Unknown constant '"+name+"' of enum type "
+                    +enumType.getName());
+        }
+    }
+
+    /**
+     * @return Tri-state {@link Boolean} encoded as 0 ({@code null}), 1 ({@code TRUE})
+     *    or 2 ({@code FALSE})
+     */
+    static int triState(Boolean b) {
+        return (b == null) ? 0 : (b.booleanValue() ? 1 : 2);
+    }
+
+    /**
+     * Reverse of {@link #triState}
+     */
+    static Boolean fromTriState(int value) {
+        switch (value) {
+        case 0: return null;
+        case 1: return Boolean.TRUE;
+        case 2: return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Invalid tri-state value "+value);
+    }
+}
@@ -0,0 +1,78 @@
+package com.fasterxml.jackson.annotation;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper class used for sharing resolved {@link TimeZone}s and {@link ZoneId}s
+ * by time zone id, to avoid repeated calls to {@link TimeZone#getTimeZone(String)}
+ * (which is synchronized, and returns a new copy for every call) when constructing
+ * {@link JsonFormat.Value}s.
+ *<p>
+ * NOTE: since {@link TimeZone} is mutable, cached {@link TimeZone} instances are
+ * never exposed: {@link #timeZone} returns a copy (which is much cheaper than
+ * resolving zone again), to be retained by the {@link JsonFormat.Value}.
+ *
+ * @since 2.21
+ */
+final class ZoneCache
+{
+    /**
+     * Maximum number of ids to cache: above which zones are resolved, but not cached.
+     */
+    private final static int MAX_ENTRIES = 500;
+
+    private final static ConcurrentHashMap<String, Zone> ZONES = new ConcurrentHashMap<>();
+
+    private ZoneCache() { }
+
+    /**
+     * Method for finding {@link TimeZone} for given id: same as
+     * {@link TimeZone#getTimeZone(String)} (including falling back to "GMT" for
+     * unrecognized ids) except that returned instance is copied from a shared one.
+     */
+    public static TimeZone timeZone(String id) {
+        return (TimeZone) _find(id).timeZone.clone();
+    }
+
+    /**
+     * Method for finding {@link ZoneId} for given id; resolved using
+     * {@link TimeZone#toZoneId()} so that id is interpreted the same way as
+     * with {@link #timeZone}.
+     */
+    public static ZoneId zoneId(String id) {
+        return _find(id).zoneId;
+    }
+
+    static int size() {
+        return ZONES.size();
+    }
+
+    private static Zone _find(String id)
+    {
+        Zone zone = ZONES.get(id);
+        if (zone == null) {
+            TimeZone tz = TimeZone.getTimeZone(id);
+            zone = new Zone(tz, tz.toZoneId());
+            if (ZONES.size() < MAX_ENTRIES) {
+                Zone old = ZONES.putIfAbsent(id, zone);
+                if (old != null) {
+                    zone = old;
+                }
+            }
+        }
+        return zone;
+    }
+
+    private final static class Zone
+    {
+        final TimeZone timeZone;
+        final ZoneId zoneId;
+
+        Zone(TimeZone tz, ZoneId zoneId) {
+            timeZone = tz;
+            this.zoneId = zoneId;
+        }
+    }
+}
@@ -1,4 +1,7 @@
 // Generated 08-Mar-2019 using Moditect maven plugin
 open module com.fasterxml.jackson.annotation {
     exports com.fasterxml.jackson.annotation;
+
+    // @since 2.21: generated subtype registries
+    uses com.fasterxml.jackson.annotation.SubtypeRegistry.Provider;
 }
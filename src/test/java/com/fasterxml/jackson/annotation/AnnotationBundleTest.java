@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationBundleTest
+{
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy")
+    @interface InnerBundle { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    @InnerBundle
+    @JsonSetter(nulls = Nulls.SKIP)
+    @JsonIgnoreProperties(value = { "a" }, ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Deprecated
+    @interface OuterBundle { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @JsonFormat(pattern = "first")
+    @JsonIgnore
+    @interface FirstBundle { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @JsonFormat(pattern = "second")
+    @interface SecondBundle { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @FirstBundle
+    @SecondBundle
+    @interface ConflictingBundles { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @JsonProperty("cyclic")
+    @CyclicB
+    @interface CyclicA { }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @JacksonAnnotationsInside
+    @CyclicA
+    @JsonIgnore
+    @interface CyclicB { }
+
+    @Test
+    public void testNonBundles()
+    {
+        assertFalse(AnnotationBundle.isBundle(JsonFormat.class));
+        assertFalse(AnnotationBundle.isBundle(String.class));
+        assertNull(AnnotationBundle.find(JsonFormat.class));
+        assertNull(AnnotationBundle.find(Deprecated.class));
+    }
+
+    @Test
+    public void testFlattening()
+    {
+        assertTrue(AnnotationBundle.isBundle(OuterBundle.class));
+        AnnotationBundle bundle = AnnotationBundle.find(OuterBundle.class);
+        assertNotNull(bundle);
+        assertSame(OuterBundle.class, bundle.getBundleType());
+        // Cached: same instance on subsequent calls
+        assertSame(bundle, AnnotationBundle.find(OuterBundle.class));
+
+        // Nested bundle expanded in place; only Jackson annotations included
+        assertEquals(4, bundle.getAnnotations().size());
+        assertFalse(bundle.hasAnnotation(InnerBundle.class));
+        assertFalse(bundle.hasAnnotation(JacksonAnnotationsInside.class));
+        assertFalse(bundle.hasAnnotation(Deprecated.class));
+
+        // Annotation of nested bundle overrides one declared before it...
+        assertEquals(JsonFormat.Value.forPattern("yyyy").withShape(JsonFormat.Shape.STRING),
+                bundle.findValue(JsonFormat.class, JsonFormat.Value.class));
+        // ... but is overridden by one declared after it
+        assertEquals(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL,
+                JsonInclude.Include.ALWAYS),
+                bundle.findValue(JsonInclude.class, JsonInclude.Value.class));
+        assertEquals(JsonSetter.Value.forValueNulls(Nulls.SKIP),
+                bundle.findValue(JsonSetter.class, JsonSetter.Value.class));
+        JsonIgnoreProperties.Value ignorals = bundle.findValue(JsonIgnoreProperties.class,
+                JsonIgnoreProperties.Value.class);
+        assertTrue(ignorals.getIgnoreUnknown());
+        assertEquals(new java.util.HashSet<>(Arrays.asList("a")), ignorals.getIgnored());
+
+        // Members also accessible for annotations without value types
+        assertNull(bundle.findValue(JsonProperty.class, JacksonAnnotationValue.class));
+        assertEquals("yyyy", AnnotationBundle.find(InnerBundle.class)
+                .findAnnotation(JsonFormat.class).getString("pattern"));
+    }
+
+    // Same as databind: last annotation of a type wins
+    @Test
+    public void testConflictingNestedBundles()
+    {
+        AnnotationBundle bundle = AnnotationBundle.find(ConflictingBundles.class);
+        assertEquals(2, bundle.getAnnotations().size());
+        assertEquals("second", bundle.findAnnotation(JsonFormat.class).getString("pattern"));
+        assertEquals(JsonFormat.Value.forPattern("second"),
+                bundle.findValue(JsonFormat.class, JsonFormat.Value.class));
+        // ordered by position of the winning annotation
+        assertEquals(JsonIgnore.class.getName(), bundle.getAnnotations().get(0).getType());
+        assertEquals(JsonFormat.class.getName(), bundle.getAnnotations().get(1).getType());
+    }
+
+    @Test
+    public void testCyclicBundles()
+    {
+        AnnotationBundle bundle = AnnotationBundle.find(CyclicA.class);
+        assertEquals(2, bundle.getAnnotations().size());
+        assertEquals("cyclic", bundle.findAnnotation(JsonProperty.class).getString("value"));
+        assertTrue(bundle.hasAnnotation(JsonIgnore.class));
+    }
+
+    @Test
+    public void testAnnotationInfoFromAnnotation() throws Exception
+    {
+        JsonFormat format = getClass().getDeclaredMethod("_annotated").getAnnotation(JsonFormat.class);
+        AnnotationIndex.AnnotationInfo info = AnnotationIndex.AnnotationInfo.from(format);
+        assertEquals(JsonFormat.class.getName(), info.getType());
+        assertEquals("STRING", info.get("shape"));
+        assertEquals(16, info.getInt("radix"));
+        assertArrayEquals(new Object[] { "WRITE_DATES_WITH_ZONE_ID" }, (Object[]) info.get("with"));
+        assertEquals(JsonFormat.Value.from(format), info.toValue(getClass().getClassLoader()));
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, radix = 16,
+            with = JsonFormat.Feature.WRITE_DATES_WITH_ZONE_ID)
+    private void _annotated() { }
+}
@@ -0,0 +1,119 @@
+package com.fasterxml.jackson.annotation;
+
+import java.io.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationIndexTest
+{
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        Map<String, Object> format = new LinkedHashMap<>();
+        format.put("pattern", "HH:mm");
+        format.put("shape", "STRING");
+        format.put("locale", JsonFormat.DEFAULT_LOCALE);
+        format.put("timezone", "UTC");
+        format.put("lenient", "TRUE");
+        format.put("radix", JsonFormat.DEFAULT_RADIX);
+        format.put("with", new Object[] { "WRITE_SORTED_MAP_ENTRIES" });
+        format.put("without", new Object[0]);
+
+        Map<String, Object> setter = new LinkedHashMap<>();
+        setter.put("value", "");
+        setter.put("nulls", "FAIL");
+        setter.put("contentNulls", "DEFAULT");
+
+        Map<String, Object> custom = new LinkedHashMap<>();
+        custom.put("b", (byte) 1);
+        custom.put("c", 'c');
+        custom.put("s", (short) 2);
+        custom.put("l", 3L);
+        custom.put("f", 0.5f);
+        custom.put("d", 0.25);
+        custom.put("z", Boolean.TRUE);
+        custom.put("nested", new AnnotationIndex.AnnotationInfo("x.Nested",
+                Collections.<String, Object>singletonMap("value", "abc")));
+
+        AnnotationIndex index = new AnnotationIndex("x.Pojo", Arrays.asList(
+                new AnnotationIndex.ElementInfo(AnnotationIndex.ElementKind.FIELD, "time",
+                        null, -1, Arrays.asList(
+                                new AnnotationIndex.AnnotationInfo(JsonFormat.class.getName(), format),
+                                new AnnotationIndex.AnnotationInfo("x.Custom", custom))),
+                new AnnotationIndex.ElementInfo(AnnotationIndex.ElementKind.METHOD, "setX",
+                        new String[] { "int" }, -1, Arrays.asList(
+                                new AnnotationIndex.AnnotationInfo(JsonSetter.class.getName(), setter)))));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.write(bytes);
+        AnnotationIndex result = AnnotationIndex.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("x.Pojo", result.getClassName());
+        assertEquals(2, result.getElements().size());
+        assertNull(result.forType());
+
+        ClassLoader loader = getClass().getClassLoader();
+        AnnotationIndex.ElementInfo field = result.findField("time");
+        JsonFormat.Value fv = field.findValue(JsonFormat.class, JsonFormat.Value.class, loader);
+        assertEquals(new JsonFormat.Value("HH:mm", JsonFormat.Shape.STRING, null, "UTC",
+                JsonFormat.Features.empty().with(JsonFormat.Feature.WRITE_SORTED_MAP_ENTRIES),
+                Boolean.TRUE, JsonFormat.DEFAULT_RADIX), fv);
+
+        AnnotationIndex.AnnotationInfo customInfo = field.findAnnotation("x.Custom");
+        assertEquals(custom.keySet(), customInfo.getMembers().keySet());
+        assertEquals(Byte.valueOf((byte) 1), customInfo.get("b"));
+        assertEquals(Character.valueOf('c'), customInfo.get("c"));
+        assertEquals(Short.valueOf((short) 2), customInfo.get("s"));
+        assertEquals(Long.valueOf(3L), customInfo.get("l"));
+        assertEquals(Float.valueOf(0.5f), customInfo.get("f"));
+        assertEquals(Double.valueOf(0.25), customInfo.get("d"));
+        assertTrue(customInfo.getBoolean("z"));
+        assertEquals("abc", ((AnnotationIndex.AnnotationInfo) customInfo.get("nested")).getString("value"));
+        assertNull(customInfo.toValue(loader));
+
+        assertEquals(JsonSetter.Value.forValueNulls(Nulls.FAIL),
+                result.findMethod("setX", "int").findValue(JsonSetter.class, JsonSetter.Value.class, loader));
+        assertNull(result.findMethod("setX", "long"));
+    }
+
+    @Test
+    public void testMissingAndInvalid() throws Exception
+    {
+        assertNull(AnnotationIndex.find(AnnotationIndexTest.class));
+        assertThrows(IOException.class,
+                () -> AnnotationIndex.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6 })));
+    }
+
+    @Test
+    public void testPrimitiveClassMembers() throws Exception
+    {
+        Map<String, Object> members = new LinkedHashMap<>();
+        members.put("as", "int");
+        members.put("none", "void");
+        members.put("array", "[I");
+        members.put("type", String.class.getName());
+        AnnotationIndex.AnnotationInfo info = new AnnotationIndex.AnnotationInfo("x.Custom", members);
+        ClassLoader loader = getClass().getClassLoader();
+        assertSame(Integer.TYPE, info.getClass("as", loader));
+        assertSame(Void.TYPE, info.getClass("none", loader));
+        assertSame(int[].class, info.getClass("array", loader));
+        assertSame(String.class, info.getClass("type", loader));
+        assertNull(info.getClass("missing", loader));
+    }
+
+    @Test
+    public void testTooLargeToWrite() throws Exception
+    {
+        // array length is written as unsigned short: must fail, not truncate
+        Object[] values = new Object[0x10000];
+        Arrays.fill(values, "x");
+        AnnotationIndex index = new AnnotationIndex("x.Pojo", Arrays.asList(
+                new AnnotationIndex.ElementInfo(AnnotationIndex.ElementKind.TYPE, "x.Pojo",
+                        null, -1, Arrays.asList(new AnnotationIndex.AnnotationInfo("x.Custom",
+                                Collections.<String, Object>singletonMap("value", values))))));
+        IOException e = assertThrows(IOException.class, () -> index.write(new ByteArrayOutputStream()));
+        assertTrue(e.getMessage().contains("too many array elements"), e.getMessage());
+    }
+}
@@ -0,0 +1,169 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.Annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationValueCacheTest
+{
+    // Annotation implementation that counts calls to its members
+    static class CountingSetter implements JsonSetter
+    {
+        int calls;
+
+        @Override
+        public String value() { ++calls; return ""; }
+
+        @Override
+        public Nulls nulls() { ++calls; return Nulls.SKIP; }
+
+        @Override
+        public Nulls contentNulls() { ++calls; return Nulls.FAIL; }
+
+        @Override
+        public Class<? extends Annotation> annotationType() { return JsonSetter.class; }
+    }
+
+    static class CountingInclude implements JsonInclude
+    {
+        final Include _value, _content;
+        int calls;
+
+        CountingInclude(Include value, Include content) {
+            _value = value;
+            _content = content;
+        }
+
+        @Override
+        public Include value() { ++calls; return _value; }
+
+        @Override
+        public Include content() { ++calls; return _content; }
+
+        @Override
+        public Class<?> valueFilter() { ++calls; return Void.class; }
+
+        @Override
+        public Class<?> contentFilter() { ++calls; return Void.class; }
+
+        @Override
+        public Class<? extends Annotation> annotationType() { return JsonInclude.class; }
+    }
+
+    static class CustomFilter { }
+
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = CustomFilter.class)
+    static class CustomInclude { }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, defaultImpl = CustomFilter.class)
+    static class CustomTypeInfo { }
+
+    @JsonIgnoreProperties({ "a", "b" })
+    @JsonIncludeProperties({ "c" })
+    static class IgnoreBogus { }
+
+    @Test
+    public void testNoAnnotationAccessWhenCached()
+    {
+        CountingSetter ann = new CountingSetter();
+        JsonSetter.Value v = JsonSetter.Value.from(ann);
+        assertEquals(JsonSetter.Value.construct(Nulls.SKIP, Nulls.FAIL), v);
+        final int calls = ann.calls;
+        assertTrue(calls > 0);
+
+        assertSame(v, JsonSetter.Value.from(ann));
+        assertEquals(calls, ann.calls);
+
+        // but keyed by identity, not equality
+        CountingSetter ann2 = new CountingSetter();
+        assertEquals(v, JsonSetter.Value.from(ann2));
+        assertEquals(calls, ann2.calls);
+    }
+
+    @Test
+    public void testNoIncludeAccessWhenCached()
+    {
+        CountingInclude ann = new CountingInclude(JsonInclude.Include.NON_NULL,
+                JsonInclude.Include.NON_EMPTY);
+        JsonInclude.Value v = JsonInclude.Value.from(ann);
+        final int calls = ann.calls;
+        assertTrue(calls > 0);
+        assertSame(v, JsonInclude.Value.from(ann));
+        assertEquals(calls, ann.calls);
+
+        // "use defaults" instances are cached as well
+        CountingInclude defaults = new CountingInclude(JsonInclude.Include.USE_DEFAULTS,
+                JsonInclude.Include.USE_DEFAULTS);
+        assertSame(JsonInclude.Value.empty(), JsonInclude.Value.from(defaults));
+        final int defaultCalls = defaults.calls;
+        assertTrue(defaultCalls > 0);
+        assertSame(JsonInclude.Value.empty(), JsonInclude.Value.from(defaults));
+        assertEquals(defaultCalls, defaults.calls);
+    }
+
+    @Test
+    public void testApplicationClassesNotCached()
+    {
+        JsonInclude incl = CustomInclude.class.getAnnotation(JsonInclude.class);
+        JsonInclude.Value v = JsonInclude.Value.from(incl);
+        assertSame(CustomFilter.class, v.getValueFilter());
+        assertNotSame(v, JsonInclude.Value.from(incl));
+        assertEquals(v, JsonInclude.Value.from(incl));
+
+        JsonTypeInfo typeInfo = CustomTypeInfo.class.getAnnotation(JsonTypeInfo.class);
+        JsonTypeInfo.Value tv = JsonTypeInfo.Value.from(typeInfo);
+        assertNotSame(tv, JsonTypeInfo.Value.from(typeInfo));
+        assertEquals(tv, JsonTypeInfo.Value.from(typeInfo));
+    }
+
+    @Test
+    public void testCache()
+    {
+        AnnotationValueCache<String> cache = new AnnotationValueCache<>();
+        CountingSetter ann = new CountingSetter();
+        assertNull(cache.get(ann));
+        assertEquals("a", cache.put(ann, "a"));
+        // first one retained
+        assertEquals("a", cache.put(ann, "b"));
+        assertEquals("a", cache.get(ann));
+        assertNull(cache.get(new CountingSetter()));
+        assertEquals(1, cache.size());
+
+        assertTrue(AnnotationValueCache.isCacheable(null));
+        assertTrue(AnnotationValueCache.isCacheable(String.class));
+        assertFalse(AnnotationValueCache.isCacheable(CustomFilter.class));
+    }
+
+    @Test
+    public void testEvictionWhenFull()
+    {
+        AnnotationValueCache<String> cache = new AnnotationValueCache<>();
+        // keep annotations reachable so that entries are not collected
+        CountingSetter[] anns = new CountingSetter[AnnotationValueCache.MAX_ENTRIES * 2];
+        for (int i = 0; i < anns.length; ++i) {
+            anns[i] = new CountingSetter();
+            cache.put(anns[i], "v"+i);
+            assertTrue(cache.size() <= AnnotationValueCache.MAX_ENTRIES);
+        }
+        // caching must not stop once full: latest entry is always cached
+        CountingSetter last = anns[anns.length - 1];
+        assertEquals("v"+(anns.length - 1), cache.get(last));
+        assertTrue(cache.size() > AnnotationValueCache.MAX_ENTRIES / 2);
+    }
+
+    @Test
+    public void testCachedSetsUnmodifiable()
+    {
+        JsonIgnoreProperties.Value ignored = JsonIgnoreProperties.Value.from(
+                IgnoreBogus.class.getAnnotation(JsonIgnoreProperties.class));
+        assertThrows(UnsupportedOperationException.class, () -> ignored.getIgnored().add("x"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> ignored.findIgnoredForSerialization().clear());
+
+        JsonIncludeProperties.Value included = JsonIncludeProperties.Value.from(
+                IgnoreBogus.class.getAnnotation(JsonIncludeProperties.class));
+        assertThrows(UnsupportedOperationException.class, () -> included.getIncluded().add("x"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassFileAnnotationReaderTest
+{
+    @JsonIgnoreProperties(value = { "a", "b" }, ignoreUnknown = true)
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = Integer.class)
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type", defaultImpl = Pojo.class)
+    @JsonSubTypes({ @JsonSubTypes.Type(value = Pojo.class, names = { "p", "q" }) })
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+    @Deprecated
+    static class Pojo
+    {
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd", locale = "fi",
+                timezone = "UTC", with = JsonFormat.Feature.WRITE_DATES_WITH_ZONE_ID,
+                lenient = OptBoolean.FALSE, radix = 16)
+        public Date date;
+
+        @Deprecated
+        public int notIndexed;
+
+        @JsonCreator
+        public Pojo(@JsonProperty("x") @JacksonInject("id") int[] x, String[][] y) { }
+
+        @JsonSetter(nulls = Nulls.SKIP)
+        @JsonIncludeProperties({ "x" })
+        public void setValue(List<String> v) { }
+
+        @JsonProperty(index = 3, defaultValue = "é\u0000😀")
+        public long value() { return 0L; }
+    }
+
+    class Inner {
+        public Inner(@JsonProperty("a") int a, @JacksonInject String b) { }
+    }
+
+    @Test
+    public void testAgainstReflection() throws Exception
+    {
+        ClassFileAnnotationReader reader = new ClassFileAnnotationReader(getClass().getClassLoader());
+        AnnotationIndex index = reader.read(Pojo.class.getName());
+        assertNotNull(index);
+        assertEquals(Pojo.class.getName(), index.getClassName());
+
+        // class annotations: all but `@Deprecated`
+        _verify(Pojo.class.getDeclaredAnnotations(), index.forType(), 5);
+        // fields
+        _verify(Pojo.class.getField("date").getAnnotations(), index.findField("date"), 1);
+        assertNull(index.findField("notIndexed"));
+        // constructor and parameters
+        Constructor<?> ctor = Pojo.class.getConstructor(int[].class, String[][].class);
+        final String[] ctorParams = { "[I", "[[Ljava.lang.String;" };
+        _verify(ctor.getAnnotations(), index.findConstructor(ctorParams), 1);
+        _verify(ctor.getParameterAnnotations()[0], index.findParameter("<init>", ctorParams, 0), 2);
+        assertNull(index.findParameter("<init>", ctorParams, 1));
+        // methods
+        _verify(Pojo.class.getMethod("setValue", List.class).getAnnotations(),
+                index.findMethod("setValue", "java.util.List"), 2);
+        _verify(Pojo.class.getMethod("value").getAnnotations(), index.findMethod("value"), 1);
+
+        // and finally values
+        ClassLoader loader = getClass().getClassLoader();
+        assertEquals(JsonTypeInfo.Value.from(Pojo.class.getAnnotation(JsonTypeInfo.class)),
+                index.forType().findValue(JsonTypeInfo.class, JsonTypeInfo.Value.class, loader));
+        assertEquals(JsonFormat.Value.from(Pojo.class.getField("date").getAnnotation(JsonFormat.class)),
+                index.findField("date").findValue(JsonFormat.class, JsonFormat.Value.class, loader));
+    }
+
+    @Test
+    public void testInnerClassConstructor() throws Exception
+    {
+        AnnotationIndex index = ClassFileAnnotationReader.readClass(Inner.class);
+        // first parameter is the (synthetic) outer instance
+        final String[] params = { getClass().getName(), "int", "java.lang.String" };
+        assertNull(index.findParameter("<init>", params, 0));
+        assertEquals("a", index.findParameter("<init>", params, 1)
+                .findAnnotation(JsonProperty.class).getString("value"));
+        assertTrue(index.findParameter("<init>", params, 2)
+                .findAnnotation(JacksonInject.class).getString("value").isEmpty());
+    }
+
+    @Test
+    public void testMissingAndInvalid()
+    {
+        ClassFileAnnotationReader reader = new ClassFileAnnotationReader(getClass().getClassLoader());
+        assertNull(reader.read("com.fasterxml.jackson.NoSuchClass"));
+        // class without Jackson annotations
+        assertEquals(0, reader.read(String.class.getName()).getElements().size());
+
+        assertThrows(IllegalArgumentException.class, () -> reader.read(new byte[] { 1, 2, 3, 4 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> reader.read(new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0 }));
+    }
+
+    private void _verify(Annotation[] exp, AnnotationIndex.ElementInfo act, int expCount)
+    {
+        assertNotNull(act);
+        assertEquals(expCount, act.getAnnotations().size());
+        for (Annotation ann : exp) {
+            AnnotationIndex.AnnotationInfo info = act.findAnnotation(ann.annotationType());
+            if (!ann.annotationType().isAnnotationPresent(JacksonAnnotation.class)) {
+                assertNull(info);
+                continue;
+            }
+            assertNotNull(info, "Missing @"+ann.annotationType().getSimpleName());
+            assertEquals(_normalize(AnnotationIndex.AnnotationInfo.from(ann)), _normalize(info));
+        }
+    }
+
+    // Need to convert arrays, ignore ordering of members
+    private static Object _normalize(Object value)
+    {
+        if (value instanceof AnnotationIndex.AnnotationInfo) {
+            AnnotationIndex.AnnotationInfo info = (AnnotationIndex.AnnotationInfo) value;
+            Map<String, Object> members = new TreeMap<>();
+            for (Map.Entry<String, Object> entry : info.getMembers().entrySet()) {
+                members.put(entry.getKey(), _normalize(entry.getValue()));
+            }
+            return info.getType() + members;
+        }
+        if (value instanceof Object[]) {
+            List<Object> result = new ArrayList<>();
+            for (Object v : (Object[]) value) {
+                result.add(_normalize(v));
+            }
+            return result;
+        }
+        // include type to catch mismatches like Integer vs Long
+        return value.getClass().getSimpleName() + ":" + value;
+    }
+}
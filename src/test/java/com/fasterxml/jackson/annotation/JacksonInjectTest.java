@@ -123,4 +123,33 @@ public class JacksonInjectTest
             fail();
         }
     }
+
+    @Test
+    public void testCanonicalInstances() throws Exception
+    {
+        // id-less combinations are all shared
+        assertSame(JacksonInject.Value.construct(null, true, false),
+                JacksonInject.Value.construct(null, Boolean.TRUE, Boolean.FALSE));
+        assertSame(EMPTY.withUseInput(false), JacksonInject.Value.construct(null, false, null));
+        assertSame(EMPTY, EMPTY.withOptional(true).withOptional(null));
+
+        // as are ones with String ids
+        JacksonInject.Value v = JacksonInject.Value.forId("canonical");
+        assertSame(v, JacksonInject.Value.forId(new String("canonical")));
+        assertSame(v, EMPTY.withId("canonical"));
+        assertSame(v.withUseInput(true), JacksonInject.Value.construct("canonical", true, null));
+        assertSame(v, v.withOptional(false).withOptional(null));
+
+        JacksonInject ann = Bogus.class.getField("field").getAnnotation(JacksonInject.class);
+        assertSame(JacksonInject.Value.from(ann), JacksonInject.Value.from(ann));
+
+        // and JDK deserialization resolves to canonical instances too
+        JacksonInject.Value v2 = v.withUseInput(false);
+        assertSame(v2, jdkDeserialize(jdkSerialize(v2)));
+
+        // but other kinds of ids are not retained
+        JacksonInject.Value idValue = JacksonInject.Value.forId(42);
+        assertEquals(idValue, JacksonInject.Value.forId(42));
+        assertEquals(Integer.valueOf(42), idValue.getId());
+    }
 }
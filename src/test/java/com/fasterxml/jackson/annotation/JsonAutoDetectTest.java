@@ -74,7 +74,8 @@ public class JsonAutoDetectTest
         JsonAutoDetect ann = Custom.class.getAnnotation(JsonAutoDetect.class);
         JsonAutoDetect.Value v = JsonAutoDetect.Value.from(ann);
         JsonAutoDetect.Value v2 = JsonAutoDetect.Value.from(ann);
-        assertNotSame(v, v2);
+        // cached by annotation instance (since 2.21)
+        assertSame(v, v2);
         assertEquals(v, v2);
         assertEquals(v2, v);
 
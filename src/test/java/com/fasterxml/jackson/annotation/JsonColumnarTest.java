@@ -0,0 +1,160 @@
+package com.fasterxml.jackson.annotation;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonColumnarTest
+    extends AnnotationTestUtil
+{
+    private final static class Bogus {
+        @JsonColumnar(order={ "time", "price" },
+                columns={ @JsonColumnar.Column(value="time", delta=OptBoolean.TRUE),
+                        @JsonColumnar.Column(value="price", encoding=JsonNumberEncoding.Encoding.ZIGZAG),
+                        @JsonColumnar.Column("label")
+                })
+        public List<Object> ticks;
+
+        @JsonColumnar(OptBoolean.FALSE)
+        public List<Object> rows;
+    }
+
+    private final JsonColumnar.Value EMPTY = JsonColumnar.Value.empty();
+
+    private final static JsonNumberEncoding.Value ZIGZAG
+        = JsonNumberEncoding.Value.forEncoding(JsonNumberEncoding.Encoding.ZIGZAG);
+
+    private final static JsonNumberEncoding.Value DELTA
+        = JsonNumberEncoding.Value.empty().withDelta(Boolean.TRUE);
+
+    @Test
+    public void testEmpty()
+    {
+        assertNull(EMPTY.getEnabled());
+        assertFalse(EMPTY.isEnabled());
+        assertEquals(Collections.emptyList(), EMPTY.getOrder());
+        assertEquals(Collections.emptyMap(), EMPTY.getColumnEncodings());
+        assertSame(JsonNumberEncoding.Value.empty(), EMPTY.findColumnEncoding("x"));
+
+        assertEquals(JsonColumnar.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonColumnar.Value(enabled=null,order=[],columnEncodings={})",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonColumnar.Value.from(null)); // legal
+
+        JsonColumnar ann = Bogus.class.getField("ticks").getAnnotation(JsonColumnar.class);
+        JsonColumnar.Value v = JsonColumnar.Value.from(ann);
+        assertTrue(v.isEnabled());
+        assertEquals(Arrays.asList("time", "price"), v.getOrder());
+        // column without encoding settings is dropped
+        assertEquals(2, v.getColumnEncodings().size());
+        assertEquals(DELTA, v.findColumnEncoding("time"));
+        assertEquals(ZIGZAG, v.findColumnEncoding("price"));
+        assertSame(JsonNumberEncoding.Value.empty(), v.findColumnEncoding("label"));
+        assertSame(v, JsonColumnar.Value.from(ann));
+
+        JsonColumnar.Value disabled = JsonColumnar.Value.from(Bogus.class.getField("rows")
+                .getAnnotation(JsonColumnar.class));
+        assertEquals(Boolean.FALSE, disabled.getEnabled());
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonColumnar.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonColumnar.Value.construct(null, null, null));
+        assertSame(EMPTY, JsonColumnar.Value.construct(null, Collections.<String>emptyList(),
+                Collections.singletonMap("x", JsonNumberEncoding.Value.empty())));
+        assertSame(EMPTY, JsonColumnar.Value.forEnabled(null));
+
+        JsonColumnar.Value v = JsonColumnar.Value.forOrder("b", "a");
+        assertTrue(v.isEnabled());
+        assertEquals(Arrays.asList("b", "a"), v.getOrder());
+
+        // should not be affected by changes to argument collections
+        List<String> order = new ArrayList<>(Arrays.asList("a"));
+        Map<String, JsonNumberEncoding.Value> encodings = new HashMap<>();
+        encodings.put("a", ZIGZAG);
+        v = JsonColumnar.Value.construct(Boolean.TRUE, order, encodings);
+        order.add("b");
+        encodings.clear();
+        assertEquals(Arrays.asList("a"), v.getOrder());
+        assertEquals(ZIGZAG, v.findColumnEncoding("a"));
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonColumnar.Value v = EMPTY.withEnabled(null);
+        assertSame(EMPTY, v);
+        v = v.withEnabled(Boolean.TRUE);
+        assertTrue(v.isEnabled());
+        assertSame(v, v.withEnabled(Boolean.TRUE));
+
+        JsonColumnar.Value v2 = v.withOrder("x", "y");
+        assertEquals(Arrays.asList("x", "y"), v2.getOrder());
+        assertSame(v2, v2.withOrder("x", "y"));
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        JsonColumnar.Value v3 = v2.withColumnEncoding("x", ZIGZAG);
+        assertEquals(ZIGZAG, v3.findColumnEncoding("x"));
+        assertSame(v3, v3.withColumnEncoding("x", ZIGZAG));
+        assertEquals(v2, v3.withColumnEncoding("x", null));
+
+        assertSame(EMPTY, v3.withEnabled(null).withOrder().withColumnEncoding("x", null));
+    }
+
+    @Test
+    public void testMerge() throws Exception
+    {
+        JsonColumnar.Value base = JsonColumnar.Value.from(Bogus.class.getField("ticks")
+                .getAnnotation(JsonColumnar.class));
+        JsonColumnar.Value overrides = JsonColumnar.Value.forEnabled(Boolean.FALSE)
+                .withColumnEncoding("time", JsonNumberEncoding.Value.forEncoding(JsonNumberEncoding.Encoding.FIXED64))
+                .withColumnEncoding("size", ZIGZAG);
+
+        JsonColumnar.Value merged = base.withOverrides(overrides);
+        assertEquals(Boolean.FALSE, merged.getEnabled());
+        assertEquals(base.getOrder(), merged.getOrder());
+        // encodings merged per column
+        assertEquals(JsonNumberEncoding.Value.construct(JsonNumberEncoding.Encoding.FIXED64, Boolean.TRUE),
+                merged.findColumnEncoding("time"));
+        assertEquals(ZIGZAG, merged.findColumnEncoding("price"));
+        assertEquals(ZIGZAG, merged.findColumnEncoding("size"));
+
+        assertEquals(Arrays.asList("z"), base.withOverrides(EMPTY.withOrder("z")).getOrder());
+        assertSame(base, base.withOverrides(EMPTY));
+        assertSame(base, base.withOverrides(null));
+        assertSame(base, base.withOverrides(EMPTY.withEnabled(Boolean.TRUE)));
+        assertSame(base, base.withOverrides(EMPTY.withColumnEncoding("price", ZIGZAG)));
+
+        assertSame(overrides, JsonColumnar.Value.merge(null, overrides));
+        assertEquals(merged, JsonColumnar.Value.merge(base, overrides));
+    }
+}
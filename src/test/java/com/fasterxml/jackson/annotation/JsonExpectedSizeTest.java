@@ -0,0 +1,125 @@
+package com.fasterxml.jackson.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonExpectedSizeTest
+    extends AnnotationTestUtil
+{
+    private final static class Bogus {
+        @JsonExpectedSize(value=1000, key=8)
+        public java.util.Map<String, Object> field;
+    }
+
+    private final JsonExpectedSize.Value EMPTY = JsonExpectedSize.Value.empty();
+
+    @Test
+    public void testEmpty()
+    {
+        assertEquals(JsonExpectedSize.SIZE_UNKNOWN, EMPTY.getValueSize());
+        assertEquals(JsonExpectedSize.SIZE_UNKNOWN, EMPTY.getContentSize());
+        assertEquals(JsonExpectedSize.SIZE_UNKNOWN, EMPTY.getKeySize());
+        assertFalse(EMPTY.hasValueSize());
+        assertFalse(EMPTY.hasContentSize());
+        assertFalse(EMPTY.hasKeySize());
+
+        assertEquals(JsonExpectedSize.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonExpectedSize.Value(value=-1,content=-1,key=-1)",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonExpectedSize.Value.from(null)); // legal
+
+        JsonExpectedSize ann = Bogus.class.getField("field").getAnnotation(JsonExpectedSize.class);
+        JsonExpectedSize.Value v = JsonExpectedSize.Value.from(ann);
+        assertEquals(1000, v.getValueSize());
+        assertEquals(JsonExpectedSize.SIZE_UNKNOWN, v.getContentSize());
+        assertEquals(8, v.getKeySize());
+        assertSame(v, JsonExpectedSize.Value.from(ann));
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonExpectedSize.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonExpectedSize.Value.construct(-1, -1, -1));
+        // negative sizes mean "unknown"
+        assertSame(EMPTY, JsonExpectedSize.Value.construct(-5, -1, Integer.MIN_VALUE));
+        JsonExpectedSize.Value v = JsonExpectedSize.Value.construct(0, 10, -2);
+        assertEquals(0, v.getValueSize());
+        assertEquals(10, v.getContentSize());
+        assertEquals(JsonExpectedSize.SIZE_UNKNOWN, v.getKeySize());
+    }
+
+    @Test
+    public void testFactories() throws Exception
+    {
+        JsonExpectedSize.Value v = JsonExpectedSize.Value.forValueSize(20);
+        assertEquals(20, v.getValueSize());
+        assertFalse(v.hasContentSize());
+        v = JsonExpectedSize.Value.forContentSize(5);
+        assertEquals(5, v.getContentSize());
+        assertFalse(v.hasValueSize());
+        v = JsonExpectedSize.Value.forKeySize(3);
+        assertEquals(3, v.getKeySize());
+        assertFalse(v.hasValueSize());
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonExpectedSize.Value v = EMPTY.withValueSize(-1);
+        assertSame(EMPTY, v);
+        v = v.withValueSize(100);
+        assertEquals(100, v.getValueSize());
+        assertSame(v, v.withValueSize(100));
+
+        JsonExpectedSize.Value v2 = v.withContentSize(4).withKeySize(6);
+        assertEquals(4, v2.getContentSize());
+        assertEquals(6, v2.getKeySize());
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        assertSame(EMPTY, v2.withValueSize(-1).withContentSize(-1).withKeySize(-1));
+    }
+
+    @Test
+    public void testMerge()
+    {
+        JsonExpectedSize.Value base = JsonExpectedSize.Value.construct(10, 20, 30);
+        JsonExpectedSize.Value overrides = JsonExpectedSize.Value.forContentSize(50);
+
+        JsonExpectedSize.Value merged = base.withOverrides(overrides);
+        assertEquals(JsonExpectedSize.Value.construct(10, 50, 30), merged);
+        assertSame(base, base.withOverrides(EMPTY));
+        assertSame(base, base.withOverrides(null));
+        assertSame(base, base.withOverrides(JsonExpectedSize.Value.forValueSize(10)));
+
+        assertSame(overrides, JsonExpectedSize.Value.merge(null, overrides));
+        assertEquals(merged, JsonExpectedSize.Value.merge(base, overrides));
+        assertEquals(overrides, JsonExpectedSize.Value.merge(EMPTY, overrides));
+    }
+}
@@ -0,0 +1,92 @@
+package com.fasterxml.jackson.annotation;
+
+import com.fasterxml.jackson.annotation.JsonFormat.PatternInfo;
+import com.fasterxml.jackson.annotation.JsonFormat.PatternInfo.Kind;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JsonFormat.PatternInfo}
+ */
+public class JsonFormatPatternInfoTest
+{
+    @Test
+    public void testNoPattern() {
+        PatternInfo info = JsonFormat.Value.empty().getPatternInfo();
+        assertEquals(Kind.NONE, info.getKind());
+        assertEquals(0, info.getFixedLength());
+        assertFalse(info.requiresLocale());
+        assertFalse(info.requiresZone());
+        assertSame(info, PatternInfo.analyze(null));
+    }
+
+    @Test
+    public void testIso8601() {
+        _verify("yyyy-MM-dd", Kind.ISO_8601, 10, false, false);
+        _verify("yyyy-MM-dd'T'HH:mm", Kind.ISO_8601, 16, false, false);
+        _verify("yyyy-MM-dd'T'HH:mm:ss", Kind.ISO_8601, 19, false, false);
+        _verify("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Kind.ISO_8601, 24, false, false);
+        _verify("yyyy-MM-dd'T'HH:mm:ss.SSSZ", Kind.ISO_8601, 28, false, true);
+        _verify("yyyy-MM-dd'T'HH:mm:ss.SSSxxx", Kind.ISO_8601, 29, false, true);
+        // "Z" or offset: variable length
+        _verify("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", Kind.ISO_8601, -1, false, true);
+    }
+
+    @Test
+    public void testNumeric() {
+        _verify("dd.MM.yyyy", Kind.NUMERIC, 10, false, false);
+        _verify("yyyyMMddHHmmss", Kind.NUMERIC, 14, false, false);
+        _verify("yyyy-MM-dd HH:mm:ss", Kind.NUMERIC, 19, false, false);
+        _verify("d/M/yy", Kind.NUMERIC, -1, false, false);
+        _verify("HH 'o''clock'", Kind.NUMERIC, 10, false, false);
+        _verify("yyyy-DDD", Kind.NUMERIC, 8, false, false);
+    }
+
+    @Test
+    public void testTextual() {
+        _verify("dd MMM yyyy", Kind.TEXTUAL, -1, true, false);
+        _verify("EEE, dd MMM yyyy HH:mm:ss zzz", Kind.TEXTUAL, -1, true, true);
+        _verify("hh:mm a", Kind.TEXTUAL, -1, true, false);
+    }
+
+    @Test
+    public void testCustom() {
+        _verify("yyyy-ww", Kind.CUSTOM, -1, false, false);
+        _verify("yyyy-MM-dd['T'HH:mm]", Kind.CUSTOM, -1, false, false);
+        _verify("yyyy 'unclosed", Kind.CUSTOM, -1, false, false);
+    }
+
+    // Letters with different meaning for SimpleDateFormat and DateTimeFormatter
+    @Test
+    public void testAmbiguousLetters() {
+        // 'u': year vs day-of-week number
+        _verify("uuuu-MM-dd", Kind.CUSTOM, -1, false, false);
+        _verify("uuuu-MM-dd'T'HH:mm", Kind.CUSTOM, -1, false, false);
+        // 'S': fraction vs milliseconds; same output only for "SSS"
+        _verify("HH:mm:ss.S", Kind.NUMERIC, -1, false, false);
+        _verify("HH:mm:ss.SSSSSS", Kind.NUMERIC, -1, false, false);
+        _verify("HH:mm:ss.SSS", Kind.NUMERIC, 12, false, false);
+        _verify("yyyy-MM-dd'T'HH:mm:ss.SSSSSS", Kind.NUMERIC, -1, false, false);
+    }
+
+    @Test
+    public void testCachedOnValue() {
+        JsonFormat.Value v = JsonFormat.Value.forPattern("yyyy-MM-dd");
+        assertSame(v.getPatternInfo(), v.getPatternInfo());
+        assertEquals("yyyy-MM-dd", v.getPatternInfo().getPattern());
+        assertEquals(Kind.NUMERIC, v.withPattern("dd.MM.yyyy").getPatternInfo().getKind());
+    }
+
+    private void _verify(String pattern, Kind kind, int length,
+            boolean requiresLocale, boolean requiresZone)
+    {
+        PatternInfo info = PatternInfo.analyze(pattern);
+        assertEquals(kind, info.getKind(), "Kind of '"+pattern+"'");
+        assertEquals(length, info.getFixedLength(), "Length of '"+pattern+"'");
+        assertEquals(length >= 0, info.hasFixedLength());
+        assertEquals(requiresLocale, info.requiresLocale(), "Locale for '"+pattern+"'");
+        assertEquals(requiresZone, info.requiresZone(), "Zone for '"+pattern+"'");
+    }
+}
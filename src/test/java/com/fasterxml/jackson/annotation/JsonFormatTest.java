@@ -1,5 +1,11 @@
 package com.fasterxml.jackson.annotation;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.TimeZone;
+
 import com.fasterxml.jackson.annotation.JsonFormat.Feature;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 
@@ -20,6 +26,19 @@ public class JsonFormatTest
     @JsonFormat(shape=JsonFormat.Shape.BOOLEAN, pattern="xyz", timezone="bogus")
     private final static class Bogus { }
 
+    @JsonFormat(locale="fi")
+    private final static class WithLocale1 { }
+
+    @JsonFormat(pattern="yyyy", locale="fi")
+    private final static class WithLocale2 { }
+
+    @JsonFormat(pattern="yyyy-MM-dd HH:mm", locale="en", timezone="UTC")
+    private final static class WithDateFormat1 { }
+
+    @JsonFormat(shape=JsonFormat.Shape.STRING, pattern="yyyy-MM-dd HH:mm",
+            locale="en", timezone="UTC")
+    private final static class WithDateFormat2 { }
+
     @Test
     public void testEmptyInstanceDefaults() {
         JsonFormat.Value empty = JsonFormat.Value.empty();
@@ -84,6 +103,8 @@ public class JsonFormatTest
         assertEquals(JsonFormat.Shape.BOOLEAN, v.getShape());
         // note: since it's not valid, should not try access as real thing
         assertEquals("bogus", v.timeZoneAsString());
+        // cached by annotation instance
+        assertSame(v, JsonFormat.Value.from(ann));
 
         // [annotations#316]: let's also verify JDK serializability
         byte[] b = jdkSerialize(v);
@@ -284,4 +305,149 @@ public class JsonFormatTest
         JsonFormat.Value forBinaryRadix = JsonFormat.Value.forRadix(binaryRadix);
         assertEquals(binaryRadix, forBinaryRadix.getRadix());
     }
+
+    @Test
+    public void testTimeZoneAndZoneId() {
+        JsonFormat.Value v1 = JsonFormat.Value.forPattern("yyyy").withTimeZone(null);
+        assertNull(v1.getTimeZone());
+        assertNull(v1.getZoneId());
+
+        JsonFormat.Value v2 = new JsonFormat.Value("yyyy", Shape.STRING,
+                (String) null, "America/Chicago", null, null, DEFAULT_RADIX);
+        assertEquals("America/Chicago", v2.getTimeZone().getID());
+        assertEquals(ZoneId.of("America/Chicago"), v2.getZoneId());
+        assertSame(v2.getZoneId(), v2.getZoneId());
+
+        // zones shared across instances with the same id
+        JsonFormat.Value v3 = new JsonFormat.Value("dd", Shape.STRING,
+                (String) null, "America/Chicago", null, null, DEFAULT_RADIX);
+        assertSame(v2.getZoneId(), v3.getZoneId());
+
+        // but TimeZone is mutable so each value has its own copy
+        TimeZone tz = v2.getTimeZone();
+        assertSame(tz, v2.getTimeZone());
+        assertNotSame(tz, v3.getTimeZone());
+        tz.setID("Europe/Paris");
+        tz.setRawOffset(3600000);
+        assertEquals("America/Chicago", v3.getTimeZone().getID());
+        assertEquals(TimeZone.getTimeZone("America/Chicago").getRawOffset(),
+                v3.getTimeZone().getRawOffset());
+        JsonFormat.Value v2b = new JsonFormat.Value("yyyy", Shape.STRING,
+                (String) null, "America/Chicago", null, null, DEFAULT_RADIX);
+        assertEquals("America/Chicago", v2b.getTimeZone().getID());
+
+        // short ids resolved same way as TimeZone does; unknown ids as GMT
+        JsonFormat.Value v4 = new JsonFormat.Value("yyyy", Shape.STRING,
+                (String) null, "EST", null, null, DEFAULT_RADIX);
+        assertEquals(TimeZone.getTimeZone("EST").toZoneId(), v4.getZoneId());
+        JsonFormat.Value bogus = JsonFormat.Value.from(Bogus.class.getAnnotation(JsonFormat.class));
+        assertEquals("GMT", bogus.getTimeZone().getID());
+        assertEquals(ZoneId.of("GMT"), bogus.getZoneId());
+
+        // and instances constructed with TimeZone work too
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        JsonFormat.Value v5 = EMPTY.withTimeZone(utc);
+        assertSame(utc, v5.getTimeZone());
+        assertEquals(ZoneOffset.UTC.normalized(), v5.getZoneId().normalized());
+    }
+
+    @Test
+    public void testLocaleSharing() {
+        JsonFormat.Value v1 = JsonFormat.Value.from(WithLocale1.class.getAnnotation(JsonFormat.class));
+        JsonFormat.Value v2 = JsonFormat.Value.from(WithLocale2.class.getAnnotation(JsonFormat.class));
+        assertEquals(new Locale("fi"), v1.getLocale());
+        assertSame(v1.getLocale(), v2.getLocale());
+
+        JsonFormat.Value v3 = new JsonFormat.Value("", Shape.ANY, "fi", null,
+                null, null, DEFAULT_RADIX);
+        assertSame(v1.getLocale(), v3.getLocale());
+
+        // but default marker still means "no locale"
+        JsonFormat.Value v4 = new JsonFormat.Value("", Shape.ANY, JsonFormat.DEFAULT_LOCALE, null,
+                null, null, DEFAULT_RADIX);
+        assertNull(v4.getLocale());
+    }
+
+    @Test
+    public void testDateTimeFormatter() {
+        assertNull(EMPTY.getDateTimeFormatter());
+
+        JsonFormat.Value v1 = JsonFormat.Value.from(WithDateFormat1.class.getAnnotation(JsonFormat.class));
+        JsonFormat.Value v2 = JsonFormat.Value.from(WithDateFormat2.class.getAnnotation(JsonFormat.class));
+        assertEquals("1970-01-02 00:00", v1.getDateTimeFormatter().format(Instant.ofEpochSecond(86400L)));
+        assertEquals(Locale.ENGLISH, v1.getDateTimeFormatter().getLocale());
+        // shared across values with same pattern, locale and zone
+        assertSame(v1.getDateTimeFormatter(), v2.getDateTimeFormatter());
+        assertNotSame(v1.getDateTimeFormatter(),
+                v1.withTimeZone(TimeZone.getTimeZone("America/Chicago")).getDateTimeFormatter());
+
+        // without locale, default locale used
+        JsonFormat.Value v3 = JsonFormat.Value.forPattern("yyyy");
+        assertEquals(Locale.getDefault(Locale.Category.FORMAT), v3.getDateTimeFormatter().getLocale());
+        assertNull(v3.getDateTimeFormatter().getZone());
+
+        try {
+            JsonFormat.Value.forPattern("yyyy-{").getDateTimeFormatter();
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            ;
+        }
+    }
+
+    @Test
+    public void testResolvedFeatures() {
+        final int defaults = Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY.getMask()
+                | Feature.WRITE_DATES_WITH_ZONE_ID.getMask();
+        JsonFormat.Features f = JsonFormat.Features.empty()
+                .with(Feature.WRITE_SORTED_MAP_ENTRIES)
+                .without(Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        JsonFormat.ResolvedFeatures resolved = f.resolve(defaults);
+
+        assertTrue(resolved.isEnabled(Feature.WRITE_SORTED_MAP_ENTRIES));
+        assertTrue(resolved.isEnabled(Feature.WRITE_DATES_WITH_ZONE_ID));
+        assertFalse(resolved.isEnabled(Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY));
+        assertFalse(resolved.isEnabled(Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED));
+        for (Feature feat : Feature.values()) {
+            assertEquals(resolved.isEnabled(feat), feat.enabledIn(resolved.enabledMask()));
+            assertEquals(!resolved.isEnabled(feat), feat.enabledIn(resolved.disabledMask()));
+        }
+        assertEquals(0, resolved.enabledMask() & resolved.disabledMask());
+        assertEquals(JsonFormat.ResolvedFeatures.construct(Feature.WRITE_SORTED_MAP_ENTRIES,
+                Feature.WRITE_DATES_WITH_ZONE_ID), resolved);
+
+        // empty overrides retain defaults; unknown bits dropped
+        assertEquals(defaults, JsonFormat.Features.empty().resolve(defaults).enabledMask());
+        assertEquals(0, JsonFormat.ResolvedFeatures.construct(0x80000000).enabledMask());
+        assertSame(JsonFormat.ResolvedFeatures.none(), JsonFormat.Features.empty().resolve(0));
+
+        // and resolution may be chained
+        JsonFormat.ResolvedFeatures base = JsonFormat.ResolvedFeatures.construct(defaults);
+        assertEquals(resolved, f.resolve(base));
+        assertEquals(resolved, base.withOverrides(f));
+        assertSame(base, base.withOverrides(JsonFormat.Features.empty()));
+    }
+
+    @Test
+    public void testShapeCategories() {
+        for (Shape shape : Shape.values()) {
+            assertEquals(shape.getCategories(), Shape.categoriesOf(shape));
+            assertEquals(shape == Shape.NUMBER || shape == Shape.NUMBER_INT || shape == Shape.NUMBER_FLOAT,
+                    shape.isNumeric());
+            assertEquals(shape == Shape.ARRAY || shape == Shape.OBJECT || shape == Shape.POJO,
+                    shape.isStructured());
+            assertEquals(shape.isNumeric(), shape.hasCategory(Shape.CATEGORY_NUMERIC));
+            // structured and scalar are mutually exclusive
+            assertFalse(shape.hasCategory(Shape.CATEGORY_STRUCTURED)
+                    && shape.hasCategory(Shape.CATEGORY_SCALAR));
+        }
+        assertEquals(0, Shape.categoriesOf(null));
+        assertEquals(0, Shape.ANY.getCategories());
+        assertTrue(Shape.NUMBER_INT.hasCategory(Shape.CATEGORY_INTEGRAL));
+        assertFalse(Shape.NUMBER.hasCategory(Shape.CATEGORY_INTEGRAL | Shape.CATEGORY_FLOATING));
+        assertTrue(Shape.NUMBER_FLOAT.hasCategory(Shape.CATEGORY_FLOATING));
+        assertTrue(Shape.STRING.hasCategory(Shape.CATEGORY_TEXTUAL));
+        assertTrue(Shape.BINARY.hasCategory(Shape.CATEGORY_SCALAR));
+        assertFalse(Shape.BINARY.hasCategory(Shape.CATEGORY_TEXTUAL));
+        assertEquals(Shape.CATEGORY_NATURAL, Shape.NATURAL.getCategories());
+    }
 }
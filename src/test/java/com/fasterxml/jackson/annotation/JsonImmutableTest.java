@@ -0,0 +1,115 @@
+package com.fasterxml.jackson.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonImmutableTest
+    extends AnnotationTestUtil
+{
+    @JsonImmutable(cacheSize=500, keyStrategy=JsonImmutable.KeyStrategy.EQUALITY)
+    private final static class Currency { }
+
+    @JsonImmutable(OptBoolean.FALSE)
+    private final static class Mutable { }
+
+    private final JsonImmutable.Value EMPTY = JsonImmutable.Value.empty();
+
+    @Test
+    public void testEmpty()
+    {
+        assertNull(EMPTY.getEnabled());
+        assertFalse(EMPTY.isEnabled());
+        assertEquals(JsonImmutable.DEFAULT_LIMIT, EMPTY.getCacheSize());
+        assertEquals(JsonImmutable.KeyStrategy.DEFAULT, EMPTY.getKeyStrategy());
+        assertNull(EMPTY.nonDefaultKeyStrategy());
+
+        assertEquals(JsonImmutable.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonImmutable.Value(enabled=null,cacheSize=-1,keyStrategy=DEFAULT)",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonImmutable.Value.from(null)); // legal
+
+        JsonImmutable ann = Currency.class.getAnnotation(JsonImmutable.class);
+        JsonImmutable.Value v = JsonImmutable.Value.from(ann);
+        assertTrue(v.isEnabled());
+        assertEquals(500, v.getCacheSize());
+        assertEquals(JsonImmutable.KeyStrategy.EQUALITY, v.nonDefaultKeyStrategy());
+        assertSame(v, JsonImmutable.Value.from(ann));
+
+        JsonImmutable.Value disabled = JsonImmutable.Value.from(Mutable.class.getAnnotation(JsonImmutable.class));
+        assertEquals(Boolean.FALSE, disabled.getEnabled());
+        assertFalse(disabled.isEnabled());
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonImmutable.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonImmutable.Value.construct(null, -1, null));
+        assertSame(EMPTY, JsonImmutable.Value.construct(null, -9, JsonImmutable.KeyStrategy.DEFAULT));
+        JsonImmutable.Value v = JsonImmutable.Value.forEnabled(Boolean.TRUE);
+        assertTrue(v.isEnabled());
+        assertEquals(JsonImmutable.KeyStrategy.DEFAULT, v.getKeyStrategy());
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonImmutable.Value v = EMPTY.withEnabled(null);
+        assertSame(EMPTY, v);
+        v = v.withEnabled(Boolean.TRUE);
+        assertTrue(v.isEnabled());
+        assertSame(v, v.withEnabled(Boolean.TRUE));
+
+        JsonImmutable.Value v2 = v.withCacheSize(100).withKeyStrategy(JsonImmutable.KeyStrategy.IDENTITY);
+        assertEquals(100, v2.getCacheSize());
+        assertEquals(JsonImmutable.KeyStrategy.IDENTITY, v2.getKeyStrategy());
+        assertSame(v2, v2.withCacheSize(100));
+        assertSame(v2, v2.withKeyStrategy(JsonImmutable.KeyStrategy.IDENTITY));
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        assertSame(EMPTY, v2.withEnabled(null).withCacheSize(-1).withKeyStrategy(null));
+    }
+
+    @Test
+    public void testMerge()
+    {
+        JsonImmutable.Value base = JsonImmutable.Value.from(Currency.class.getAnnotation(JsonImmutable.class));
+        JsonImmutable.Value overrides = JsonImmutable.Value.forEnabled(Boolean.FALSE);
+
+        JsonImmutable.Value merged = base.withOverrides(overrides);
+        assertEquals(JsonImmutable.Value.construct(Boolean.FALSE, 500,
+                JsonImmutable.KeyStrategy.EQUALITY), merged);
+        assertSame(base, base.withOverrides(EMPTY));
+        assertSame(base, base.withOverrides(null));
+        assertSame(base, base.withOverrides(EMPTY.withCacheSize(500)));
+
+        assertSame(overrides, JsonImmutable.Value.merge(null, overrides));
+        assertEquals(merged, JsonImmutable.Value.merge(base, overrides));
+    }
+}
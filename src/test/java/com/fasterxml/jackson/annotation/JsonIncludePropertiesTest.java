@@ -77,6 +77,39 @@ public class JsonIncludePropertiesTest
         assertEquals(_set("foo"), included);
     }
 
+    @Test
+    public void testWithOverridesSubsetReusesInstances() {
+        JsonIncludeProperties.Value v = JsonIncludeProperties.Value.from(Bogus.class.getAnnotation(JsonIncludeProperties.class));
+        JsonIncludeProperties.Value sub = new JsonIncludeProperties.Value(_set("bar"));
+        JsonIncludeProperties.Value same = new JsonIncludeProperties.Value(_set("bar", "foo"));
+        JsonIncludeProperties.Value wider = new JsonIncludeProperties.Value(_set("foo", "bar", "baz"));
+
+        assertSame(v, v.withOverrides(v));
+        assertSame(v, v.withOverrides(same));
+        assertSame(v, v.withOverrides(wider));
+        assertSame(sub, v.withOverrides(sub));
+        assertSame(sub, sub.withOverrides(v));
+    }
+
+    @Test
+    public void testWithOverridesDisjoint() {
+        JsonIncludeProperties.Value v = JsonIncludeProperties.Value.from(Bogus.class.getAnnotation(JsonIncludeProperties.class));
+        JsonIncludeProperties.Value merged = v.withOverrides(new JsonIncludeProperties.Value(_set("a", "b")));
+        assertEquals(0, merged.getIncluded().size());
+        assertSame(merged, v.withOverrides(new JsonIncludeProperties.Value(_set("c"))));
+    }
+
+    @Test
+    public void testWithOverridesPartialOverlap() {
+        JsonIncludeProperties.Value v = new JsonIncludeProperties.Value(_set("a", "b", "c", "d"));
+        JsonIncludeProperties.Value merged = v.withOverrides(new JsonIncludeProperties.Value(_set("b", "d", "e")));
+        assertEquals(_set("b", "d"), merged.getIncluded());
+        assertEquals(merged, jdkDeserialize(jdkSerialize(merged)));
+
+        merged = v.withOverrides(new JsonIncludeProperties.Value(_set("x", "c")));
+        assertEquals(_set("c"), merged.getIncluded());
+    }
+
     private Set<String> _set(String... args)
     {
         return new LinkedHashSet<String>(Arrays.asList(args));
@@ -46,6 +46,7 @@ public class JsonIncludeTest
         JsonInclude.Value v = JsonInclude.Value.from(ann);
         assertEquals(Include.NON_EMPTY, v.getValueInclusion());
         assertEquals(Include.NON_DEFAULT, v.getContentInclusion());
+        assertSame(v, JsonInclude.Value.from(ann));
 
         // Let's also verify JDK serializability
         byte[] b = jdkSerialize(v);
@@ -63,6 +64,8 @@ public class JsonIncludeTest
         assertEquals(Include.CUSTOM, v.getContentInclusion());
         assertEquals(Integer.class, v.getValueFilter());
         assertEquals(Long.class, v.getContentFilter());
+        // JDK filter types, so may be cached
+        assertSame(v, JsonInclude.Value.from(ann));
 
         assertEquals(
 "JsonInclude.Value(value=CUSTOM,content=CUSTOM,valueFilter=java.lang.Integer.class,contentFilter=java.lang.Long.class)",
@@ -0,0 +1,163 @@
+package com.fasterxml.jackson.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonInternTest
+    extends AnnotationTestUtil
+{
+    @JsonIntern(JsonIntern.Scope.JVM)
+    private final static class Bogus {
+        @JsonIntern(maxEntries=100, maxLength=8)
+        public String field;
+
+        @JsonIntern
+        public String plain;
+
+        @JsonIntern(JsonIntern.Scope.NONE)
+        public String disabled;
+    }
+
+    @JsonIntern(JsonIntern.Scope.NONE)
+    private final static class Disabled {
+        @JsonIntern
+        public String enabled;
+    }
+
+    private final JsonIntern.Value EMPTY = JsonIntern.Value.empty();
+
+    @Test
+    public void testEmpty()
+    {
+        assertNull(EMPTY.getScope());
+        assertEquals(JsonIntern.DEFAULT_LIMIT, EMPTY.getMaxEntries());
+        assertEquals(JsonIntern.DEFAULT_LIMIT, EMPTY.getMaxLength());
+        assertNull(EMPTY.nonDefaultScope());
+        assertFalse(EMPTY.isEnabled());
+        assertFalse(EMPTY.shouldIntern(1));
+
+        assertEquals(JsonIntern.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonIntern.Value(scope=null,maxEntries=-1,maxLength=-1)",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonIntern.Value.from(null)); // legal
+
+        JsonIntern.Value typeValue = JsonIntern.Value.from(Bogus.class.getAnnotation(JsonIntern.class));
+        assertEquals(JsonIntern.Scope.JVM, typeValue.getScope());
+        assertEquals(JsonIntern.DEFAULT_LIMIT, typeValue.getMaxEntries());
+
+        JsonIntern ann = Bogus.class.getField("field").getAnnotation(JsonIntern.class);
+        JsonIntern.Value v = JsonIntern.Value.from(ann);
+        assertEquals(JsonIntern.Scope.DEFAULT, v.getScope());
+        assertNull(v.nonDefaultScope());
+        assertEquals(100, v.getMaxEntries());
+        assertEquals(8, v.getMaxLength());
+        assertTrue(v.isEnabled());
+        assertTrue(v.shouldIntern(8));
+        assertFalse(v.shouldIntern(9));
+        assertSame(v, JsonIntern.Value.from(ann));
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonIntern.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonIntern.Value.construct(null, -3, -1));
+        // DEFAULT is not "empty": enabled, with default scope
+        JsonIntern.Value def = JsonIntern.Value.construct(JsonIntern.Scope.DEFAULT, -3, -1);
+        assertNotSame(EMPTY, def);
+        assertTrue(def.isEnabled());
+        assertTrue(def.shouldIntern(1));
+        assertTrue(JsonIntern.Scope.DEFAULT.isEnabled());
+        assertFalse(JsonIntern.Scope.NONE.isEnabled());
+        JsonIntern.Value v = JsonIntern.Value.forScope(JsonIntern.Scope.DOCUMENT);
+        assertEquals(JsonIntern.Scope.DOCUMENT, v.nonDefaultScope());
+        assertTrue(v.shouldIntern(Integer.MAX_VALUE));
+        assertFalse(JsonIntern.Value.forScope(JsonIntern.Scope.NONE).isEnabled());
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonIntern.Value v = EMPTY.withScope(null);
+        assertSame(EMPTY, v);
+        v = v.withScope(JsonIntern.Scope.JVM);
+        assertEquals(JsonIntern.Scope.JVM, v.getScope());
+        assertSame(v, v.withScope(JsonIntern.Scope.JVM));
+
+        JsonIntern.Value v2 = v.withMaxEntries(10).withMaxLength(20);
+        assertEquals(10, v2.getMaxEntries());
+        assertEquals(20, v2.getMaxLength());
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        assertSame(EMPTY, v2.withScope(null).withMaxEntries(-1).withMaxLength(-1));
+    }
+
+    @Test
+    public void testMerge() throws Exception
+    {
+        // property-level settings override type-level ones
+        JsonIntern.Value typeValue = JsonIntern.Value.from(Bogus.class.getAnnotation(JsonIntern.class));
+        JsonIntern.Value propValue = JsonIntern.Value.forScope(JsonIntern.Scope.NONE);
+        JsonIntern.Value merged = JsonIntern.Value.merge(typeValue, propValue);
+        assertEquals(JsonIntern.Scope.NONE, merged.getScope());
+        assertFalse(merged.isEnabled());
+
+        merged = typeValue.withOverrides(EMPTY.withMaxLength(4));
+        assertEquals(JsonIntern.Scope.JVM, merged.getScope());
+        assertEquals(4, merged.getMaxLength());
+
+        // bare property-level annotation keeps type-level scope
+        JsonIntern.Value plain = _propertyValue(Bogus.class, "plain");
+        merged = typeValue.withOverrides(plain);
+        assertEquals(JsonIntern.Scope.JVM, merged.getScope());
+        assertSame(typeValue, merged);
+        merged = typeValue.withOverrides(_propertyValue(Bogus.class, "field"));
+        assertEquals(JsonIntern.Scope.JVM, merged.getScope());
+        assertEquals(100, merged.getMaxEntries());
+        assertEquals(8, merged.getMaxLength());
+        // but NONE disables
+        assertFalse(typeValue.withOverrides(_propertyValue(Bogus.class, "disabled")).isEnabled());
+        // and bare annotation enables if type-level annotation disables
+        merged = JsonIntern.Value.from(Disabled.class.getAnnotation(JsonIntern.class))
+                .withOverrides(_propertyValue(Disabled.class, "enabled"));
+        assertEquals(JsonIntern.Scope.DEFAULT, merged.getScope());
+        assertTrue(merged.isEnabled());
+        // as well as without type-level annotation
+        assertEquals(plain, EMPTY.withOverrides(plain));
+        assertTrue(EMPTY.withOverrides(plain).isEnabled());
+
+        assertSame(typeValue, typeValue.withOverrides(EMPTY));
+        assertSame(typeValue, typeValue.withOverrides(null));
+        assertSame(propValue, JsonIntern.Value.merge(null, propValue));
+    }
+
+    private JsonIntern.Value _propertyValue(Class<?> type, String name) throws Exception {
+        return JsonIntern.Value.from(type.getField(name).getAnnotation(JsonIntern.class));
+    }
+}
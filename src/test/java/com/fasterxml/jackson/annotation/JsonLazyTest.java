@@ -0,0 +1,113 @@
+package com.fasterxml.jackson.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonLazyTest
+    extends AnnotationTestUtil
+{
+    private final static class Bogus {
+        @JsonLazy(maxBufferSize=65536)
+        public Object payload;
+
+        @JsonLazy(OptBoolean.FALSE)
+        public Object details;
+    }
+
+    private final JsonLazy.Value EMPTY = JsonLazy.Value.empty();
+
+    @Test
+    public void testEmpty()
+    {
+        assertNull(EMPTY.getEnabled());
+        assertFalse(EMPTY.isEnabled());
+        assertEquals(JsonLazy.DEFAULT_LIMIT, EMPTY.getMaxBufferSize());
+
+        assertEquals(JsonLazy.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonLazy.Value(enabled=null,maxBufferSize=-1)",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonLazy.Value.from(null)); // legal
+
+        JsonLazy ann = Bogus.class.getField("payload").getAnnotation(JsonLazy.class);
+        JsonLazy.Value v = JsonLazy.Value.from(ann);
+        assertEquals(Boolean.TRUE, v.getEnabled());
+        assertTrue(v.isEnabled());
+        assertEquals(65536, v.getMaxBufferSize());
+        assertSame(v, JsonLazy.Value.from(ann));
+
+        JsonLazy.Value disabled = JsonLazy.Value.from(Bogus.class.getField("details")
+                .getAnnotation(JsonLazy.class));
+        assertEquals(Boolean.FALSE, disabled.getEnabled());
+        assertFalse(disabled.isEnabled());
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonLazy.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonLazy.Value.construct(null, -1));
+        assertSame(EMPTY, JsonLazy.Value.construct(null, -100));
+        JsonLazy.Value v = JsonLazy.Value.forEnabled(Boolean.TRUE);
+        assertTrue(v.isEnabled());
+        assertEquals(JsonLazy.DEFAULT_LIMIT, v.getMaxBufferSize());
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonLazy.Value v = EMPTY.withEnabled(null);
+        assertSame(EMPTY, v);
+        v = v.withEnabled(Boolean.TRUE);
+        assertTrue(v.isEnabled());
+        assertSame(v, v.withEnabled(Boolean.TRUE));
+
+        JsonLazy.Value v2 = v.withMaxBufferSize(1000);
+        assertEquals(1000, v2.getMaxBufferSize());
+        assertSame(v2, v2.withMaxBufferSize(1000));
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        assertSame(EMPTY, v2.withEnabled(null).withMaxBufferSize(-1));
+    }
+
+    @Test
+    public void testMerge()
+    {
+        JsonLazy.Value base = JsonLazy.Value.construct(Boolean.TRUE, 4000);
+        JsonLazy.Value overrides = JsonLazy.Value.forEnabled(Boolean.FALSE);
+
+        JsonLazy.Value merged = base.withOverrides(overrides);
+        assertEquals(JsonLazy.Value.construct(Boolean.FALSE, 4000), merged);
+        assertSame(base, base.withOverrides(EMPTY));
+        assertSame(base, base.withOverrides(null));
+        assertSame(base, base.withOverrides(JsonLazy.Value.forEnabled(Boolean.TRUE)));
+
+        assertSame(overrides, JsonLazy.Value.merge(null, overrides));
+        assertEquals(merged, JsonLazy.Value.merge(base, overrides));
+    }
+}
@@ -0,0 +1,118 @@
+package com.fasterxml.jackson.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonNumberEncodingTest
+    extends AnnotationTestUtil
+{
+    private final static class Bogus {
+        @JsonNumberEncoding(value=JsonNumberEncoding.Encoding.ZIGZAG, delta=OptBoolean.TRUE)
+        public long[] timestamps;
+    }
+
+    private final JsonNumberEncoding.Value EMPTY = JsonNumberEncoding.Value.empty();
+
+    @Test
+    public void testEmpty()
+    {
+        assertEquals(JsonNumberEncoding.Encoding.DEFAULT, EMPTY.getEncoding());
+        assertNull(EMPTY.nonDefaultEncoding());
+        assertNull(EMPTY.getDelta());
+        assertFalse(EMPTY.isDelta());
+
+        assertEquals(JsonNumberEncoding.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonNumberEncoding.Value(encoding=DEFAULT,delta=null)",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testEncodings()
+    {
+        assertEquals(4, JsonNumberEncoding.Encoding.FIXED32.fixedLength());
+        assertEquals(8, JsonNumberEncoding.Encoding.FIXED64.fixedLength());
+        assertTrue(JsonNumberEncoding.Encoding.FIXED64.isFixedLength());
+        assertFalse(JsonNumberEncoding.Encoding.VARINT.isFixedLength());
+        assertFalse(JsonNumberEncoding.Encoding.DEFAULT.isFixedLength());
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonNumberEncoding.Value.from(null)); // legal
+
+        JsonNumberEncoding ann = Bogus.class.getField("timestamps").getAnnotation(JsonNumberEncoding.class);
+        JsonNumberEncoding.Value v = JsonNumberEncoding.Value.from(ann);
+        assertEquals(JsonNumberEncoding.Encoding.ZIGZAG, v.getEncoding());
+        assertEquals(JsonNumberEncoding.Encoding.ZIGZAG, v.nonDefaultEncoding());
+        assertTrue(v.isDelta());
+        assertSame(v, JsonNumberEncoding.Value.from(ann));
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonNumberEncoding.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonNumberEncoding.Value.construct(null, null));
+        assertSame(EMPTY, JsonNumberEncoding.Value.forEncoding(JsonNumberEncoding.Encoding.DEFAULT));
+        JsonNumberEncoding.Value v = JsonNumberEncoding.Value.forEncoding(JsonNumberEncoding.Encoding.FIXED32);
+        assertEquals(JsonNumberEncoding.Encoding.FIXED32, v.getEncoding());
+        assertNull(v.getDelta());
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonNumberEncoding.Value v = EMPTY.withEncoding(null);
+        assertSame(EMPTY, v);
+        v = v.withEncoding(JsonNumberEncoding.Encoding.VARINT);
+        assertEquals(JsonNumberEncoding.Encoding.VARINT, v.getEncoding());
+        assertSame(v, v.withEncoding(JsonNumberEncoding.Encoding.VARINT));
+
+        JsonNumberEncoding.Value v2 = v.withDelta(Boolean.FALSE);
+        assertEquals(Boolean.FALSE, v2.getDelta());
+        assertSame(v2, v2.withDelta(Boolean.FALSE));
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        assertSame(EMPTY, v2.withEncoding(JsonNumberEncoding.Encoding.DEFAULT).withDelta(null));
+    }
+
+    @Test
+    public void testMerge() throws Exception
+    {
+        JsonNumberEncoding.Value base = JsonNumberEncoding.Value.from(Bogus.class.getField("timestamps")
+                .getAnnotation(JsonNumberEncoding.class));
+        JsonNumberEncoding.Value overrides = JsonNumberEncoding.Value.forEncoding(JsonNumberEncoding.Encoding.FIXED64);
+
+        JsonNumberEncoding.Value merged = base.withOverrides(overrides);
+        assertEquals(JsonNumberEncoding.Value.construct(JsonNumberEncoding.Encoding.FIXED64, Boolean.TRUE),
+                merged);
+        assertSame(base, base.withOverrides(EMPTY));
+        assertSame(base, base.withOverrides(null));
+        assertSame(base, base.withOverrides(EMPTY.withDelta(Boolean.TRUE)));
+
+        assertSame(overrides, JsonNumberEncoding.Value.merge(null, overrides));
+        assertEquals(merged, JsonNumberEncoding.Value.merge(base, overrides));
+    }
+}
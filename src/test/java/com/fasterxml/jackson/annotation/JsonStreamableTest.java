@@ -0,0 +1,112 @@
+package com.fasterxml.jackson.annotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonStreamableTest
+    extends AnnotationTestUtil
+{
+    private final static class Bogus {
+        @JsonStreamable(chunkSize=1000, flushPerChunk=OptBoolean.TRUE, ordered=OptBoolean.FALSE)
+        public Iterable<String> rows;
+    }
+
+    private final JsonStreamable.Value EMPTY = JsonStreamable.Value.empty();
+
+    @Test
+    public void testEmpty()
+    {
+        assertNull(EMPTY.getEnabled());
+        assertFalse(EMPTY.isEnabled());
+        assertEquals(JsonStreamable.DEFAULT_CHUNK_SIZE, EMPTY.getChunkSize());
+        assertNull(EMPTY.getFlushPerChunk());
+        assertNull(EMPTY.getOrdered());
+
+        assertEquals(JsonStreamable.class, EMPTY.valueFor());
+    }
+
+    @Test
+    public void testStdMethods() {
+        assertEquals("JsonStreamable.Value(enabled=null,chunkSize=-1,flushPerChunk=null,ordered=null)",
+                EMPTY.toString());
+        int x = EMPTY.hashCode();
+        if (x == 0) { // no fixed value, but should not evaluate to 0
+            fail();
+        }
+        assertEquals(EMPTY, EMPTY);
+        assertFalse(EMPTY.equals(null));
+        assertFalse(EMPTY.equals("xyz"));
+    }
+
+    @Test
+    public void testFromAnnotation() throws Exception
+    {
+        assertSame(EMPTY, JsonStreamable.Value.from(null)); // legal
+
+        JsonStreamable ann = Bogus.class.getField("rows").getAnnotation(JsonStreamable.class);
+        JsonStreamable.Value v = JsonStreamable.Value.from(ann);
+        assertTrue(v.isEnabled());
+        assertEquals(1000, v.getChunkSize());
+        assertEquals(Boolean.TRUE, v.getFlushPerChunk());
+        assertEquals(Boolean.FALSE, v.getOrdered());
+        assertSame(v, JsonStreamable.Value.from(ann));
+
+        // Let's also verify JDK serializability
+        byte[] b = jdkSerialize(v);
+        JsonStreamable.Value deser = jdkDeserialize(b);
+        assertEquals(v, deser);
+        assertSame(EMPTY, jdkDeserialize(jdkSerialize(EMPTY)));
+
+        // as well as construction from index
+        assertEquals(v, AnnotationIndex.AnnotationInfo.from(ann).toValue(getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testConstruct() throws Exception
+    {
+        assertSame(EMPTY, JsonStreamable.Value.construct(null, -1, null, null));
+        // zero chunk size means "default" too
+        assertSame(EMPTY, JsonStreamable.Value.construct(null, 0, null, null));
+        JsonStreamable.Value v = JsonStreamable.Value.forChunkSize(50);
+        assertTrue(v.isEnabled());
+        assertEquals(50, v.getChunkSize());
+        assertEquals(JsonStreamable.Value.forEnabled(Boolean.TRUE), v.withChunkSize(-1));
+    }
+
+    @Test
+    public void testWithMethods()
+    {
+        JsonStreamable.Value v = EMPTY.withEnabled(null);
+        assertSame(EMPTY, v);
+        v = v.withEnabled(Boolean.TRUE);
+        assertTrue(v.isEnabled());
+        assertSame(v, v.withEnabled(Boolean.TRUE));
+
+        JsonStreamable.Value v2 = v.withFlushPerChunk(Boolean.FALSE).withOrdered(Boolean.TRUE);
+        assertEquals(Boolean.FALSE, v2.getFlushPerChunk());
+        assertEquals(Boolean.TRUE, v2.getOrdered());
+        assertSame(v2, v2.withOrdered(Boolean.TRUE));
+        assertFalse(v.equals(v2));
+        assertFalse(v2.equals(v));
+
+        assertSame(EMPTY, v2.withEnabled(null).withFlushPerChunk(null).withOrdered(null));
+    }
+
+    @Test
+    public void testMerge() throws Exception
+    {
+        JsonStreamable.Value base = JsonStreamable.Value.from(Bogus.class.getField("rows")
+                .getAnnotation(JsonStreamable.class));
+        JsonStreamable.Value overrides = JsonStreamable.Value.construct(null, 10, null, Boolean.TRUE);
+
+        JsonStreamable.Value merged = base.withOverrides(overrides);
+        assertEquals(JsonStreamable.Value.construct(Boolean.TRUE, 10, Boolean.TRUE, Boolean.TRUE), merged);
+        assertSame(base, base.withOverrides(EMPTY));
+        assertSame(base, base.withOverrides(null));
+        assertSame(base, base.withOverrides(JsonStreamable.Value.forChunkSize(1000)));
+
+        assertSame(overrides, JsonStreamable.Value.merge(null, overrides));
+        assertEquals(merged, JsonStreamable.Value.merge(base, overrides));
+    }
+}
@@ -108,6 +108,66 @@ public class JsonTypeInfoTest
         assertNull(requireTypeIdDefault.getRequireTypeIdForSubtypes());
     }
 
+    @Test
+    public void testCanonicalInstances() throws Exception
+    {
+        JsonTypeInfo.Value v1 = JsonTypeInfo.Value.from(Anno1.class.getAnnotation(JsonTypeInfo.class));
+        assertSame(v1, JsonTypeInfo.Value.from(Anno1.class.getAnnotation(JsonTypeInfo.class)));
+        assertSame(v1, JsonTypeInfo.Value.construct(JsonTypeInfo.Id.CLASS, As.PROPERTY,
+                null, null, true, Boolean.TRUE));
+        assertSame(v1, v1.withIdVisible(false).withIdVisible(true));
+        assertSame(v1, v1.withIdType(JsonTypeInfo.Id.NAME).withIdType(JsonTypeInfo.Id.CLASS));
+        assertSame(JsonTypeInfo.Value.EMPTY, JsonTypeInfo.Value.EMPTY
+                .withRequireTypeIdForSubtypes(Boolean.FALSE)
+                .withRequireTypeIdForSubtypes(null));
+        assertSame(v1, jdkDeserialize(jdkSerialize(v1)));
+
+        // Bootstrap-loaded default implementations are fine to retain too
+        JsonTypeInfo.Value v2 = JsonTypeInfo.Value.from(Anno2.class.getAnnotation(JsonTypeInfo.class));
+        assertSame(v2, JsonTypeInfo.Value.from(Anno2.class.getAnnotation(JsonTypeInfo.class)));
+        // but others are not (but still equal)
+        JsonTypeInfo.Value v3 = v1.withDefaultImpl(Anno3.class);
+        assertEquals(v3, v1.withDefaultImpl(Anno3.class));
+        assertEquals(v3.hashCode(), v1.withDefaultImpl(Anno3.class).hashCode());
+    }
+
+    @Test
+    public void testNullSettings()
+    {
+        JsonTypeInfo.Value v = JsonTypeInfo.Value.construct(null, null, null, null, false, null);
+        assertNull(v.getIdType());
+        assertNull(v.getInclusionType());
+        assertFalse(v.getIdVisible());
+        assertNull(v.getRequireTypeIdForSubtypes());
+        assertFalse(JsonTypeInfo.Value.isEnabled(v));
+        // used to fail with NPE for `null` requireTypeIdForSubtypes
+        v.hashCode();
+
+        for (JsonTypeInfo.Id id : JsonTypeInfo.Id.values()) {
+            for (As as : As.values()) {
+                JsonTypeInfo.Value v2 = v.withIdType(id).withInclusionType(as)
+                        .withIdVisible(true).withRequireTypeIdForSubtypes(Boolean.FALSE);
+                assertSame(id, v2.getIdType());
+                assertSame(as, v2.getInclusionType());
+                assertTrue(v2.getIdVisible());
+                assertEquals(Boolean.FALSE, v2.getRequireTypeIdForSubtypes());
+            }
+        }
+    }
+
+    // Value serialized with 2.20 (default serialization) must still be readable
+    @Test
+    public void testDeserialize220() throws Exception
+    {
+        final String SERIALIZED_2_20 = "rO0ABXNyADNjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uVHlwZUluZm8kVmFsdWUAAAAAAAAAAQIABloACl9pZFZpc2libGVMAAxfZGVmYXVsdEltcGx0ABFMamF2YS9sYW5nL0NsYXNzO0wAB19pZFR5cGV0ADJMY29tL2Zhc3RlcnhtbC9qYWNrc29uL2Fubm90YXRpb24vSnNvblR5cGVJbmZvJElkO0wADl9pbmNsdXNpb25UeXBldAAyTGNvbS9mYXN0ZXJ4bWwvamFja3Nvbi9hbm5vdGF0aW9uL0pzb25UeXBlSW5mbyRBcztMAA1fcHJvcGVydHlOYW1ldAASTGphdmEvbGFuZy9TdHJpbmc7TAAZX3JlcXVpcmVUeXBlSWRGb3JTdWJ0eXBlc3QAE0xqYXZhL2xhbmcvQm9vbGVhbjt4cAFwfnIAMGNvbS5mYXN0ZXJ4bWwuamFja3Nvbi5hbm5vdGF0aW9uLkpzb25UeXBlSW5mbyRJZAAAAAAAAAAAEgAAeHIADmphdmEubGFuZy5FbnVtAAAAAAAAAAASAAB4cHQABE5BTUV+cgAwY29tLmZhc3RlcnhtbC5qYWNrc29uLmFubm90YXRpb24uSnNvblR5cGVJbmZvJEFzAAAAAAAAAAASAAB4cQB+AAh0AAhQUk9QRVJUWXQABUB0eXBlc3IAEWphdmEubGFuZy5Cb29sZWFuzSBygNWc+u4CAAFaAAV2YWx1ZXhwAQ==";
+        JsonTypeInfo.Value v = jdkDeserialize(java.util.Base64.getDecoder().decode(SERIALIZED_2_20));
+        JsonTypeInfo.Value exp = JsonTypeInfo.Value.construct(JsonTypeInfo.Id.NAME, As.PROPERTY,
+                "@type", null, true, Boolean.TRUE);
+        assertEquals(exp, v);
+        assertEquals(exp.hashCode(), v.hashCode());
+        assertSame(exp, v);
+    }
+
     @Test
     public void testDefaultValueForRequireTypeIdForSubtypes() {
         // default value
@@ -0,0 +1,159 @@
+package com.fasterxml.jackson.annotation;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test to verify that GraalVM native-image metadata covers all annotation
+ * types and annotation value types of this package.
+ */
+public class NativeImageMetadataTest
+{
+    private final static String METADATA_DIR
+        = "META-INF/native-image/com.fasterxml.jackson.core/jackson-annotations/";
+
+    private final static String PACKAGE = JsonProperty.class.getPackage().getName();
+
+    @Test
+    public void testReflectionConfig() throws Exception
+    {
+        Set<String> names = _matches(_read("reflect-config.json"), "\"name\"\\s*:\\s*\"([^\"]+)\"");
+        assertEquals(_classes(true), names);
+    }
+
+    @Test
+    public void testProxyConfig() throws Exception
+    {
+        Set<String> names = _matches(_read("proxy-config.json"),
+                "\"interfaces\"\\s*:\\s*\\[\\s*\"([^\"]+)\"\\s*\\]");
+        assertEquals(_classes(true), names);
+    }
+
+    @Test
+    public void testBuildTimeInitialization() throws Exception
+    {
+        Properties props = new Properties();
+        props.load(new StringReader(_read("native-image.properties")));
+        String args = props.getProperty("Args");
+        assertNotNull(args);
+        final String prefix = "--initialize-at-build-time=";
+        assertTrue(args.startsWith(prefix), args);
+        Set<String> names = new TreeSet<>(Arrays.asList(args.substring(prefix.length()).split(",")));
+
+        // Must only include classes without mutable static state...
+        for (String name : names) {
+            Class<?> cls = Class.forName(name, false, getClass().getClassLoader());
+            assertTrue(cls.isEnum() || JacksonAnnotationValue.class.isAssignableFrom(cls)
+                    || (cls == JsonFormat.Features.class),
+                    "Not an enum or value type: "+name);
+            for (Field f : cls.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) {
+                    assertTrue(_isImmutableStatic(cls, f), "Mutable static state in "+name+": "+f);
+                }
+            }
+        }
+        // ... and all value types (so that any mutable static state added to one,
+        // instead of to a lazily initialized holder class, fails the check above)...
+        for (String name : _classes(false)) {
+            Class<?> cls = Class.forName(name, false, getClass().getClassLoader());
+            if (JacksonAnnotationValue.class.isAssignableFrom(cls) && !cls.isInterface()
+                    && !Modifier.isAbstract(cls.getModifiers())) {
+                assertTrue(names.contains(name), "Value type missing from build-time init: "+name);
+            }
+        }
+        // ... and enums referred to by value types
+        for (Class<?> enumType : new Class<?>[] { OptBoolean.class, Nulls.class,
+                JsonFormat.Shape.class, JsonFormat.Feature.class, JsonInclude.Include.class,
+                JsonTypeInfo.Id.class, JsonTypeInfo.As.class, JsonAutoDetect.Visibility.class }) {
+            assertTrue(names.contains(enumType.getName()), "Missing from build-time init: "+enumType.getName());
+        }
+    }
+
+    // Static fields must be final and refer to primitives, Strings, enums or
+    // instances of declaring class (or arrays thereof, like `$VALUES` of enums)
+    private static boolean _isImmutableStatic(Class<?> owner, Field f)
+    {
+        if (!Modifier.isFinal(f.getModifiers())) {
+            return false;
+        }
+        Class<?> type = f.getType();
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || (type == String.class) || type.isEnum() || (type == owner);
+    }
+
+    private String _read(String file) throws IOException
+    {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(METADATA_DIR + file)) {
+            assertNotNull(in, "No resource "+METADATA_DIR+file);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4000];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, count);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Set<String> _matches(String content, String regex)
+    {
+        Set<String> result = new TreeSet<>();
+        Matcher m = Pattern.compile(regex).matcher(content);
+        while (m.find()) {
+            assertTrue(result.add(m.group(1)), "Duplicate entry: "+m.group(1));
+        }
+        return result;
+    }
+
+    /**
+     * Helper method for finding names of all (or just annotation) classes of this package,
+     * from directory or jar that contains them
+     */
+    private static Set<String> _classes(boolean annotationsOnly) throws Exception
+    {
+        final String pkgPath = PACKAGE.replace('.', '/') + "/";
+        URL location = JsonProperty.class.getProtectionDomain().getCodeSource().getLocation();
+        File file = new File(location.toURI());
+        List<String> classFiles = new ArrayList<>();
+        if (file.isDirectory()) {
+            for (String name : new File(file, pkgPath).list()) {
+                classFiles.add(name);
+            }
+        } else {
+            try (JarFile jar = new JarFile(file)) {
+                for (Enumeration<JarEntry> en = jar.entries(); en.hasMoreElements(); ) {
+                    String name = en.nextElement().getName();
+                    if (name.startsWith(pkgPath) && name.indexOf('/', pkgPath.length()) < 0) {
+                        classFiles.add(name.substring(pkgPath.length()));
+                    }
+                }
+            }
+        }
+        Set<String> result = new TreeSet<>();
+        for (String name : classFiles) {
+            if (!name.endsWith(".class") || name.equals("package-info.class")) {
+                continue;
+            }
+            String className = PACKAGE + "." + name.substring(0, name.length() - 6);
+            Class<?> cls = Class.forName(className, false, JsonProperty.class.getClassLoader());
+            if (!annotationsOnly || cls.isAnnotation()) {
+                result.add(className);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package com.fasterxml.jackson.annotation;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RadixCodec}
+ */
+public class RadixCodecTest
+{
+    private final static long[] EDGE_VALUES = new long[] {
+        0L, 1L, -1L, 9L, 10L, 15L, 16L, 35L, 36L, -36L,
+        Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L,
+        Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1L, Long.MIN_VALUE + 1L
+    };
+
+    @Test
+    public void testForRadix() {
+        assertSame(RadixCodec.forRadix(16), RadixCodec.forRadix(16));
+        assertEquals(16, RadixCodec.forRadix(16).getRadix());
+        assertEquals(10, RadixCodec.forFormat(JsonFormat.Value.empty(), 10).getRadix());
+        assertSame(RadixCodec.forRadix(36), RadixCodec.forFormat(JsonFormat.Value.forRadix(36), 10));
+        try {
+            RadixCodec.forRadix(37);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Invalid radix 37"));
+        }
+    }
+
+    @Test
+    public void testEncodeLong() {
+        final Random rnd = new Random(123);
+        for (int radix = RadixCodec.MIN_RADIX; radix <= RadixCodec.MAX_RADIX; ++radix) {
+            final RadixCodec codec = RadixCodec.forRadix(radix);
+            for (long value : EDGE_VALUES) {
+                _verifyLong(codec, value);
+            }
+            for (int i = 0; i < 200; ++i) {
+                _verifyLong(codec, rnd.nextLong() >> rnd.nextInt(64));
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeInt() {
+        final RadixCodec codec = RadixCodec.forRadix(16);
+        final char[] chars = new char[RadixCodec.MAX_INT_LENGTH];
+        final byte[] bytes = new byte[RadixCodec.MAX_INT_LENGTH];
+        for (int value : new int[] { 0, 255, -255, Integer.MIN_VALUE, Integer.MAX_VALUE }) {
+            final String exp = Integer.toString(value, 16);
+            int end = codec.encode(value, chars, 0);
+            assertEquals(exp, new String(chars, 0, end));
+            end = codec.encode(value, bytes, 0);
+            assertEquals(exp, new String(bytes, 0, end, StandardCharsets.US_ASCII));
+            assertEquals(value, codec.decodeInt(chars, 0, end));
+            assertEquals(value, codec.decodeInt(bytes, 0, end));
+        }
+        // and with offsets
+        assertEquals(2 + 4, codec.encode(0xcafe, chars, 2));
+        assertEquals("cafe", new String(chars, 2, 4));
+    }
+
+    @Test
+    public void testDecodeCaseAndSign() {
+        final RadixCodec codec = RadixCodec.forRadix(36);
+        assertEquals(Long.parseLong("JACKSON", 36), _decodeLong(codec, "JACKSON"));
+        assertEquals(Long.parseLong("jackson", 36), _decodeLong(codec, "+jackson"));
+        assertEquals(-Long.parseLong("jackson", 36), _decodeLong(codec, "-JackSon"));
+    }
+
+    @Test
+    public void testDecodeInvalid() {
+        final RadixCodec hex = RadixCodec.forRadix(16);
+        for (String str : new String[] { "", "-", "+", "12g", "1 2", "--1", "١",
+                "80000000" }) {
+            _verifyInvalidInt(hex, str);
+        }
+        _verifyInvalidLong(hex, "8000000000000000");
+        _verifyInvalidLong(hex, "-8000000000000001");
+        assertEquals(Long.MIN_VALUE, _decodeLong(hex, "-8000000000000000"));
+        assertEquals(Integer.MIN_VALUE, hex.decodeInt("-80000000".toCharArray(), 0, 9));
+        _verifyInvalidLong(RadixCodec.forRadix(2), "2");
+    }
+
+    @Test
+    public void testBigInteger() {
+        final Random rnd = new Random(42);
+        for (int radix : new int[] { 2, 10, 16, 36, 7 }) {
+            final RadixCodec codec = RadixCodec.forRadix(radix);
+            for (int i = 0; i < 100; ++i) {
+                BigInteger value = new BigInteger(1 + rnd.nextInt(200), rnd);
+                if (rnd.nextBoolean()) {
+                    value = value.negate();
+                }
+                final String exp = value.toString(radix);
+                final char[] chars = new char[exp.length() + 2];
+                assertEquals(exp.length(), codec.encodedLength(value));
+                int end = codec.encode(value, chars, 1);
+                assertEquals(exp, new String(chars, 1, end - 1));
+                assertEquals(value, codec.decodeBigInteger(chars, 1, end - 1));
+
+                final byte[] bytes = new byte[exp.length()];
+                end = codec.encode(value, bytes, 0);
+                assertEquals(exp, new String(bytes, 0, end, StandardCharsets.US_ASCII));
+                assertEquals(value, codec.decodeBigInteger(bytes, 0, end));
+            }
+        }
+        try {
+            String str = "123456789012345678901234567890١";
+            RadixCodec.forRadix(10).decodeBigInteger(str.toCharArray(), 0, str.length());
+            fail("Should not pass");
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage().contains("Invalid"));
+        }
+    }
+
+    private void _verifyLong(RadixCodec codec, long value)
+    {
+        final int radix = codec.getRadix();
+        final String exp = Long.toString(value, radix);
+        assertEquals(exp.length(), codec.encodedLength(value), "Length of "+exp+" (radix "+radix+")");
+
+        final char[] chars = new char[RadixCodec.MAX_LONG_LENGTH];
+        int end = codec.encode(value, chars, 0);
+        assertEquals(exp, new String(chars, 0, end));
+        assertEquals(value, codec.decodeLong(chars, 0, end));
+
+        final byte[] bytes = new byte[RadixCodec.MAX_LONG_LENGTH];
+        end = codec.encode(value, bytes, 0);
+        assertEquals(exp, new String(bytes, 0, end, StandardCharsets.US_ASCII));
+        assertEquals(value, codec.decodeLong(bytes, 0, end));
+
+        if (value == (int) value) {
+            assertEquals((int) value, codec.decodeInt(chars, 0, end));
+            assertEquals((int) value, codec.decodeInt(bytes, 0, end));
+        }
+    }
+
+    private long _decodeLong(RadixCodec codec, String str) {
+        final long value = codec.decodeLong(str.toCharArray(), 0, str.length());
+        assertEquals(value, codec.decodeLong(str.getBytes(StandardCharsets.UTF_8), 0,
+                str.getBytes(StandardCharsets.UTF_8).length));
+        return value;
+    }
+
+    private void _verifyInvalidInt(RadixCodec codec, String str) {
+        try {
+            codec.decodeInt(str.toCharArray(), 0, str.length());
+            fail("Should not pass for \""+str+"\"");
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage().contains("Invalid"));
+        }
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        try {
+            codec.decodeInt(bytes, 0, bytes.length);
+            fail("Should not pass for \""+str+"\"");
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage().contains("Invalid"));
+        }
+    }
+
+    private void _verifyInvalidLong(RadixCodec codec, String str) {
+        try {
+            codec.decodeLong(str.toCharArray(), 0, str.length());
+            fail("Should not pass for \""+str+"\"");
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage().contains("Invalid"));
+        }
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        try {
+            codec.decodeLong(bytes, 0, bytes.length);
+            fail("Should not pass for \""+str+"\"");
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage().contains("Invalid"));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fasterxml.jackson.annotation;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubtypeRegistryTest
+{
+    static class Base { }
+    static class ImplA extends Base { }
+    static class ImplB extends Base { }
+    static class ImplB2 extends ImplB { }
+
+    @Test
+    public void testEmpty()
+    {
+        SubtypeRegistry reg = SubtypeRegistry.empty();
+        assertSame(reg, SubtypeRegistry.builder().build());
+        assertFalse(reg.hasSubtypes(Base.class));
+        assertEquals(Collections.emptyMap(), reg.findSubtypes(Base.class));
+        assertNull(reg.findSubtype(Base.class, "a"));
+        // No providers in this module
+        assertEquals(0, SubtypeRegistry.getDefault().getBaseTypes().size());
+    }
+
+    @Test
+    public void testLookups()
+    {
+        SubtypeRegistry reg = SubtypeRegistry.builder()
+                .addSubtype(Base.class, ImplA.class, "a", "alpha")
+                .addSubtype(Base.class, ImplB.class, "b")
+                // first registration wins
+                .addSubtype(Base.class, ImplB.class, "a")
+                .addSubtype(ImplB.class, ImplB2.class, "b2", "b")
+                .build();
+        assertTrue(reg.hasSubtypes(Base.class));
+        assertEquals(new HashSet<Class<?>>(Arrays.asList(Base.class, ImplB.class)),
+                reg.getBaseTypes());
+
+        Map<String, Class<?>> subtypes = reg.findSubtypes(Base.class);
+        assertEquals(Arrays.asList("a", "alpha", "b", "b2"), new ArrayList<>(subtypes.keySet()));
+        assertSame(subtypes, reg.findSubtypes(Base.class));
+        assertSame(ImplA.class, reg.findSubtype(Base.class, "a"));
+        assertSame(ImplB.class, reg.findSubtype(Base.class, "b"));
+        assertSame(ImplB2.class, reg.findSubtype(Base.class, "b2"));
+
+        assertSame(ImplB2.class, reg.findSubtype(ImplB.class, "b"));
+        assertNull(reg.findSubtype(ImplB.class, "a"));
+        assertNull(reg.findSubtype(ImplA.class, "a"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.fasterxml.jackson.annotation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeIdTableTest
+{
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+    @JsonSubTypes({
+        @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+        @JsonSubTypes.Type(value = Square.class, names = { "square", "quadré" }),
+        @JsonSubTypes.Type(value = Triangle.class)
+    })
+    static abstract class Shape { }
+
+    static class Circle extends Shape { }
+
+    @JsonSubTypes(@JsonSubTypes.Type(value = Cube.class, name = "🧊"))
+    static class Square extends Shape { }
+
+    static class Cube extends Square { }
+
+    @JsonTypeName("tri")
+    static class Triangle extends Shape { }
+
+    @Test
+    public void testEmpty()
+    {
+        TypeIdTable t = TypeIdTable.empty();
+        assertEquals(0, t.size());
+        assertEquals(-1, t.indexOf("x"));
+        assertNull(t.find(new char[] { 'x' }, 0, 1));
+        assertNull(t.find(new byte[] { 'x' }, 0, 1));
+        assertSame(t, TypeIdTable.construct(Collections.<String, Class<?>>emptyMap()));
+    }
+
+    @Test
+    public void testFromAnnotations()
+    {
+        TypeIdTable t = TypeIdTable.forBaseType(Shape.class);
+        assertEquals(5, t.size());
+        assertSame(Circle.class, t.find("circle"));
+        assertSame(Square.class, t.find("square"));
+        assertSame(Triangle.class, t.find("tri"));
+        _verify(t, "quadré", Square.class);
+        _verify(t, "🧊", Cube.class);
+        assertNull(t.find("Circle"));
+        assertNull(t.find("TypeIdTableTest$Circle"));
+
+        // Unannotated subtypes get default names
+        t = TypeIdTable.construct(SubtypeRegistry.builder()
+                .addAnnotatedSubtypes(Square.class).build().findSubtypes(Square.class));
+        assertEquals(1, t.size());
+        assertSame(Cube.class, t.find("🧊"));
+    }
+
+    @Test
+    public void testLargeTable()
+    {
+        Map<String, Class<?>> ids = new LinkedHashMap<>();
+        final Class<?>[] types = { String.class, Integer.class, Long.class };
+        for (int i = 0; i < 3000; ++i) {
+            ids.put("type"+i, types[i % types.length]);
+        }
+        TypeIdTable t = TypeIdTable.construct(ids);
+        assertEquals(ids.size(), t.size());
+        Set<Integer> indexes = new HashSet<>();
+        for (Map.Entry<String, Class<?>> entry : ids.entrySet()) {
+            _verify(t, entry.getKey(), entry.getValue());
+            assertTrue(indexes.add(t.indexOf(entry.getKey())));
+        }
+        for (int i = 3000; i < 4000; ++i) {
+            assertEquals(-1, t.indexOf("type"+i));
+            assertEquals(-1, t.indexOf(("type"+i).toCharArray(), 0, 8));
+        }
+        assertEquals(-1, t.indexOf("a much longer id than any contained"));
+    }
+
+    private void _verify(TypeIdTable t, String id, Class<?> expType)
+    {
+        int ix = t.indexOf(id);
+        assertTrue(ix >= 0);
+        assertEquals(id, t.idAt(ix));
+        assertSame(expType, t.typeAt(ix));
+
+        // and then via offset buffers
+        char[] chars = ("__"+id+"__").toCharArray();
+        assertEquals(ix, t.indexOf(chars, 2, id.length()));
+        assertNotEquals(ix, t.indexOf(chars, 1, id.length()));
+        byte[] utf8 = ("__"+id+"__").getBytes(StandardCharsets.UTF_8);
+        int len = id.getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(ix, t.indexOf(utf8, 2, len));
+        assertSame(expType, t.find(utf8, 2, len));
+        // (may match a different id, like "type1" for "type12")
+        assertNotEquals(ix, t.indexOf(utf8, 2, len-1));
+    }
+}
@@ -0,0 +1,220 @@
+package com.fasterxml.jackson.annotation;
+
+import java.io.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValueSerializationProxyTest
+    extends AnnotationTestUtil
+{
+    // Stream that writes values using default serialization, for comparison
+    static class LegacyOutputStream extends ObjectOutputStream
+    {
+        LegacyOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            return (obj instanceof ValueSerializationProxy)
+                    ? ((ValueSerializationProxy) obj).getValue() : obj;
+        }
+    }
+
+    static class CustomSetterValue extends JsonSetter.Value {
+        private static final long serialVersionUID = 1L;
+
+        CustomSetterValue() {
+            super(Nulls.SKIP, Nulls.FAIL);
+        }
+    }
+
+    private final List<Object> VALUES = Arrays.asList(
+            JsonFormat.Value.forPattern("yyyy-MM-dd")
+                .withLocale(Locale.GERMANY)
+                .withTimeZone(TimeZone.getTimeZone("Europe/Helsinki"))
+                .withFeature(JsonFormat.Feature.WRITE_DATES_WITH_ZONE_ID)
+                .withLenient(Boolean.FALSE),
+            new JsonFormat.Value("HH:mm", JsonFormat.Shape.STRING, "fi", "UTC",
+                    JsonFormat.Features.empty(), null, 16),
+            JsonFormat.Features.construct(new JsonFormat.Feature[] { JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES },
+                    new JsonFormat.Feature[] { JsonFormat.Feature.WRITE_SORTED_MAP_ENTRIES }),
+            JsonInclude.Value.construct(JsonInclude.Include.CUSTOM, JsonInclude.Include.NON_NULL,
+                    String.class, null),
+            JsonIgnoreProperties.Value.forIgnoredProperties("a", "b", "c").withIgnoreUnknown(),
+            new JsonIncludeProperties.Value(new HashSet<>(Arrays.asList("a", "b"))),
+            JsonAutoDetect.Value.construct(JsonAutoDetect.Visibility.ANY, JsonAutoDetect.Visibility.NONE,
+                    null, JsonAutoDetect.Visibility.PUBLIC_ONLY, JsonAutoDetect.Visibility.DEFAULT,
+                    JsonAutoDetect.Visibility.NON_PRIVATE),
+            JsonSetter.Value.construct(Nulls.AS_EMPTY, Nulls.SKIP),
+            JacksonInject.Value.construct("id", Boolean.TRUE, Boolean.FALSE),
+            JacksonInject.Value.forId(Integer.valueOf(42)),
+            JsonTypeInfo.Value.construct(JsonTypeInfo.Id.NAME, JsonTypeInfo.As.EXISTING_PROPERTY,
+                    "type", Integer.class, true, Boolean.FALSE));
+
+    @Test
+    public void testRoundTrip()
+    {
+        for (Object value : VALUES) {
+            Object result = jdkDeserialize(jdkSerialize(value));
+            assertEquals(value.getClass(), result.getClass());
+            assertEquals(value, result);
+            assertEquals(value.toString(), result.toString());
+        }
+        // and resolved TimeZone should be retained
+        JsonFormat.Value format = jdkDeserialize(jdkSerialize(VALUES.get(0)));
+        assertEquals("Europe/Helsinki", format.getTimeZone().getID());
+    }
+
+    @Test
+    public void testCanonicalInstances()
+    {
+        List<Object> empties = Arrays.asList(JsonFormat.Value.empty(), JsonFormat.Features.empty(),
+                JsonInclude.Value.empty(), JsonIgnoreProperties.Value.empty(),
+                JsonIncludeProperties.Value.all(), JsonIncludeProperties.Value.NONE,
+                JsonAutoDetect.Value.defaultVisibility(), JsonAutoDetect.Value.noOverrides(),
+                JsonSetter.Value.empty(), JacksonInject.Value.empty(),
+                JacksonInject.Value.forId("id"),
+                JsonTypeInfo.Value.construct(JsonTypeInfo.Id.CLASS, JsonTypeInfo.As.PROPERTY,
+                        null, null, false, null));
+        for (Object value : empties) {
+            assertSame(value, jdkDeserialize(jdkSerialize(value)));
+        }
+        // but equal, non-shared instances of mutable types are not
+        JsonFormat.Value format = JsonFormat.Value.forShape(JsonFormat.Shape.NUMBER);
+        assertEquals(format, jdkDeserialize(jdkSerialize(format)));
+    }
+
+    @Test
+    public void testSubclassesUseDefaultSerialization()
+    {
+        CustomSetterValue value = new CustomSetterValue();
+        Object result = jdkDeserialize(jdkSerialize(value));
+        assertEquals(CustomSetterValue.class, result.getClass());
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void testCompactSize() throws Exception
+    {
+        for (Object value : VALUES) {
+            final int compact = _serialize(value, false).length;
+            final int legacy = _serialize(value, true).length;
+            assertTrue(compact < legacy, "Compact size "+compact+" not smaller than "+legacy
+                    +" for "+value);
+        }
+        // and multiple values together (with shared class descriptors, strings)
+        ArrayList<Object> all = new ArrayList<>(VALUES);
+        assertTrue(_serialize(all, false).length * 2 < _serialize(all, true).length);
+    }
+
+    @Test
+    public void testInvalidContent() throws Exception
+    {
+        // Unknown type
+        assertThrows(InvalidObjectException.class,
+                () -> new ValueSerializationProxy().readExternal(_input(99)));
+        // JsonSetter.Value with unknown enum constant (for example, added in a later version)
+        InvalidObjectException e = assertThrows(InvalidObjectException.class,
+                () -> new ValueSerializationProxy().readExternal(_input(7, "SKIP", "NO_SUCH_NULLS")));
+        assertTrue(e.getMessage().contains("Unknown constant 'NO_SUCH_NULLS'"), e.getMessage());
+        // JsonFormat.Value with invalid `lenient`
+        assertThrows(InvalidObjectException.class,
+                () -> new ValueSerializationProxy().readExternal(_input(1, null, 3)));
+    }
+
+    // Features are written as bit masks keyed by stable table, not by ordinals
+    @Test
+    public void testFeaturesWrittenByTable() throws Exception
+    {
+        final JsonFormat.Feature[] table = JsonFormat.Features.SERIALIZED_FEATURES;
+        assertEquals(EnumSet.allOf(JsonFormat.Feature.class), EnumSet.copyOf(Arrays.asList(table)));
+        assertEquals(JsonFormat.Feature.values().length, table.length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeByte(2);
+            out.writeInt(1 << 8);
+            out.writeInt(1 << 10);
+        }
+        ValueSerializationProxy proxy = new ValueSerializationProxy();
+        proxy.readExternal(new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(JsonFormat.Features.construct(new JsonFormat.Feature[] { table[8] },
+                new JsonFormat.Feature[] { table[10] }), proxy.getValue());
+
+        // and bits past the table (features added in a later version) are not accepted
+        bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeByte(2);
+            out.writeInt(1 << table.length);
+            out.writeInt(0);
+        }
+        ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(InvalidObjectException.class, () -> new ValueSerializationProxy().readExternal(in));
+    }
+
+    // Enum constants are written by name, so they are not affected by changes in ordinals
+    @Test
+    public void testEnumsWrittenByName() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            new ValueSerializationProxy(JsonSetter.Value.construct(Nulls.AS_EMPTY, null))
+                .writeExternal(out);
+        }
+        ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(7, in.readUnsignedByte());
+        assertEquals("AS_EMPTY", in.readObject());
+        assertEquals("DEFAULT", in.readObject());
+    }
+
+    // Values serialized with 2.20 (default serialization) must still be readable
+    @Test
+    public void testDeserialize220() throws Exception
+    {
+        final String FORMAT_2_20 = "rO0ABXNyADFjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uRm9ybWF0JFZhbHVlAAAAAAAAAAECAAdJAAZfcmFkaXhMAAlfZmVhdHVyZXN0ADZMY29tL2Zhc3RlcnhtbC9qYWNrc29uL2Fubm90YXRpb24vSnNvbkZvcm1hdCRGZWF0dXJlcztMAAhfbGVuaWVudHQAE0xqYXZhL2xhbmcvQm9vbGVhbjtMAAdfbG9jYWxldAASTGphdmEvdXRpbC9Mb2NhbGU7TAAIX3BhdHRlcm50ABJMamF2YS9sYW5nL1N0cmluZztMAAZfc2hhcGV0ADNMY29tL2Zhc3RlcnhtbC9qYWNrc29uL2Fubm90YXRpb24vSnNvbkZvcm1hdCRTaGFwZTtMAAxfdGltZXpvbmVTdHJxAH4ABHhw/////3NyADRjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uRm9ybWF0JEZlYXR1cmVzAAAAAAAAAAECAAJJAAlfZGlzYWJsZWRJAAhfZW5hYmxlZHhwAAAAAAAAAABwc3IAEGphdmEudXRpbC5Mb2NhbGV++BFgnDD57AMABkkACGhhc2hjb2RlTAAHY291bnRyeXEAfgAETAAKZXh0ZW5zaW9uc3EAfgAETAAIbGFuZ3VhZ2VxAH4ABEwABnNjcmlwdHEAfgAETAAHdmFyaWFudHEAfgAEeHD/////dAACRlJ0AAB0AAJmcnEAfgAMcQB+AAx4dAAKeXl5eS1NTS1kZH5yADFjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uRm9ybWF0JFNoYXBlAAAAAAAAAAASAAB4cgAOamF2YS5sYW5nLkVudW0AAAAAAAAAABIAAHhwdAAGU1RSSU5HcA==";
+        assertEquals(JsonFormat.Value.forPattern("yyyy-MM-dd").withShape(JsonFormat.Shape.STRING)
+                .withLocale(Locale.FRANCE),
+                jdkDeserialize(Base64.getDecoder().decode(FORMAT_2_20)));
+
+        final String INCLUDE_2_20 = "rO0ABXNyADJjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uSW5jbHVkZSRWYWx1ZQAAAAAAAAABAgAETAAOX2NvbnRlbnRGaWx0ZXJ0ABFMamF2YS9sYW5nL0NsYXNzO0wAEV9jb250ZW50SW5jbHVzaW9udAA2TGNvbS9mYXN0ZXJ4bWwvamFja3Nvbi9hbm5vdGF0aW9uL0pzb25JbmNsdWRlJEluY2x1ZGU7TAAMX3ZhbHVlRmlsdGVycQB+AAFMAA9fdmFsdWVJbmNsdXNpb25xAH4AAnhwcH5yADRjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uSW5jbHVkZSRJbmNsdWRlAAAAAAAAAAASAAB4cgAOamF2YS5sYW5nLkVudW0AAAAAAAAAABIAAHhwdAAJTk9OX0VNUFRZcH5xAH4ABHQACE5PTl9OVUxM";
+        assertEquals(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_EMPTY),
+                jdkDeserialize(Base64.getDecoder().decode(INCLUDE_2_20)));
+
+        final String TYPE_INFO_2_20 = "rO0ABXNyADNjb20uZmFzdGVyeG1sLmphY2tzb24uYW5ub3RhdGlvbi5Kc29uVHlwZUluZm8kVmFsdWUAAAAAAAAAAQIABloACl9pZFZpc2libGVMAAxfZGVmYXVsdEltcGx0ABFMamF2YS9sYW5nL0NsYXNzO0wAB19pZFR5cGV0ADJMY29tL2Zhc3RlcnhtbC9qYWNrc29uL2Fubm90YXRpb24vSnNvblR5cGVJbmZvJElkO0wADl9pbmNsdXNpb25UeXBldAAyTGNvbS9mYXN0ZXJ4bWwvamFja3Nvbi9hbm5vdGF0aW9uL0pzb25UeXBlSW5mbyRBcztMAA1fcHJvcGVydHlOYW1ldAASTGphdmEvbGFuZy9TdHJpbmc7TAAZX3JlcXVpcmVUeXBlSWRGb3JTdWJ0eXBlc3QAE0xqYXZhL2xhbmcvQm9vbGVhbjt4cAFwfnIAMGNvbS5mYXN0ZXJ4bWwuamFja3Nvbi5hbm5vdGF0aW9uLkpzb25UeXBlSW5mbyRJZAAAAAAAAAAAEgAAeHIADmphdmEubGFuZy5FbnVtAAAAAAAAAAASAAB4cHQABE5BTUV+cgAwY29tLmZhc3RlcnhtbC5qYWNrc29uLmFubm90YXRpb24uSnNvblR5cGVJbmZvJEFzAAAAAAAAAAASAAB4cQB+AAh0AAhQUk9QRVJUWXQABUB0eXBlc3IAEWphdmEubGFuZy5Cb29sZWFuzSBygNWc+u4CAAFaAAV2YWx1ZXhwAQ==";
+        assertEquals(JsonTypeInfo.Value.construct(JsonTypeInfo.Id.NAME, JsonTypeInfo.As.PROPERTY,
+                "@type", null, true, Boolean.TRUE),
+                jdkDeserialize(Base64.getDecoder().decode(TYPE_INFO_2_20)));
+    }
+
+    private byte[] _serialize(Object value, boolean legacy) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = legacy ? new LegacyOutputStream(bytes) : new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Integers are written as bytes, everything else as objects
+    private ObjectInput _input(Object... content) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (Object ob : content) {
+                if (ob instanceof Integer) {
+                    out.writeByte((Integer) ob);
+                } else {
+                    out.writeObject(ob);
+                }
+            }
+            out.writeObject("");
+            out.writeObject(null);
+        }
+        return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,121 @@
+package perf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.*;
+
+/**
+ * Simple manually run micro-benchmark that compares reading of Jackson annotations
+ * into {@link JacksonAnnotationValue}s using reflection (annotation proxies) with
+ * reading them from class file using {@link ClassFileAnnotationReader}.
+ *<p>
+ * Note that JDK caches parsed annotations per class, so reflective path only measures
+ * cost of proxy access (except for the first round), whereas class file path includes
+ * full parsing of class file: results therefore favor reflection in cases where
+ * same classes are introspected repeatedly.
+ */
+public class ManualAnnotationReaderPerf
+{
+    @JsonIgnoreProperties(value = { "a", "b", "c" }, ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+    static class Pojo
+    {
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd", timezone = "UTC")
+        public java.util.Date date;
+
+        @JsonSetter(nulls = Nulls.SKIP)
+        @JsonInclude(content = JsonInclude.Include.NON_NULL)
+        public List<String> names;
+
+        @JacksonInject("id")
+        @JsonProperty("id")
+        public String id;
+
+        @JsonIncludeProperties({ "x", "y" })
+        public Object value;
+    }
+
+    private final static int ROUNDS = 10;
+
+    private final static int REPS = 20000;
+
+    public static void main(String[] args) throws Exception
+    {
+        final byte[] classFile = _classFile(Pojo.class);
+        final ClassFileAnnotationReader reader = new ClassFileAnnotationReader(
+                Pojo.class.getClassLoader());
+        final List<AnnotatedElement> elements = new ArrayList<>();
+        elements.add(Pojo.class);
+        for (java.lang.reflect.Field f : Pojo.class.getDeclaredFields()) {
+            elements.add(f);
+        }
+        final ClassLoader loader = Pojo.class.getClassLoader();
+
+        for (int round = 1; round <= ROUNDS; ++round) {
+            long start = System.nanoTime();
+            int count = 0;
+            for (int i = 0; i < REPS; ++i) {
+                count += _readReflectively(elements, loader);
+            }
+            long reflection = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < REPS; ++i) {
+                count += _readClassFile(reader, classFile, loader);
+            }
+            long classFileTime = System.nanoTime() - start;
+
+            System.out.printf("Round %d: reflection %.1f us/class, class file %.1f us/class (%d)%n",
+                    round, reflection / 1000.0 / REPS, classFileTime / 1000.0 / REPS, count);
+        }
+    }
+
+    private static int _readReflectively(List<AnnotatedElement> elements, ClassLoader loader)
+    {
+        int count = 0;
+        for (AnnotatedElement elem : elements) {
+            for (Annotation ann : elem.getAnnotations()) {
+                // Can not use `Value.from()` as those are cached by annotation instance
+                if (AnnotationIndex.AnnotationInfo.from(ann).toValue(loader) != null) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int _readClassFile(ClassFileAnnotationReader reader, byte[] classFile,
+            ClassLoader loader)
+    {
+        int count = 0;
+        for (AnnotationIndex.ElementInfo elem : reader.read(classFile).getElements()) {
+            for (AnnotationIndex.AnnotationInfo ann : elem.getAnnotations()) {
+                if (ann.toValue(loader) != null) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static byte[] _classFile(Class<?> cls) throws Exception
+    {
+        final String name = cls.getName();
+        try (InputStream in = cls.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4000];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, count);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package perf;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+
+/**
+ * Simple manually run micro-benchmark that compares merging of
+ * {@link JsonIncludeProperties.Value}s (using {@code withOverrides()}) against
+ * the pre-2.21 implementation, which always built a new {@link HashSet}
+ * for the intersection.
+ */
+public class ManualIncludePropertiesMergePerf
+{
+    private final static int ROUNDS = 10;
+
+    private final static int REPS = 2000000;
+
+    @JsonIncludeProperties({ "id", "name", "type", "created", "updated" })
+    static class Base { }
+
+    @JsonIncludeProperties({ "id", "name", "type", "created", "updated" })
+    static class Equal { }
+
+    @JsonIncludeProperties({ "id", "name" })
+    static class Subset { }
+
+    @JsonIncludeProperties({ "foo", "bar" })
+    static class Disjoint { }
+
+    @JsonIncludeProperties({ "id", "name", "extra" })
+    static class Overlap { }
+
+    public static void main(String[] args) throws Exception
+    {
+        // Typical cases: class-level annotation merged with property-level overrides
+        // that are equal, a subset, disjoint, or only partially overlapping
+        final JsonIncludeProperties.Value base = _value(Base.class);
+        final String[] names = new String[] { "equal", "subset", "disjoint", "overlap" };
+        final JsonIncludeProperties.Value[] overrides = new JsonIncludeProperties.Value[] {
+                _value(Equal.class), _value(Subset.class), _value(Disjoint.class), _value(Overlap.class)
+        };
+        for (int round = 1; round <= ROUNDS; ++round) {
+            StringBuilder sb = new StringBuilder();
+            int total = 0;
+            for (int c = 0; c < overrides.length; ++c) {
+                final JsonIncludeProperties.Value override = overrides[c];
+
+                long start = System.nanoTime();
+                for (int i = 0; i < REPS; ++i) {
+                    total += base.withOverrides(override).getIncluded().size();
+                }
+                long current = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < REPS; ++i) {
+                    total += _legacyIntersect(base.getIncluded(), override.getIncluded()).size();
+                }
+                long legacy = System.nanoTime() - start;
+
+                sb.append(String.format(" %s %.1f/%.1f", names[c],
+                        (double) current / REPS, (double) legacy / REPS));
+            }
+            System.out.printf("Round %d (ns per merge, withOverrides/legacy):%s (%d)%n",
+                    round, sb, total);
+        }
+    }
+
+    private static JsonIncludeProperties.Value _value(Class<?> annotated) {
+        return JsonIncludeProperties.Value.from(annotated.getAnnotation(JsonIncludeProperties.class));
+    }
+
+    // Intersection as calculated by 2.20 and earlier
+    private static Set<String> _legacyIntersect(Set<String> included, Set<String> otherIncluded)
+    {
+        HashSet<String> toInclude = new HashSet<String>();
+        for (String incl : otherIncluded) {
+            if (included.contains(incl)) {
+                toInclude.add(incl);
+            }
+        }
+        return toInclude;
+    }
+}
@@ -0,0 +1,109 @@
+package perf;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.*;
+
+/**
+ * Simple manually run micro-benchmark that compares size and speed of JDK serialization
+ * of annotation value types using compact serialization form (default since 2.21) and
+ * default JDK serialization (as used by earlier versions).
+ */
+public class ManualValueSerializationPerf
+{
+    private final static int ROUNDS = 10;
+
+    private final static int REPS = 20000;
+
+    // Stream that unwraps serialization proxies, to get default serialization
+    static class LegacyOutputStream extends ObjectOutputStream
+    {
+        private final Field _valueField;
+
+        LegacyOutputStream(OutputStream out) throws Exception {
+            super(out);
+            enableReplaceObject(true);
+            _valueField = Class.forName("com.fasterxml.jackson.annotation.ValueSerializationProxy")
+                    .getDeclaredField("_value");
+            _valueField.setAccessible(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            if (obj.getClass().getName().endsWith(".ValueSerializationProxy")) {
+                try {
+                    return _valueField.get(obj);
+                } catch (IllegalAccessException e) {
+                    throw new IOException(e);
+                }
+            }
+            return obj;
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        // Something resembling annotation configuration of a mapper
+        ArrayList<Object> values = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            values.add(JsonFormat.Value.forPattern("yyyy-MM-dd'T'HH:mm:ss")
+                    .withTimeZone(TimeZone.getTimeZone("UTC"))
+                    .withFeature(JsonFormat.Feature.WRITE_DATES_WITH_ZONE_ID));
+            values.add(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL,
+                    JsonInclude.Include.NON_EMPTY));
+            values.add(JsonIgnoreProperties.Value.forIgnoredProperties("id", "version", "prop"+i));
+            values.add(JsonAutoDetect.Value.construct(PropertyAccessor.FIELD,
+                    JsonAutoDetect.Visibility.ANY));
+            values.add(JsonSetter.Value.forValueNulls(Nulls.SKIP));
+            values.add(JsonTypeInfo.Value.construct(JsonTypeInfo.Id.NAME, JsonTypeInfo.As.PROPERTY,
+                    "@type", null, false, null));
+        }
+        System.out.printf("Serialized size of %d values: compact %d bytes, default %d bytes%n",
+                values.size(), _serialize(values, false).length, _serialize(values, true).length);
+
+        final byte[] compact = _serialize(values, false);
+        final byte[] legacy = _serialize(values, true);
+        for (int round = 1; round <= ROUNDS; ++round) {
+            long compactWrite = 0L, legacyWrite = 0L, compactRead = 0L, legacyRead = 0L;
+            int total = 0;
+            for (int i = 0; i < REPS; ++i) {
+                long start = System.nanoTime();
+                total += _serialize(values, false).length;
+                compactWrite += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                total += _serialize(values, true).length;
+                legacyWrite += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                total += _deserialize(compact).size();
+                compactRead += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                total += _deserialize(legacy).size();
+                legacyRead += System.nanoTime() - start;
+            }
+            System.out.printf("Round %d: write compact %.1f / default %.1f us, read compact %.1f / default %.1f us (%d)%n",
+                    round, compactWrite / 1000.0 / REPS, legacyWrite / 1000.0 / REPS,
+                    compactRead / 1000.0 / REPS, legacyRead / 1000.0 / REPS, total);
+        }
+    }
+
+    private static byte[] _serialize(Object value, boolean legacy) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = legacy ? new LegacyOutputStream(bytes) : new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<?> _deserialize(byte[] data) throws Exception
+    {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (List<?>) in.readObject();
+        }
+    }
+}